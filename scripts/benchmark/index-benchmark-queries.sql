@@ -0,0 +1,40 @@
+-- =====================================================================
+-- 索引基准测试的查询集合，与各仓储中的 @Query 一一对应
+-- 由 index-benchmark.sql 在建索引前后各执行一次
+-- =====================================================================
+
+-- TokenRepository
+EXPLAIN ANALYZE SELECT * FROM tokens WHERE user_id = 4242 AND status = 1 AND expires_at > NOW() AND is_deleted = false;
+EXPLAIN ANALYZE SELECT * FROM tokens WHERE user_id = 4242 AND is_deleted = false;
+EXPLAIN ANALYZE SELECT COUNT(*) FROM tokens WHERE status = 1 AND expires_at <= NOW() AND is_deleted = false;
+EXPLAIN ANALYZE SELECT * FROM tokens WHERE status = 0 AND updated_at > NOW() - INTERVAL 1 MINUTE AND expires_at > NOW() AND is_deleted = false;
+EXPLAIN ANALYZE SELECT id FROM tokens WHERE expires_at < NOW() - INTERVAL 1 DAY LIMIT 500;
+EXPLAIN ANALYZE SELECT id FROM tokens WHERE is_deleted = true AND updated_at < NOW() - INTERVAL 1 DAY LIMIT 500;
+
+-- ActivityRepository
+EXPLAIN ANALYZE SELECT * FROM activities WHERE club_id = 42 AND is_deleted = false;
+EXPLAIN ANALYZE SELECT * FROM activities WHERE creator_id = 4242 AND is_deleted = false;
+EXPLAIN ANALYZE SELECT * FROM activities WHERE club_id = 42 AND status = 1 AND is_deleted = false;
+EXPLAIN ANALYZE SELECT * FROM activities WHERE start_time >= NOW() - INTERVAL 3 DAY AND end_time <= NOW() AND is_deleted = false;
+EXPLAIN ANALYZE SELECT * FROM activities WHERE status = 1 AND start_time <= NOW() AND end_time >= NOW() AND is_deleted = false;
+EXPLAIN ANALYZE SELECT * FROM activities WHERE status = 1 AND end_time < NOW() - INTERVAL 990 DAY AND is_deleted = false;
+EXPLAIN ANALYZE SELECT * FROM activities WHERE is_deleted = false AND club_id = 42 AND status = 1
+    ORDER BY created_at DESC, id DESC LIMIT 21;
+EXPLAIN ANALYZE SELECT * FROM activities WHERE is_deleted = false
+    AND (created_at < NOW() - INTERVAL 5 DAY OR (created_at = NOW() - INTERVAL 5 DAY AND id < 500000))
+    ORDER BY created_at DESC, id DESC LIMIT 21;
+
+-- ClubRepository
+EXPLAIN ANALYZE SELECT * FROM clubs WHERE president_id = 4200 AND is_deleted = false;
+EXPLAIN ANALYZE SELECT COUNT(*) > 0 FROM clubs WHERE title = '社团42' AND is_deleted = false;
+
+-- ClubMemberRepository
+EXPLAIN ANALYZE SELECT * FROM club_members WHERE user_id = 4242 AND is_deleted = false;
+EXPLAIN ANALYZE SELECT COUNT(*) FROM club_members WHERE club_id = 42 AND status = 1 AND is_deleted = false;
+
+-- UserRepository
+EXPLAIN ANALYZE SELECT * FROM users WHERE parent_club_id = 42 AND is_deleted = false;
+EXPLAIN ANALYZE SELECT * FROM users WHERE role_id = 5 AND status = 1 AND is_deleted = false LIMIT 20;
+EXPLAIN ANALYZE SELECT * FROM users WHERE phone = '13800424242' AND is_deleted = false;
+EXPLAIN ANALYZE SELECT * FROM users WHERE is_deleted = false AND status = 1
+    ORDER BY created_at DESC, id DESC LIMIT 21;
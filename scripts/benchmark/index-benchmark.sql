@@ -0,0 +1,166 @@
+-- =====================================================================
+-- 索引方案基准测试（MySQL 8.0.18+，需要 EXPLAIN ANALYZE）
+--
+-- 在独立的 commsys_bench 库中按实体结构建表，每张热点表写入100万行，
+-- 先在无二级索引的情况下执行各仓储查询，再按实体中声明的 @Index 建索引后重跑，
+-- 对比两次 EXPLAIN ANALYZE 的访问路径（全表扫描或索引查找）、扫描行数和实际耗时。
+--
+-- 用法（在本目录执行，查询集合见 index-benchmark-queries.sql）：
+--   mysql -uroot -p < index-benchmark.sql > index-benchmark.out
+-- 数据生成约需数分钟；脚本不会访问业务库
+-- 最近一次运行结果见 index-benchmark-results.md
+-- =====================================================================
+
+DROP DATABASE IF EXISTS commsys_bench;
+CREATE DATABASE commsys_bench DEFAULT CHARACTER SET utf8mb4;
+USE commsys_bench;
+
+SET SESSION cte_max_recursion_depth = 1000000;
+
+-- ---------------------------------------------------------------------
+-- 表结构（与实体一致，仅保留主键和唯一约束）
+-- ---------------------------------------------------------------------
+
+CREATE TABLE users (
+    id BIGINT PRIMARY KEY,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    role_id INT NOT NULL,
+    status INT NOT NULL,
+    parent_club_id BIGINT NOT NULL,
+    phone VARCHAR(20),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    is_deleted BIT NOT NULL
+);
+
+CREATE TABLE clubs (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(100) NOT NULL,
+    president_id BIGINT NOT NULL,
+    teacher_id BIGINT,
+    status INT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    is_deleted BIT NOT NULL
+);
+
+CREATE TABLE club_members (
+    id BIGINT PRIMARY KEY,
+    club_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    join_time DATETIME(6) NOT NULL,
+    status INT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    is_deleted BIT NOT NULL,
+    UNIQUE KEY (club_id, user_id)
+);
+
+CREATE TABLE activities (
+    id BIGINT PRIMARY KEY,
+    club_id BIGINT NOT NULL,
+    creator_id BIGINT NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    start_time DATETIME(6) NOT NULL,
+    end_time DATETIME(6) NOT NULL,
+    status INT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    is_deleted BIT NOT NULL
+);
+
+CREATE TABLE tokens (
+    id BIGINT PRIMARY KEY,
+    token_value VARCHAR(255) NOT NULL UNIQUE,
+    user_id BIGINT NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    status INT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    is_deleted BIT NOT NULL
+);
+
+-- ---------------------------------------------------------------------
+-- 数据：1万社团，用户/成员/活动/Token各100万行，约2%逻辑删除
+-- Token中已到期的大多已被定时任务置为过期，只保留最近1小时到期的一批仍为有效状态
+-- ---------------------------------------------------------------------
+
+INSERT INTO clubs
+WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 10000)
+SELECT n, CONCAT('社团', n), n * 100, IF(n % 3 = 0, n * 100 + 1, NULL), n % 2,
+       NOW() - INTERVAL n MINUTE, NOW(), n % 50 = 0
+FROM seq;
+
+INSERT INTO users
+WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000000)
+SELECT n, CONCAT('user', n), 1 + n % 5, n % 2, n % 10000 + 1, CONCAT('138', LPAD(n, 8, '0')),
+       NOW() - INTERVAL n SECOND, NOW(), n % 50 = 0
+FROM seq;
+
+INSERT INTO club_members
+WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000000)
+SELECT n, n % 10000 + 1, n, NOW() - INTERVAL n SECOND, IF(n % 20 = 0, 0, 1),
+       NOW() - INTERVAL n SECOND, NOW(), n % 50 = 0
+FROM seq;
+
+INSERT INTO activities
+WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000000)
+SELECT n, n % 10000 + 1, n, CONCAT('活动', n),
+       NOW() - INTERVAL (n % 1000) DAY, NOW() - INTERVAL (n % 1000) DAY + INTERVAL (n % 72) HOUR,
+       IF(n % 10 = 0, 2, 1), NOW() - INTERVAL n SECOND, NOW(), n % 50 = 0
+FROM seq;
+
+INSERT INTO tokens
+WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000000)
+SELECT n, MD5(n), n % 200000 + 1, NOW() + INTERVAL (n % 96 - 48) HOUR, IF(n % 4 = 0 OR n % 96 < 47, 0, 1),
+       NOW() - INTERVAL n SECOND, NOW() - INTERVAL (n % 720) HOUR, n % 50 = 0
+FROM seq;
+
+ANALYZE TABLE users, clubs, club_members, activities, tokens;
+
+-- ---------------------------------------------------------------------
+-- 无二级索引时的执行计划
+-- ---------------------------------------------------------------------
+
+SELECT '==================== without indexes ====================' AS phase;
+SOURCE index-benchmark-queries.sql
+
+-- ---------------------------------------------------------------------
+-- 索引：与实体 @Table(indexes = ...) 的声明保持一致
+-- ---------------------------------------------------------------------
+
+CREATE INDEX idx_tokens_user_status_expires ON tokens (user_id, status, expires_at);
+CREATE INDEX idx_tokens_status_expires ON tokens (status, expires_at);
+CREATE INDEX idx_tokens_expires_at ON tokens (expires_at);
+CREATE INDEX idx_tokens_status_updated ON tokens (status, updated_at);
+CREATE INDEX idx_tokens_deleted_updated ON tokens (is_deleted, updated_at);
+
+CREATE INDEX idx_activities_club_status_created ON activities (club_id, status, created_at);
+CREATE INDEX idx_activities_creator ON activities (creator_id);
+CREATE INDEX idx_activities_status_end ON activities (status, end_time, start_time);
+CREATE INDEX idx_activities_start_end ON activities (start_time, end_time);
+CREATE INDEX idx_activities_created ON activities (created_at, id);
+
+CREATE INDEX idx_clubs_president ON clubs (president_id);
+CREATE INDEX idx_clubs_teacher ON clubs (teacher_id);
+CREATE INDEX idx_clubs_status_created ON clubs (status, created_at);
+CREATE INDEX idx_clubs_title ON clubs (title, is_deleted);
+CREATE INDEX idx_clubs_created ON clubs (created_at, id);
+
+CREATE INDEX idx_club_members_user_status ON club_members (user_id, status, is_deleted);
+CREATE INDEX idx_club_members_club_status ON club_members (club_id, status, is_deleted);
+
+CREATE INDEX idx_users_role_status ON users (role_id, status);
+CREATE INDEX idx_users_status_created ON users (status, created_at);
+CREATE INDEX idx_users_parent_club ON users (parent_club_id);
+CREATE INDEX idx_users_phone ON users (phone);
+CREATE INDEX idx_users_created ON users (created_at, id);
+
+ANALYZE TABLE users, clubs, club_members, activities, tokens;
+
+-- ---------------------------------------------------------------------
+-- 建索引后的执行计划
+-- ---------------------------------------------------------------------
+
+SELECT '==================== with indexes ====================' AS phase;
+SOURCE index-benchmark-queries.sql
@@ -0,0 +1,215 @@
+#!/usr/bin/env python3
+# =====================================================================
+# 活动报名并发基准测试
+#
+# 对运行中的服务（SQLite 或 MySQL 配置均可）创建一个限额活动，注册一批测试用户，
+# 再以上千个并发请求同时报名（每个用户重复提交多次），最后校验：
+#   - 已报名人数恰好等于 min(名额, 用户数)，不超卖；
+#   - 每个用户只有一条报名记录，重复提交全部被拒绝；
+#   - 其余用户全部进入候补；
+#   - 并发取消一部分已报名用户后，名额按先后递补，已报名人数仍不超过名额；
+#   - 调低名额后并发取消，超出新名额的部分只归还不递补，其余取消正常递补，已报名人数恰好等于新名额；
+#   - 取消名额上限后，全部候补转为已报名。
+# 同时输出报名请求的吞吐量和延迟分位数。只依赖Python 3标准库。
+#
+# 用法（管理员账号需为超级管理员或有权为该社团创建活动）：
+#   python3 registration-benchmark.py --admin-username admin --admin-password <passwordHash> --club-id 1
+#   python3 registration-benchmark.py ... --users 1500 --capacity 200 --concurrency 1000
+# 校验失败时以非0状态码退出
+# =====================================================================
+
+import argparse
+import hashlib
+import json
+import statistics
+import sys
+import threading
+import time
+import urllib.error
+import urllib.request
+import uuid
+from concurrent.futures import ThreadPoolExecutor
+from datetime import datetime, timedelta
+
+
+def call(base_url, method, path, body=None, token=None):
+    """发送请求并返回 (业务状态码, 消息, 数据)，HTTP错误时同样解析响应体"""
+    data = json.dumps(body).encode("utf-8") if body is not None else None
+    request = urllib.request.Request(base_url + path, data=data, method=method)
+    request.add_header("Content-Type", "application/json")
+    if token:
+        request.add_header("Authorization", "Bearer " + token)
+    try:
+        with urllib.request.urlopen(request, timeout=60) as response:
+            payload = json.loads(response.read().decode("utf-8"))
+    except urllib.error.HTTPError as e:
+        payload = json.loads(e.read().decode("utf-8") or "{}")
+    return payload.get("code"), payload.get("message"), payload.get("data")
+
+
+def require(condition, message, failures):
+    print(("  [PASS] " if condition else "  [FAIL] ") + message)
+    if not condition:
+        failures.append(message)
+
+
+def percentile(values, p):
+    ordered = sorted(values)
+    return ordered[min(len(ordered) - 1, int(len(ordered) * p))]
+
+
+def fire(tasks, concurrency):
+    """所有线程就绪后同时发出请求，返回各请求的 (结果, 耗时秒) 与总耗时"""
+    barrier = threading.Barrier(min(concurrency, len(tasks)))
+
+    def run(task):
+        try:
+            barrier.wait(timeout=60)
+        except threading.BrokenBarrierError:
+            pass
+        start = time.perf_counter()
+        result = task()
+        return result, time.perf_counter() - start
+
+    start = time.perf_counter()
+    with ThreadPoolExecutor(max_workers=concurrency) as pool:
+        results = list(pool.map(run, tasks))
+    return results, time.perf_counter() - start
+
+
+def main():
+    parser = argparse.ArgumentParser(description="活动报名并发基准测试")
+    parser.add_argument("--base-url", default="http://localhost:8080/api")
+    parser.add_argument("--admin-username", required=True)
+    parser.add_argument("--admin-password", required=True, help="管理员的 passwordHash")
+    parser.add_argument("--club-id", type=int, required=True)
+    parser.add_argument("--users", type=int, default=1200, help="报名用户数")
+    parser.add_argument("--capacity", type=int, default=100, help="活动名额")
+    parser.add_argument("--repeat", type=int, default=2, help="每个用户重复提交报名的次数")
+    parser.add_argument("--concurrency", type=int, default=1000, help="同时发出的请求数")
+    parser.add_argument("--cancel", type=int, default=50, help="取消阶段取消的已报名用户数")
+    parser.add_argument("--lower", type=int, default=20, help="调低名额阶段名额减少的数量")
+    args = parser.parse_args()
+    base = args.base_url.rstrip("/")
+    failures = []
+
+    code, message, admin = call(base, "POST", "/usr/login",
+                                {"username": args.admin_username, "passwordHash": args.admin_password})
+    if code != 200:
+        sys.exit("管理员登录失败: %s" % message)
+    token = admin["tokenValue"]
+
+    now = datetime.now()
+    code, message, activity = call(base, "POST", "/activity/create", {
+        "clubId": args.club_id,
+        "creatorId": admin["userId"],
+        "title": "报名压测-" + now.strftime("%H%M%S"),
+        "description": "registration benchmark",
+        "startTime": (now + timedelta(minutes=10)).strftime("%Y-%m-%dT%H:%M:%S"),
+        "endTime": (now + timedelta(days=1)).strftime("%Y-%m-%dT%H:%M:%S"),
+        "capacity": args.capacity,
+    }, token)
+    if code != 200:
+        sys.exit("创建活动失败: %s" % message)
+    activity_id = activity["id"]
+    print("活动ID=%s, 名额=%d, 用户=%d, 每人提交%d次, 并发=%d"
+          % (activity_id, args.capacity, args.users, args.repeat, args.concurrency))
+
+    prefix = "bench_" + uuid.uuid4().hex[:8] + "_"
+    password_hash = hashlib.sha256(b"bench").hexdigest()
+
+    def register_user(i):
+        code, message, data = call(base, "POST", "/usr/register",
+                                   {"username": prefix + str(i), "passwordHash": password_hash, "gender": 1})
+        if code != 200:
+            raise RuntimeError("注册测试用户失败: %s" % message)
+        return data["userId"]
+
+    with ThreadPoolExecutor(max_workers=32) as pool:
+        user_ids = list(pool.map(register_user, range(args.users)))
+
+    # ---------------- 并发报名 ----------------
+    tasks = [lambda uid=uid: call(base, "POST", "/activity/register",
+                                  {"activityId": activity_id, "userId": uid}, token)
+             for _ in range(args.repeat) for uid in user_ids]
+    results, elapsed = fire(tasks, args.concurrency)
+
+    accepted = [r for (r, _) in results if r[0] == 200]
+    registered = [r for r in accepted if r[2]["status"] == 1]
+    waitlisted = [r for r in accepted if r[2]["status"] == 2]
+    duplicates = [r for (r, _) in results if r[0] != 200 and r[1] == "已报名该活动"]
+    errors = [r for (r, _) in results if r[0] != 200 and r[1] != "已报名该活动"]
+    latencies = [t * 1000 for (_, t) in results]
+
+    print("\n报名阶段: %d个请求, 耗时%.2fs, 吞吐%.0f req/s" % (len(results), elapsed, len(results) / elapsed))
+    print("  延迟 ms: avg=%.1f p50=%.1f p95=%.1f p99=%.1f max=%.1f" % (
+        statistics.mean(latencies), percentile(latencies, 0.50), percentile(latencies, 0.95),
+        percentile(latencies, 0.99), max(latencies)))
+    print("  已报名=%d 候补=%d 重复被拒=%d 其他错误=%d" % (len(registered), len(waitlisted), len(duplicates), len(errors)))
+    for error in errors[:5]:
+        print("    错误示例: %s" % (error,))
+
+    expected_registered = min(args.capacity, args.users)
+    _, _, rows = call(base, "GET", "/activity/%s/registrations" % activity_id, token=token)
+    stored_registered = [r for r in rows if r["status"] == 1]
+    stored_users = [r["userId"] for r in rows]
+
+    require(not errors, "没有非预期的错误响应", failures)
+    require(len(registered) == expected_registered, "响应中的已报名人数 = %d" % expected_registered, failures)
+    require(len(stored_registered) == expected_registered, "库中的已报名人数 = %d" % expected_registered, failures)
+    require(len(waitlisted) == args.users - expected_registered, "其余用户全部进入候补", failures)
+    require(len(duplicates) == args.users * (args.repeat - 1), "重复提交全部被拒绝", failures)
+    require(len(stored_users) == len(set(stored_users)) == args.users, "每个用户恰好一条报名记录", failures)
+
+    # ---------------- 并发取消与递补 ----------------
+    cancelled = [r["userId"] for r in stored_registered[:args.cancel]]
+    if cancelled:
+        tasks = [lambda uid=uid: call(base, "POST", "/activity/cancel_register",
+                                      {"activityId": activity_id, "userId": uid}, token) for uid in cancelled]
+        results, elapsed = fire(tasks, args.concurrency)
+        print("\n取消阶段: %d个请求, 耗时%.2fs" % (len(results), elapsed))
+        _, _, rows = call(base, "GET", "/activity/%s/registrations" % activity_id, token=token)
+        after_registered = [r for r in rows if r["status"] == 1]
+        expected_after = min(args.capacity, args.users - len(cancelled))
+        require(all(r[0] == 200 for (r, _) in results), "取消请求全部成功", failures)
+        require(len(after_registered) == expected_after,
+                "递补后已报名人数 = %d（不超过名额）" % expected_after, failures)
+        require(not set(cancelled) & {r["userId"] for r in rows}, "已取消的用户不在报名列表中", failures)
+
+    # ---------------- 调低名额后并发取消 ----------------
+    def edit(body):
+        return call(base, "POST", "/activity/change",
+                    dict({"activityId": activity_id, "operatorId": admin["userId"], "clubId": args.club_id}, **body),
+                    token)
+
+    _, _, rows = call(base, "GET", "/activity/%s/registrations" % activity_id, token=token)
+    current = [r for r in rows if r["status"] == 1]
+    lowered = len(current) - args.lower
+    if args.lower > 0 and lowered > 0 and len(rows) > len(current):
+        code, message, _ = edit({"capacity": lowered})
+        require(code == 200, "名额调低为 %d" % lowered, failures)
+        # 超出新名额的取消只归还，其余取消各递补一名候补
+        cancelled = [r["userId"] for r in current[:args.lower + min(10, lowered)]]
+        tasks = [lambda uid=uid: call(base, "POST", "/activity/cancel_register",
+                                      {"activityId": activity_id, "userId": uid}, token) for uid in cancelled]
+        results, elapsed = fire(tasks, args.concurrency)
+        print("\n调低名额后取消阶段: 名额=%d, %d个请求, 耗时%.2fs" % (lowered, len(results), elapsed))
+        _, _, rows = call(base, "GET", "/activity/%s/registrations" % activity_id, token=token)
+        after_registered = [r for r in rows if r["status"] == 1]
+        expected_after = min(lowered, len(rows))
+        require(all(r[0] == 200 for (r, _) in results), "取消请求全部成功", failures)
+        require(len(after_registered) == expected_after,
+                "已报名人数 = %d（超出部分不递补，其余正常递补）" % expected_after, failures)
+
+    # ---------------- 取消名额上限 ----------------
+    code, message, _ = edit({"clearCapacity": True})
+    require(code == 200, "取消名额上限", failures)
+    _, _, rows = call(base, "GET", "/activity/%s/registrations" % activity_id, token=token)
+    require(all(r["status"] == 1 for r in rows), "取消上限后候补全部转为已报名（%d人）" % len(rows), failures)
+
+    print("\n结果: %s" % ("PASS" if not failures else "FAIL (%d项)" % len(failures)))
+    sys.exit(1 if failures else 0)
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,99 @@
+package com.commsys.cache;
+
+import com.commsys.repository.ActivityRegistrationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 活动报名名额计数器
+ * 每个活动一个原子计数，记录本节点看到的已占用名额（已提交的已报名记录加上进行中事务预占的名额），
+ * 计数在首次访问时从数据库的已报名人数加载。名额已满后的报名在这里直接转为候补，不再访问活动行。
+ * 预占的名额在事务回滚时归还，取消报名的名额在事务提交后归还。
+ * 计数只在本节点内有效，不能看到其他节点的报名，准入的最终校验是活动表 registered_count 上的条件更新
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Component
+@RequiredArgsConstructor
+public class ActivityRegistrationCounter {
+
+    private final ActivityRegistrationRepository registrationRepository;
+
+    /**
+     * 活动ID -> 已占用名额
+     */
+    private final Map<Long, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+    /**
+     * 尝试占用一个名额
+     * 
+     * @param activityId 活动ID
+     * @param capacity 名额上限，为空时不限
+     * @return 是否占用成功
+     */
+    public boolean tryAcquire(Long activityId, Integer capacity) {
+        AtomicInteger count = countOf(activityId);
+        if (capacity == null) {
+            count.incrementAndGet();
+            return true;
+        }
+        while (true) {
+            int current = count.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (count.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 归还名额
+     * 
+     * @param activityId 活动ID
+     * @param permits 归还的名额数
+     */
+    public void release(Long activityId, int permits) {
+        AtomicInteger count = counts.get(activityId);
+        if (count != null) {
+            count.addAndGet(-permits);
+        }
+    }
+
+    /**
+     * 当前已占用的名额
+     * 
+     * @param activityId 活动ID
+     * @return 已占用名额
+     */
+    public int current(Long activityId) {
+        return countOf(activityId).get();
+    }
+
+    /**
+     * 移除活动的计数，用于已结束或已删除、不再接受报名的活动
+     * 
+     * @param activityId 活动ID
+     */
+    public void evict(Long activityId) {
+        counts.remove(activityId);
+    }
+
+    private AtomicInteger countOf(Long activityId) {
+        AtomicInteger count = counts.get(activityId);
+        if (count != null) {
+            return count;
+        }
+        // 在映射之外查询数据库，查询期间不阻塞其他活动的计数；并发加载时以先放入的为准
+        AtomicInteger loaded = new AtomicInteger((int) registrationRepository.countByActivityIdAndStatus(activityId, 1));
+        count = counts.putIfAbsent(activityId, loaded);
+        return count != null ? count : loaded;
+    }
+}
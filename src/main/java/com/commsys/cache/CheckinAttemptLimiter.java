@@ -0,0 +1,110 @@
+package com.commsys.cache;
+
+import com.commsys.config.AppConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 签到码失败次数限制
+ * 按 (活动ID, 用户ID) 记录签到码错误次数，一个锁定时长内错误达到 app.checkin.max-failed-attempts 次后锁定，
+ * 锁定期间不再校验签到码，防止逐个枚举签到码；签到成功后清除记录。
+ * 记录只在本节点内有效，多节点部署时每个节点各自计数
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Slf4j
+@Component
+public class CheckinAttemptLimiter {
+
+    /**
+     * 记录数达到该值时清理已到期的记录
+     */
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final Map<String, Attempts> attempts = new ConcurrentHashMap<>();
+    private final AtomicBoolean pruning = new AtomicBoolean(false);
+
+    private final int maxFailedAttempts;
+    private final long lockoutMillis;
+
+    public CheckinAttemptLimiter(AppConfig appConfig) {
+        AppConfig.Checkin checkin = appConfig.getCheckin();
+        this.maxFailedAttempts = Math.max(checkin.getMaxFailedAttempts(), 1);
+        this.lockoutMillis = Math.max(checkin.getLockoutSeconds(), 1) * 1000L;
+    }
+
+    /**
+     * 校验签到码前占用一次尝试机会，占用与计数为一次原子更新，并发提交也不会超出次数上限；
+     * 签到成功后由 {@link #reset} 清除，其余尝试均计为错误
+     * 
+     * @param activityId 活动ID
+     * @param userId 用户ID
+     * @return 剩余锁定秒数，为0表示可以校验签到码
+     */
+    public long tryAcquire(Long activityId, Long userId) {
+        if (attempts.size() >= PRUNE_THRESHOLD) {
+            prune();
+        }
+        long now = System.currentTimeMillis();
+        boolean[] admitted = new boolean[1];
+        Attempts updated = attempts.compute(key(activityId, userId), (key, current) -> {
+            // 首次尝试开始计时，到期后重新计数
+            if (current == null || current.deadline <= now) {
+                current = new Attempts(0, now + lockoutMillis);
+            }
+            if (current.failures >= maxFailedAttempts) {
+                return current;
+            }
+            admitted[0] = true;
+            int failures = current.failures + 1;
+            // 用完最后一次机会时从此刻开始锁定
+            return new Attempts(failures, failures >= maxFailedAttempts ? now + lockoutMillis : current.deadline);
+        });
+        if (admitted[0]) {
+            return 0;
+        }
+        log.debug("签到码错误次数过多，已锁定: 活动ID={}, 用户ID={}", activityId, userId);
+        return Math.max((updated.deadline - now + 999) / 1000, 1);
+    }
+
+    /**
+     * 签到成功后清除错误记录
+     * 
+     * @param activityId 活动ID
+     * @param userId 用户ID
+     */
+    public void reset(Long activityId, Long userId) {
+        attempts.remove(key(activityId, userId));
+    }
+
+    /**
+     * 清理已到期的记录
+     */
+    private void prune() {
+        if (!pruning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            attempts.values().removeIf(entry -> entry.deadline <= now);
+        } finally {
+            pruning.set(false);
+        }
+    }
+
+    private static String key(Long activityId, Long userId) {
+        return activityId + ":" + userId;
+    }
+
+    /**
+     * 错误记录：错误次数，以及计数（未锁定时）或锁定（已锁定时）的到期时间
+     */
+    private record Attempts(int failures, long deadline) {
+    }
+}
@@ -0,0 +1,175 @@
+package com.commsys.cache;
+
+import com.commsys.entity.Config;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 动态配置缓存
+ * 以配置键为键缓存全部未删除的配置，读取时不访问数据库；配置值在加载时预解析为基本类型（见 TypedConfigValue）
+ * 每次刷新都构建新的只读快照并整体替换，读线程始终看到某一时刻完整一致的配置；
+ * 本节点修改配置后只替换变更的条目（见 {@link #update}），不重新读取数据库；
+ * 快照附带数据库版本戳（未删除配置行数及最近修改时间），其他节点据此低成本判断本地缓存是否过期
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Slf4j
+@Component
+public class ConfigCache {
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * 当前快照，未加载时为null
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * 是否已加载
+     * 
+     * @return 是否已加载
+     */
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * 获取缓存的配置值
+     * 
+     * @param configKey 配置键
+     * @return 配置值，不存在时返回null
+     */
+    public String get(String configKey) {
+        TypedConfigValue entry = getTyped(configKey);
+        return entry != null ? entry.getValue() : null;
+    }
+
+    /**
+     * 获取缓存的预解析配置值
+     * 
+     * @param configKey 配置键
+     * @return 预解析的配置值，不存在时返回null
+     */
+    public TypedConfigValue getTyped(String configKey) {
+        Snapshot current = snapshot;
+        TypedConfigValue entry = current != null ? current.entries.get(configKey) : null;
+        if (entry == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return entry;
+    }
+
+    /**
+     * 以数据库中的配置整体替换缓存
+     * 
+     * @param configs 全部未删除的配置
+     * @param stamp 与配置同时读取的数据库版本戳
+     */
+    public void reload(Collection<Config> configs, String stamp) {
+        Map<String, TypedConfigValue> entries = new HashMap<>(configs.size() * 2);
+        for (Config config : configs) {
+            entries.put(config.getConfigKey(), entryOf(config));
+        }
+        Snapshot previous = snapshot;
+        long version = previous != null ? previous.version + 1 : 1;
+        snapshot = new Snapshot(Map.copyOf(entries), version, stamp);
+        log.debug("配置缓存已刷新: 版本={}, 条目数={}, 版本戳={}", version, entries.size(), stamp);
+    }
+
+    /**
+     * 在当前快照上替换变更的条目，其余条目不变；缓存尚未加载时不做任何操作（首次读取时全量加载）
+     * 版本戳保持为上次全量加载时的值，下一次版本戳同步会重新加载一次，纳入同一时段内其他节点的修改
+ * 调用方需与 {@link #reload} 串行调用
+     * 
+     * @param updated 新建或修改后的配置
+     * @param removedKeys 删除或改名前的配置键
+     * @return 是否已更新
+     */
+    public boolean update(Collection<Config> updated, Collection<String> removedKeys) {
+        Snapshot previous = snapshot;
+        if (previous == null) {
+            return false;
+        }
+        Map<String, TypedConfigValue> entries = new HashMap<>(previous.entries);
+        removedKeys.forEach(entries::remove);
+        for (Config config : updated) {
+            entries.put(config.getConfigKey(), entryOf(config));
+        }
+        snapshot = new Snapshot(Map.copyOf(entries), previous.version + 1, previous.stamp);
+        log.debug("配置缓存已更新: 版本={}, 修改{}条, 删除{}条", previous.version + 1, updated.size(), removedKeys.size());
+        return true;
+    }
+
+    /**
+     * 本地缓存版本号，每次刷新加一
+     * 
+     * @return 版本号，未加载时为0
+     */
+    public long getVersion() {
+        Snapshot current = snapshot;
+        return current != null ? current.version : 0;
+    }
+
+    /**
+     * 加载当前快照时的数据库版本戳
+     * 
+     * @return 版本戳，未加载时为null
+     */
+    public String getStamp() {
+        Snapshot current = snapshot;
+        return current != null ? current.stamp : null;
+    }
+
+    /**
+     * 当前缓存条目数
+     * 
+     * @return 条目数
+     */
+    public int size() {
+        Snapshot current = snapshot;
+        return current != null ? current.entries.size() : 0;
+    }
+
+    /**
+     * 命中次数
+     * 
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * 未命中次数
+     * 
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    private static TypedConfigValue entryOf(Config config) {
+        TypedConfigValue entry = TypedConfigValue.of(config.getConfigValue(), config.getConfigType());
+        if (!entry.matchesType()) {
+            log.warn("配置值与类型不匹配，按类型读取时将使用默认值: {} = {} ({})", 
+                    config.getConfigKey(), config.getConfigValue(), config.getConfigType());
+        }
+        return entry;
+    }
+
+    /**
+     * 只读快照
+     */
+    private record Snapshot(Map<String, TypedConfigValue> entries, long version, String stamp) {
+    }
+}
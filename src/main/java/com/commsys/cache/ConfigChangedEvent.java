@@ -0,0 +1,13 @@
+package com.commsys.cache;
+
+/**
+ * 配置变更事件
+ * 配置缓存重新加载后发布，监听方据此把动态配置应用到运行时组件
+ * 
+ * @param version 重新加载后的缓存版本号
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+public record ConfigChangedEvent(long version) {
+}
@@ -0,0 +1,195 @@
+package com.commsys.cache;
+
+import com.commsys.common.TokenInfo;
+import com.commsys.config.AppConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token校验缓存
+ * 以Token值为键缓存用户ID、过期时间和状态，避免每次鉴权都查询数据库
+ * 缓存容量有上限，条目在TTL到期后失效；注销、刷新、重新登录时需主动失效，按用户失效通过用户ID到Token值的索引完成，不扫描整个缓存。
+ * 缓存只在本节点内有效，其他节点产生的注销由 TokenService.syncRevocations 定期同步后失效
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Slf4j
+@Component
+public class TokenCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 用户ID -> 该用户已缓存的Token值；集合只在 compute 系列方法内修改，与同一用户的写入和失效串行
+     */
+    private final Map<Long, Set<String>> userTokens = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean(false);
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    public TokenCache(AppConfig appConfig) {
+        AppConfig.Cache cache = appConfig.getToken().getCache();
+        this.maxSize = cache.getMaxSize();
+        this.ttlMillis = cache.getTtlSeconds() * 1000L;
+    }
+
+    /**
+     * 获取缓存的Token信息
+     * 
+     * @param tokenValue Token值
+     * @return Token信息，未命中或已失效时返回null
+     */
+    public TokenInfo get(String tokenValue) {
+        Entry entry = entries.get(tokenValue);
+        if (entry == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        if (entry.deadline < System.currentTimeMillis()) {
+            remove(tokenValue, entry);
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return entry.info;
+    }
+
+    /**
+     * 写入缓存
+     * 
+     * @param tokenValue Token值
+     * @param info Token信息
+     */
+    public void put(String tokenValue, TokenInfo info) {
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        Entry entry = new Entry(info, System.currentTimeMillis() + ttlMillis);
+        userTokens.compute(info.getUserId(), (userId, tokens) -> {
+            Set<String> keys = tokens != null ? tokens : new HashSet<>();
+            keys.add(tokenValue);
+            entries.put(tokenValue, entry);
+            return keys;
+        });
+    }
+
+    /**
+     * 使单个Token的缓存失效
+     * 
+     * @param tokenValue Token值
+     */
+    public void invalidate(String tokenValue) {
+        Entry entry = entries.get(tokenValue);
+        if (entry != null) {
+            remove(tokenValue, entry);
+        }
+    }
+
+    /**
+     * 使某个用户的全部Token缓存失效
+     * 
+     * @param userId 用户ID
+     */
+    public void invalidateUser(Long userId) {
+        userTokens.computeIfPresent(userId, (id, tokens) -> {
+            tokens.forEach(entries::remove);
+            return null;
+        });
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        entries.clear();
+        userTokens.clear();
+    }
+
+    /**
+     * 当前缓存条目数
+     * 
+     * @return 条目数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 命中次数
+     * 
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * 未命中次数
+     * 
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * 容量达到上限时淘汰条目
+     * 先移除已过期条目，仍超出容量时再移除约十分之一的条目
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            entries.forEach((tokenValue, entry) -> {
+                if (entry.deadline < now) {
+                    remove(tokenValue, entry);
+                }
+            });
+
+            if (entries.size() >= maxSize) {
+                int overflow = entries.size() - maxSize + Math.max(1, maxSize / 10);
+                Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+                while (overflow-- > 0 && iterator.hasNext()) {
+                    Map.Entry<String, Entry> next = iterator.next();
+                    remove(next.getKey(), next.getValue());
+                }
+            }
+            log.debug("Token缓存淘汰完成，当前条目数: {}", entries.size());
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * 移除条目并从用户索引中去掉对应的Token值；条目已被替换或移除时不做任何操作
+     */
+    private void remove(String tokenValue, Entry entry) {
+        userTokens.compute(entry.info.getUserId(), (userId, tokens) -> {
+            if (entries.remove(tokenValue, entry) && tokens != null) {
+                tokens.remove(tokenValue);
+            }
+            return tokens == null || tokens.isEmpty() ? null : tokens;
+        });
+    }
+
+    /**
+     * 缓存条目
+     */
+    private record Entry(TokenInfo info, long deadline) {
+    }
+}
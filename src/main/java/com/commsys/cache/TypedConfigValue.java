@@ -0,0 +1,153 @@
+package com.commsys.cache;
+
+import com.commsys.entity.Config;
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * 预解析的配置值
+ * 配置写入或加载时按所有可能的用途解析一次并保存为基本类型，读取时不再做字符串解析
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Getter
+public final class TypedConfigValue {
+
+    /**
+     * 原始配置值
+     */
+    private final String value;
+
+    /**
+     * 配置类型
+     */
+    private final Config.ConfigType type;
+
+    /**
+     * 整数值，仅在 isLong 为true时有效
+     */
+    private final long longValue;
+    private final boolean isLong;
+
+    /**
+     * 布尔值，仅在 isBoolean 为true时有效
+     */
+    private final boolean booleanValue;
+    private final boolean isBoolean;
+
+    /**
+     * 容量（字节），如 10MB，仅在 isSize 为true时有效
+     */
+    private final long sizeBytes;
+    private final boolean isSize;
+
+    /**
+     * 带单位的时长，如 30s、5m、PT1H；纯数字的时长由读取方指定单位
+     */
+    private final Duration duration;
+
+    private TypedConfigValue(String value, Config.ConfigType type) {
+        this.value = value;
+        this.type = type;
+        String text = value != null ? value.trim() : "";
+
+        Long parsedLong = parseLong(text);
+        this.isLong = parsedLong != null;
+        this.longValue = isLong ? parsedLong : 0;
+
+        this.isBoolean = "true".equalsIgnoreCase(text) || "false".equalsIgnoreCase(text);
+        this.booleanValue = "true".equalsIgnoreCase(text);
+
+        DataSize size = isLong ? DataSize.ofBytes(longValue) : parseSize(text);
+        this.isSize = size != null;
+        this.sizeBytes = isSize ? size.toBytes() : 0;
+
+        this.duration = isLong ? null : parseDuration(text);
+    }
+
+    /**
+     * 解析配置值
+     * 
+     * @param value 配置值
+     * @param type 配置类型
+     * @return 预解析的配置值
+     */
+    public static TypedConfigValue of(String value, Config.ConfigType type) {
+        return new TypedConfigValue(value, type);
+    }
+
+    /**
+     * 校验配置值是否符合声明的类型（JSON类型由调用方校验）
+     * 
+     * @param value 配置值
+     * @param type 配置类型
+     * @throws IllegalArgumentException 配置值与类型不匹配
+     */
+    public static void validate(String value, Config.ConfigType type) {
+        String text = value != null ? value.trim() : "";
+        if (type == Config.ConfigType.NUMBER) {
+            try {
+                new BigDecimal(text);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("配置值不是有效的数字: " + value);
+            }
+        } else if (type == Config.ConfigType.BOOLEAN) {
+            if (!"true".equalsIgnoreCase(text) && !"false".equalsIgnoreCase(text)) {
+                throw new IllegalArgumentException("配置值不是有效的布尔值: " + value);
+            }
+        }
+    }
+
+    /**
+     * 是否符合声明的类型
+     * 
+     * @return 是否符合
+     */
+    public boolean matchesType() {
+        try {
+            validate(value, type);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static Long parseLong(String text) {
+        if (text.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static DataSize parseSize(String text) {
+        if (text.isEmpty() || !Character.isDigit(text.charAt(0))) {
+            return null;
+        }
+        try {
+            return DataSize.parse(text);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Duration parseDuration(String text) {
+        if (text.isEmpty()) {
+            return null;
+        }
+        try {
+            return DurationStyle.detectAndParse(text);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
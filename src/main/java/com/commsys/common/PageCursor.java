@@ -0,0 +1,67 @@
+package com.commsys.common;
+
+import com.commsys.entity.BaseEntity;
+import com.commsys.exception.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 游标分页位置
+ * 按 (createdAt, id) 倒序定位，对外编码为不透明的Base64字符串
+ *
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Data
+@AllArgsConstructor
+public class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 上一页最后一条记录的创建时间
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * 上一页最后一条记录的ID
+     */
+    private Long id;
+
+    /**
+     * 以实体位置生成游标
+     *
+     * @param entity 当前页最后一条记录
+     * @return 游标字符串
+     */
+    public static String encode(BaseEntity entity) {
+        String raw = entity.getCreatedAt() + SEPARATOR + entity.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标，空字符串表示从第一页开始
+     *
+     * @param cursor 游标字符串
+     * @return 游标位置，第一页返回null
+     */
+    public static PageCursor decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(SEPARATOR);
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, index)),
+                    Long.parseLong(raw.substring(index + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException(ResultCode.PARAM_ERROR, "无效的分页游标");
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.domain.Page;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * 分页结果封装类
@@ -65,6 +66,11 @@ public class PageResult<T> implements Serializable {
      */
     private Boolean isLast;
 
+    /**
+     * 下一页游标（仅游标分页返回）
+     */
+    private String nextCursor;
+
     public PageResult() {
     }
 
@@ -107,4 +113,26 @@ public class PageResult<T> implements Serializable {
     public static <T> PageResult<T> empty(Integer page, Integer size) {
         return new PageResult<>(List.of(), 0L, page, size);
     }
-}
\ No newline at end of file
+
+    /**
+     * 创建游标分页结果，不统计总数
+     * 查询时多取一条用于判断是否有下一页
+     * 
+     * @param rows 查询结果（最多size+1条）
+     * @param size 每页大小
+     * @param cursorFunction 由最后一条记录生成游标
+     * @param <T> 数据类型
+     * @return 分页结果
+     */
+    public static <T> PageResult<T> ofCursor(List<T> rows, Integer size, Function<T, String> cursorFunction) {
+        PageResult<T> result = new PageResult<>();
+        boolean hasNext = rows.size() > size;
+        result.setRecords(hasNext ? rows.subList(0, size) : rows);
+        result.setSize(size);
+        result.setHasNext(hasNext);
+        if (hasNext) {
+            result.setNextCursor(cursorFunction.apply(rows.get(size - 1)));
+        }
+        return result;
+    }
+}
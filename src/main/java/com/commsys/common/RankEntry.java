@@ -0,0 +1,38 @@
+package com.commsys.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 积分排行榜条目
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankEntry {
+
+    /**
+     * 名次，同分者名次相同
+     */
+    private Integer rank;
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 用户名
+     */
+    private String username;
+
+    /**
+     * 积分
+     */
+    private Long points;
+}
@@ -143,6 +143,18 @@ public class Result<T> implements Serializable {
         return new Result<>(resultCode.getCode(), resultCode.getMessage());
     }
 
+    /**
+     * 失败响应（使用结果码枚举并附带数据）
+     * 
+     * @param resultCode 结果码枚举
+     * @param data 响应数据
+     * @param <T> 数据类型
+     * @return 失败结果
+     */
+    public static <T> Result<T> error(ResultCode resultCode, T data) {
+        return new Result<>(resultCode.getCode(), resultCode.getMessage(), data);
+    }
+
     /**
      * 判断是否成功
      * 
@@ -0,0 +1,62 @@
+package com.commsys.common;
+
+import com.commsys.entity.Token;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Token校验信息
+ * 只保留鉴权所需的字段，供缓存和拦截器使用
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenInfo {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 过期时间
+     */
+    private LocalDateTime expiresAt;
+
+    /**
+     * Token状态：0-已过期，1-有效
+     */
+    private Integer status;
+
+    /**
+     * 身份ID（仅签名Token携带）
+     */
+    private Integer roleId;
+
+    /**
+     * 判断Token在指定时间点是否有效
+     * 
+     * @param now 当前时间
+     * @return 是否有效
+     */
+    public boolean isValid(LocalDateTime now) {
+        return Integer.valueOf(1).equals(status) && expiresAt != null && expiresAt.isAfter(now);
+    }
+
+    /**
+     * 从Token实体创建校验信息
+     * 
+     * @param token Token实体
+     * @return Token校验信息
+     */
+    public static TokenInfo of(Token token) {
+        return new TokenInfo(token.getUserId(), token.getExpiresAt(), token.getStatus(), null);
+    }
+}
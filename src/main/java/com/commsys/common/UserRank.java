@@ -0,0 +1,58 @@
+package com.commsys.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 用户的积分排名
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRank {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 用户名
+     */
+    private String username;
+
+    /**
+     * 积分
+     */
+    private Long points;
+
+    /**
+     * 全局名次
+     */
+    private Integer rank;
+
+    /**
+     * 全局排行榜人数
+     */
+    private Integer total;
+
+    /**
+     * 所属社团ID，未加入社团时为null
+     */
+    private Long parentClubId;
+
+    /**
+     * 社团内名次，未加入社团时为null
+     */
+    private Integer clubRank;
+
+    /**
+     * 社团排行榜人数，未加入社团时为null
+     */
+    private Integer clubTotal;
+}
@@ -32,12 +32,57 @@ public class AppConfig {
      */
     private Upload upload = new Upload();
 
+    /**
+     * Token配置
+     */
+    private Token token = new Token();
+
+    /**
+     * 动态配置缓存
+     */
+    private Config config = new Config();
+
+    /**
+     * 搜索索引
+     */
+    private Search search = new Search();
+
+    /**
+     * 活动状态转换
+     */
+    private ActivityStatus activityStatus = new ActivityStatus();
+
+    /**
+     * 活动签到
+     */
+    private Checkin checkin = new Checkin();
+
+    /**
+     * 积分汇总
+     */
+    private Points points = new Points();
+
+    /**
+     * 积分排行榜
+     */
+    private Leaderboard leaderboard = new Leaderboard();
+
+    /**
+     * 健康检查
+     */
+    private Health health = new Health();
+
     @Data
     public static class Database {
         /**
          * 数据库类型：mysql 或 sqlite
          */
         private String type = "sqlite";
+
+        /**
+         * 主键生成策略：auto（按数据库类型选择）、pooled（号段表）或 identity（数据库自增）
+         */
+        private String idStrategy = "auto";
     }
 
     @Data
@@ -65,4 +110,136 @@ public class AppConfig {
          */
         private String maxSize = "10MB";
     }
-}
\ No newline at end of file
+
+    @Data
+    public static class Token {
+        /**
+         * Token模式：db（数据库存储的随机Token）或 signed（HMAC签名的无状态Token）
+         */
+        private String mode = "db";
+
+        /**
+         * 签名Token的密钥，多节点部署时各节点必须一致
+         */
+        private String secret;
+
+        /**
+         * 从数据库同步吊销记录的间隔（秒）：签名Token模式写入吊销列表，数据库Token模式使本节点的Token缓存失效
+         */
+        private Integer revocationSyncSeconds = 30;
+
+        /**
+         * 过期Token在表中保留的天数，超过后由清理任务物理删除
+         */
+        private Integer purgeRetentionDays = 7;
+
+        /**
+         * 物理删除时每批处理的行数
+         */
+        private Integer purgeBatchSize = 500;
+
+        /**
+         * Token校验缓存配置
+         */
+        private Cache cache = new Cache();
+    }
+
+    @Data
+    public static class Config {
+        /**
+         * 比对数据库版本戳、同步其他节点配置修改的间隔（秒）
+         */
+        private Integer syncSeconds = 30;
+    }
+
+    @Data
+    public static class Search {
+        /**
+         * 从数据库全量重建搜索索引的间隔（秒），用于纳入其他节点的修改
+         */
+        private Integer rebuildSeconds = 600;
+
+        /**
+         * 按 updated_at 增量同步其他节点修改的活动、社团、用户和配置的间隔（秒），决定多节点时搜索结果的滞后上限
+         */
+        private Integer syncSeconds = 30;
+    }
+
+    @Data
+    public static class ActivityStatus {
+        /**
+         * 每批置为已结束的活动数
+         */
+        private Integer batchSize = 500;
+
+        /**
+         * 两次执行的最大间隔（秒），用于纳入其他节点新建或修改的活动
+         */
+        private Integer maxDelaySeconds = 300;
+    }
+
+    @Data
+    public static class Checkin {
+        /**
+         * 签到码的签名密钥，多节点部署时各节点必须一致
+         */
+        private String secret;
+
+        /**
+         * 签到码更换周期（秒），上一个周期的签到码仍可使用
+         */
+        private Integer codePeriodSeconds = 60;
+
+        /**
+         * 同一用户对同一活动允许的签到码错误次数，达到后锁定
+         */
+        private Integer maxFailedAttempts = 5;
+
+        /**
+         * 错误计数周期及锁定时长（秒）
+         */
+        private Integer lockoutSeconds = 600;
+    }
+
+    @Data
+    public static class Points {
+        /**
+         * 将积分流水计入用户积分的间隔（秒）
+         */
+        private Integer flushSeconds = 2;
+
+        /**
+         * 每批入账的流水数
+         */
+        private Integer batchSize = 1000;
+    }
+
+    @Data
+    public static class Leaderboard {
+        /**
+         * 从数据库全量重建排行榜的间隔（秒），用于纳入其他节点的修改
+         */
+        private Integer rebuildSeconds = 600;
+    }
+
+    @Data
+    public static class Health {
+        /**
+         * 数据库往返探测的超时时间（毫秒），超时即判定数据库不可用
+         */
+        private Integer probeTimeoutMillis = 1000;
+    }
+
+    @Data
+    public static class Cache {
+        /**
+         * 最大缓存条目数
+         */
+        private Integer maxSize = 10000;
+
+        /**
+         * 缓存有效期（秒）；缓存只在本节点内有效，其他节点的注销由吊销记录同步使其失效
+         */
+        private Integer ttlSeconds = 300;
+    }
+}
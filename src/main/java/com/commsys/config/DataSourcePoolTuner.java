@@ -0,0 +1,97 @@
+package com.commsys.config;
+
+import com.commsys.cache.ConfigChangedEvent;
+import com.commsys.service.ConfigService;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * 连接池大小动态调整
+ * 配置变更后按动态配置 database.pool.max / database.pool.min 通过HikariCP的MXBean调整连接池，无需重启；
+ * SQLite只允许单个写连接，连接池大小保持启动配置不变
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataSourcePoolTuner {
+
+    /**
+     * 最大连接数配置键
+     */
+    public static final String POOL_MAX_KEY = "database.pool.max";
+
+    /**
+     * 最小空闲连接数配置键
+     */
+    public static final String POOL_MIN_KEY = "database.pool.min";
+
+    private final DataSource dataSource;
+    private final ConfigService configService;
+    private final AppConfig appConfig;
+
+    /**
+     * 配置变更后调整连接池大小
+     * 
+     * @param event 配置变更事件
+     */
+    @EventListener
+    public void onConfigChanged(ConfigChangedEvent event) {
+        if ("sqlite".equalsIgnoreCase(appConfig.getDatabase().getType())) {
+            return;
+        }
+        HikariConfigMXBean pool = getPoolConfig();
+        if (pool == null) {
+            return;
+        }
+
+        int currentMax = pool.getMaximumPoolSize();
+        int currentMin = pool.getMinimumIdle();
+        int max = configService.getInt(POOL_MAX_KEY, currentMax);
+        int min = configService.getInt(POOL_MIN_KEY, currentMin);
+        if (max < 1 || min < 0) {
+            log.warn("连接池配置无效，保持不变: max={}, min={}", max, min);
+            return;
+        }
+        min = Math.min(min, max);
+        if (max == currentMax && min == currentMin) {
+            return;
+        }
+
+        // 先调整会放宽约束的一项，保证任意时刻 minimumIdle <= maximumPoolSize
+        if (max >= currentMax) {
+            pool.setMaximumPoolSize(max);
+            pool.setMinimumIdle(min);
+        } else {
+            pool.setMinimumIdle(min);
+            pool.setMaximumPoolSize(max);
+        }
+        log.info("连接池已调整: max {} -> {}, min {} -> {}", currentMax, max, currentMin, min);
+    }
+
+    /**
+     * 获取Hikari连接池的运行时配置
+     * 
+     * @return 运行时配置，数据源不是HikariCP时返回null
+     */
+    private HikariConfigMXBean getPoolConfig() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getHikariConfigMXBean();
+            }
+        } catch (SQLException e) {
+            log.warn("获取连接池失败: {}", e.getMessage());
+        }
+        return null;
+    }
+}
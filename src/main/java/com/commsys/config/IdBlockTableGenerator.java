@@ -0,0 +1,20 @@
+package com.commsys.config;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.TableGenerator;
+
+/**
+ * 号段表主键生成器
+ * 与Hibernate的TableGenerator相同，只是预留号段的独立事务使用 IdReservationDataSource 的专用连接池
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+public class IdBlockTableGenerator extends TableGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object obj) {
+        return IdReservationDataSource.reserving(() -> super.generate(session, obj));
+    }
+}
@@ -0,0 +1,132 @@
+package com.commsys.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryBuilderCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 主键生成策略配置
+ * pooled：按号段从id_generators表预留ID，号段在独立事务中预留，多节点、重启后均不重复，且不影响JDBC批量插入；
+ * 预留号段使用专用的小连接池（IdReservationDataSource），不与业务事务争用应用连接池；
+ * identity：使用数据库自增主键，适用于单写者的SQLite（号段预留需要第二个连接写库，会与业务事务互相等待）
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Slf4j
+@Configuration
+public class IdGeneratorConfig {
+
+    /**
+     * IDENTITY映射文件
+     */
+    private static final String IDENTITY_MAPPING = "META-INF/orm-identity.xml";
+
+    /**
+     * 号段专用连接池大小：预留在生成器锁内串行进行，同一时刻只占用一个连接
+     */
+    private static final int RESERVATION_POOL_SIZE = 2;
+
+    /**
+     * 号段优化器使用pooled-lo：表中保存的是下一个号段的起始值，与原先逐个分配时的含义一致，升级后不会与已有ID冲突；
+     * SQLite驱动未实现getGeneratedKeys，使用自增主键时改为通过 last_insert_rowid() 取回ID
+     * 
+     * @param appConfig 应用配置
+     * @return Hibernate属性定制器
+     */
+    @Bean
+    public HibernatePropertiesCustomizer idGeneratorPropertiesCustomizer(AppConfig appConfig) {
+        AppConfig.Database database = appConfig.getDatabase();
+        return properties -> {
+            properties.put(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+            if (useIdentity(database) && "sqlite".equalsIgnoreCase(database.getType())) {
+                properties.put(AvailableSettings.USE_GET_GENERATED_KEYS, "false");
+            }
+        };
+    }
+
+    /**
+     * 按配置切换为IDENTITY主键
+     * 
+     * @param appConfig 应用配置
+     * @return EntityManagerFactory构建定制器
+     */
+    @Bean
+    public EntityManagerFactoryBuilderCustomizer idStrategyCustomizer(AppConfig appConfig) {
+        boolean identity = useIdentity(appConfig.getDatabase());
+        log.info("主键生成策略: {}", identity ? "identity" : "pooled");
+        return builder -> {
+            if (identity) {
+                builder.setPersistenceUnitPostProcessors(unit -> unit.addMappingFileName(IDENTITY_MAPPING));
+            }
+        };
+    }
+
+    /**
+     * 使用号段表时，把应用数据源包装为区分号段预留的数据源，号段预留改从专用连接池取连接；
+     * 包装的是数据源Bean本身，JPA、JdbcTemplate和事务管理器看到的仍是同一个数据源
+     * 
+     * @param appConfig 应用配置
+     * @param dataSourceProperties 数据源配置，号段专用连接池使用相同的连接参数
+     * @return 数据源包装处理器
+     */
+    @Bean
+    public static BeanPostProcessor idReservationDataSourcePostProcessor(ObjectProvider<AppConfig> appConfig,
+                                                                         ObjectProvider<DataSourceProperties> dataSourceProperties) {
+        // 销毁回调收到的是包装前的数据源，按Bean名称找到对应的专用连接池
+        Map<String, IdReservationDataSource> wrapped = new ConcurrentHashMap<>();
+        return new DestructionAwareBeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (!(bean instanceof HikariDataSource dataSource) || useIdentity(appConfig.getObject().getDatabase())) {
+                    return bean;
+                }
+                HikariDataSource reservation = dataSourceProperties.getObject().initializeDataSourceBuilder()
+                        .type(HikariDataSource.class).build();
+                reservation.setPoolName(dataSource.getPoolName() + "-id");
+                reservation.setMaximumPoolSize(RESERVATION_POOL_SIZE);
+                reservation.setMinimumIdle(1);
+                IdReservationDataSource wrapper = new IdReservationDataSource(dataSource, reservation);
+                wrapped.put(beanName, wrapper);
+                return wrapper;
+            }
+
+            @Override
+            public boolean requiresDestruction(@NonNull Object bean) {
+                return bean instanceof HikariDataSource;
+            }
+
+            @Override
+            public void postProcessBeforeDestruction(@NonNull Object bean, @NonNull String beanName) {
+                IdReservationDataSource wrapper = wrapped.remove(beanName);
+                if (wrapper != null) {
+                    wrapper.closeReservationPool();
+                }
+            }
+        };
+    }
+
+    private static boolean useIdentity(AppConfig.Database database) {
+        String strategy = database.getIdStrategy();
+        if ("identity".equalsIgnoreCase(strategy)) {
+            return true;
+        }
+        if ("pooled".equalsIgnoreCase(strategy)) {
+            return false;
+        }
+        return "sqlite".equalsIgnoreCase(database.getType());
+    }
+}
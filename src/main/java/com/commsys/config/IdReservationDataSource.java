@@ -0,0 +1,61 @@
+package com.commsys.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+/**
+ * 区分号段预留的数据源
+ * 业务连接照常取自应用连接池；号段预留在独立事务中进行，改从专用的小连接池取连接。
+ * 若与业务共用连接池，并发写入时连接可能全部被等待号段的业务事务占用，预留号段的线程取不到连接，只能等到连接超时
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+public class IdReservationDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<Boolean> RESERVING = new ThreadLocal<>();
+
+    private final HikariDataSource reservationDataSource;
+
+    public IdReservationDataSource(DataSource targetDataSource, HikariDataSource reservationDataSource) {
+        super(targetDataSource);
+        this.reservationDataSource = reservationDataSource;
+    }
+
+    /**
+     * 执行主键生成，期间申请的连接均取自号段专用连接池
+     * 
+     * @param work 主键生成
+     * @param <T> 结果类型
+     * @return 生成的主键
+     */
+    public static <T> T reserving(Supplier<T> work) {
+        RESERVING.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            RESERVING.remove();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (RESERVING.get() != null) {
+            return reservationDataSource.getConnection();
+        }
+        return super.getConnection();
+    }
+
+    /**
+     * 关闭号段专用连接池，应用连接池仍由数据源Bean自身的销毁方法关闭
+     */
+    public void closeReservationPool() {
+        reservationDataSource.close();
+    }
+}
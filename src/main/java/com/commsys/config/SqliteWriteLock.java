@@ -0,0 +1,41 @@
+package com.commsys.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * SQLite事务写锁
+ * SQLite事务默认延迟取锁（DEFERRED），只读事务不占写锁；但先读后写的事务在读之后若有其他连接提交了写入，
+ * 升级写锁时会立即返回 SQLITE_BUSY，不经过 busy_timeout 等待。
+ * 先读后写的写路径在事务的第一条语句调用 {@link #acquire()} 取得写锁，并发写在 busy_timeout 内排队；
+ * 其他数据库不做任何操作
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Component
+public class SqliteWriteLock {
+
+    /**
+     * 不修改任何行的写语句，SQLite执行写语句时即取得写锁
+     */
+    private static final String LOCK_SQL = "UPDATE users SET id = id WHERE 1 = 0";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean sqlite;
+
+    public SqliteWriteLock(JdbcTemplate jdbcTemplate, AppConfig appConfig) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sqlite = "sqlite".equalsIgnoreCase(appConfig.getDatabase().getType());
+    }
+
+    /**
+     * 在当前事务中取得写锁，直到事务结束；需在事务的第一条语句之前调用
+     */
+    public void acquire() {
+        if (sqlite) {
+            jdbcTemplate.update(LOCK_SQL);
+        }
+    }
+}
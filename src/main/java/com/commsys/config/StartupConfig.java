@@ -1,5 +1,7 @@
 package com.commsys.config;
 
+import com.commsys.rank.Leaderboards;
+import com.commsys.search.SearchIndexes;
 import com.commsys.service.ConfigService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +22,8 @@ import org.springframework.stereotype.Component;
 public class StartupConfig implements CommandLineRunner {
 
     private final ConfigService configService;
+    private final SearchIndexes searchIndexes;
+    private final Leaderboards leaderboards;
 
     /**
      * 系统启动时执行
@@ -31,9 +35,6 @@ public class StartupConfig implements CommandLineRunner {
         log.info("系统启动中，开始初始化配置...");
         
         try {
-            // 等待数据库连接稳定
-            Thread.sleep(1000);
-            
             // 初始化默认配置
             configService.initDefaultConfigs();
             log.info("默认配置初始化完成");
@@ -42,6 +43,20 @@ public class StartupConfig implements CommandLineRunner {
             // 不抛出异常，让系统继续启动
         }
         
+        try {
+            // 构建搜索索引，之后由实体保存和逻辑删除增量更新
+            searchIndexes.rebuild();
+        } catch (Exception e) {
+            log.error("搜索索引构建失败，将在下次定期重建时重试", e);
+        }
+        
+        try {
+            // 构建积分排行榜，之后由积分入账和用户变更增量更新
+            leaderboards.rebuild();
+        } catch (Exception e) {
+            log.error("积分排行榜构建失败，将在下次定期重建时重试", e);
+        }
+        
         log.info("系统启动完成");
     }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.commsys.config;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 启动耗时统计
+ * 记录JVM启动时间及应用就绪（可以处理请求）的时间，并输出从JVM启动到就绪的耗时
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Slf4j
+@Getter
+@Component
+public class StartupTimer {
+
+    /**
+     * JVM启动时间（毫秒）
+     */
+    private final long jvmStartTime = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+    /**
+     * 应用就绪时间（毫秒），未就绪时为0
+     */
+    private volatile long readyTime;
+
+    /**
+     * 应用就绪后记录耗时
+     * 
+     * @param event 应用就绪事件
+     */
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        readyTime = System.currentTimeMillis();
+        log.info("应用已就绪: JVM启动到就绪耗时{}ms, 其中Spring上下文启动耗时{}ms",
+                getStartupMillis(), event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1);
+    }
+
+    /**
+     * 是否已就绪
+     * 
+     * @return 是否已就绪
+     */
+    public boolean isReady() {
+        return readyTime > 0;
+    }
+
+    /**
+     * JVM启动到应用就绪的耗时
+     * 
+     * @return 耗时（毫秒），未就绪时为-1
+     */
+    public long getStartupMillis() {
+        return readyTime > 0 ? readyTime - jvmStartTime : -1;
+    }
+}
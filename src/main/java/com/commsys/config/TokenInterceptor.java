@@ -3,8 +3,7 @@ package com.commsys.config;
 import com.commsys.annotation.AuthRequired;
 import com.commsys.common.Result;
 import com.commsys.common.ResultCode;
-import com.commsys.entity.Token;
-import com.commsys.exception.BusinessException;
+import com.commsys.common.TokenInfo;
 import com.commsys.service.TokenService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,18 +11,25 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.service.spi.ServiceException;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.lang.reflect.Method;
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Token认证拦截器
  * 用于验证请求中的Token是否有效
+ * 各接口是否需要认证在启动时按HandlerMethod预先解析，请求时只查表，不再做注解反射
  * 
  * @author Xiaosu
  * @version 1.0.0
@@ -32,19 +38,39 @@ import java.time.LocalDateTime;
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class TokenInterceptor implements HandlerInterceptor {
+public class TokenInterceptor implements HandlerInterceptor, ApplicationListener<ContextRefreshedEvent> {
     
     private final TokenService tokenService;
     private final ObjectMapper objectMapper;
     
+    /**
+     * 接口方法 -> 是否需要认证
+     */
+    private final Map<Method, Boolean> authRequirements = new ConcurrentHashMap<>();
+    
+    /**
+     * 容器刷新完成后预先解析所有接口的认证要求
+     */
+    @Override
+    public void onApplicationEvent(@NonNull ContextRefreshedEvent event) {
+        Map<String, RequestMappingHandlerMapping> mappings = event.getApplicationContext()
+                .getBeansOfType(RequestMappingHandlerMapping.class);
+        for (RequestMappingHandlerMapping mapping : mappings.values()) {
+            for (HandlerMethod handlerMethod : mapping.getHandlerMethods().values()) {
+                authRequirements.put(handlerMethod.getMethod(), resolveAuthRequired(handlerMethod));
+            }
+        }
+        log.info("已预解析{}个接口的认证要求", authRequirements.size());
+    }
+    
     /**
      * 请求处理前的拦截
      * 验证Token的有效性
      */
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        // 1. 如果不是映射到方法直接通过
-        if (!(handler instanceof HandlerMethod)) {
+        // 1. 如果不是映射到方法或接口不需要认证，直接通过
+        if (!(handler instanceof HandlerMethod handlerMethod) || !isAuthRequired(handlerMethod)) {
             return true;
         }
         
@@ -53,84 +79,62 @@ public class TokenInterceptor implements HandlerInterceptor {
         if (tokenValue != null && tokenValue.startsWith("Bearer ")) {
             tokenValue = tokenValue.substring(7);
         }
-        
-        // 3. 获取HandlerMethod
-        HandlerMethod handlerMethod = (HandlerMethod) handler;
-        Method method = handlerMethod.getMethod();
-        
-        // 4. 检查是否有AuthRequired注解
-        if (method.isAnnotationPresent(AuthRequired.class)) {
-            AuthRequired authRequired = method.getAnnotation(AuthRequired.class);
-            if (authRequired.required()) {
-                // 5. 验证Token
-                if (tokenValue == null || tokenValue.isEmpty()) {
-                    returnResult(response, Result.error(ResultCode.TOKEN_INVALID.getCode(), "未提供Token"));
-                    return false;
-                }
-                
-                try {
-                    // 6. 检查Token是否有效
-                    Token token = tokenService.getTokenByValue(tokenValue);
-                    if (token == null) {
-                        returnResult(response, Result.error(ResultCode.TOKEN_INVALID.getCode(), "无效的Token"));
-                        return false;
-                    }
-                    
-                    // 7. 检查Token是否已过期
-                    if (token.getStatus() == 0 || token.getExpiresAt().isBefore(LocalDateTime.now())) {
-                        returnResult(response, Result.error(ResultCode.TOKEN_EXPIRED.getCode(), "Token已过期"));
-                        return false;
-                    }
-                    
-                    // 8. 将用户ID存入请求属性中，以便后续使用
-                    request.setAttribute("userId", token.getUserId());
-                    log.debug("Token验证通过，用户ID: {}", token.getUserId());
-                } catch (ServiceException e) {
-                    log.error("Token验证失败: {}", e.getMessage());
-                    returnResult(response, Result.error(ResultCode.TOKEN_INVALID.getCode(), e.getMessage()));
-                    return false;
-                }
-            }
+        if (tokenValue == null || tokenValue.isEmpty()) {
+            returnResult(response, Result.error(ResultCode.TOKEN_INVALID.getCode(), "未提供Token"));
+            return false;
         }
         
-        // 9. 检查类上是否有AuthRequired注解
-        if (handlerMethod.getBeanType().isAnnotationPresent(AuthRequired.class)) {
-            AuthRequired authRequired = handlerMethod.getBeanType().getAnnotation(AuthRequired.class);
-            if (authRequired.required()) {
-                // 10. 验证Token
-                if (tokenValue == null || tokenValue.isEmpty()) {
-                    returnResult(response, Result.error(ResultCode.TOKEN_INVALID.getCode(), "未提供Token"));
-                    return false;
-                }
-                
-                try {
-                    // 11. 检查Token是否有效
-                    Token token = tokenService.getTokenByValue(tokenValue);
-                    if (token == null) {
-                        returnResult(response, Result.error(ResultCode.TOKEN_INVALID.getCode(), "无效的Token"));
-                        return false;
-                    }
-                    
-                    // 12. 检查Token是否已过期
-                    if (token.getStatus() == 0 || token.getExpiresAt().isBefore(LocalDateTime.now())) {
-                        returnResult(response, Result.error(ResultCode.TOKEN_EXPIRED.getCode(), "Token已过期"));
-                        return false;
-                    }
-                    
-                    // 13. 将用户ID存入请求属性中，以便后续使用
-                    request.setAttribute("userId", token.getUserId());
-                    log.debug("Token验证通过，用户ID: {}", token.getUserId());
-                } catch (ServiceException e) {
-                    log.error("Token验证失败: {}", e.getMessage());
-                    returnResult(response, Result.error(ResultCode.TOKEN_INVALID.getCode(), e.getMessage()));
-                    return false;
-                }
+        try {
+            // 3. 检查Token是否有效（优先命中缓存）
+            TokenInfo token = tokenService.resolveToken(tokenValue);
+            if (token == null) {
+                returnResult(response, Result.error(ResultCode.TOKEN_INVALID.getCode(), "无效的Token"));
+                return false;
+            }
+            
+            // 4. 检查Token是否已过期
+            if (token.getStatus() == 0 || token.getExpiresAt().isBefore(LocalDateTime.now())) {
+                returnResult(response, Result.error(ResultCode.TOKEN_EXPIRED.getCode(), "Token已过期"));
+                return false;
+            }
+            
+            // 5. 将用户ID存入请求属性中，以便后续使用
+            request.setAttribute("userId", token.getUserId());
+            if (token.getRoleId() != null) {
+                request.setAttribute("roleId", token.getRoleId());
             }
+            log.debug("Token验证通过，用户ID: {}", token.getUserId());
+        } catch (ServiceException e) {
+            log.debug("Token验证失败: {}", e.getMessage());
+            returnResult(response, Result.error(ResultCode.TOKEN_INVALID.getCode(), e.getMessage()));
+            return false;
         }
         
         return true;
     }
     
+    /**
+     * 查询接口是否需要认证
+     * 启动后动态注册的接口在首次访问时解析并记录
+     */
+    private boolean isAuthRequired(HandlerMethod handlerMethod) {
+        Boolean required = authRequirements.get(handlerMethod.getMethod());
+        if (required == null) {
+            required = resolveAuthRequired(handlerMethod);
+            authRequirements.put(handlerMethod.getMethod(), required);
+        }
+        return required;
+    }
+    
+    /**
+     * 解析接口的认证要求：方法或类上任一处声明了需要认证即需要认证
+     */
+    private static boolean resolveAuthRequired(HandlerMethod handlerMethod) {
+        AuthRequired methodAuth = handlerMethod.getMethod().getAnnotation(AuthRequired.class);
+        AuthRequired typeAuth = handlerMethod.getBeanType().getAnnotation(AuthRequired.class);
+        return (methodAuth != null && methodAuth.required()) || (typeAuth != null && typeAuth.required());
+    }
+    
     /**
      * 返回错误结果给客户端
      */
@@ -141,4 +145,4 @@ public class TokenInterceptor implements HandlerInterceptor {
         writer.flush();
         writer.close();
     }
-}
\ No newline at end of file
+}
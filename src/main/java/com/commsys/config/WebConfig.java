@@ -47,11 +47,12 @@ public class WebConfig implements WebMvcConfigurer {
 
     /**
      * 配置JSON序列化
+     * 声明为静态方法，避免与依赖ObjectMapper的拦截器形成循环依赖
      * 
      * @return ObjectMapper实例
      */
     @Bean
-    public ObjectMapper objectMapper() {
+    public static ObjectMapper objectMapper() {
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
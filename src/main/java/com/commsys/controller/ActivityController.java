@@ -4,13 +4,21 @@ import com.commsys.annotation.AuthRequired;
 import com.commsys.common.PageResult;
 import com.commsys.common.Result;
 import com.commsys.entity.Activity;
+import com.commsys.entity.ActivityRegistration;
+import com.commsys.entity.PointsLedger;
+import com.commsys.security.CheckinCodeCodec;
+import com.commsys.service.ActivityCheckinService;
+import com.commsys.service.ActivityRegistrationService;
 import com.commsys.service.ActivityService;
+import com.commsys.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -28,6 +36,8 @@ import java.util.List;
 public class ActivityController {
 
     private final ActivityService activityService;
+    private final ActivityRegistrationService registrationService;
+    private final ActivityCheckinService checkinService;
 
     /**
      * 创建活动
@@ -38,10 +48,11 @@ public class ActivityController {
     @AuthRequired
     @PostMapping("/create")
     public Result<Activity> createActivity(@Valid @RequestBody CreateActivityRequest request) {
-        log.info("创建活动请求: {}, 社团ID: {}, 发起者: {}", 
+        log.debug("创建活动请求: {}, 社团ID: {}, 发起者: {}", 
                 request.getTitle(), request.getClubId(), request.getCreatorId());
         Activity activity = activityService.createActivity(request.getClubId(), request.getCreatorId(),
-                request.getTitle(), request.getDescription(), request.getStartTime(), request.getEndTime());
+                request.getTitle(), request.getDescription(), request.getStartTime(), request.getEndTime(),
+                request.getCapacity());
         return Result.success("活动创建成功", activity);
     }
 
@@ -54,7 +65,7 @@ public class ActivityController {
     @AuthRequired
     @PostMapping("/del")
     public Result<Void> deleteActivity(@Valid @RequestBody DeleteActivityRequest request) {
-        log.info("删除活动请求: 活动ID={}, 社团ID={}, 操作者={}", 
+        log.debug("删除活动请求: 活动ID={}, 社团ID={}, 操作者={}", 
                 request.getActivityId(), request.getClubId(), request.getOperatorId());
         activityService.deleteActivity(request.getClubId(), request.getActivityId(), request.getOperatorId());
         return Result.success("活动删除成功");
@@ -69,11 +80,12 @@ public class ActivityController {
     @AuthRequired
     @PostMapping("/change")
     public Result<Activity> editActivity(@Valid @RequestBody EditActivityRequest request) {
-        log.info("编辑活动请求: 活动ID={}, 操作者={}, 社团ID={}", 
+        log.debug("编辑活动请求: 活动ID={}, 操作者={}, 社团ID={}", 
                 request.getActivityId(), request.getOperatorId(), request.getClubId());
         Activity activity = activityService.editActivity(request.getActivityId(), request.getOperatorId(),
                 request.getClubId(), request.getTitle(), request.getDescription(),
-                request.getStartTime(), request.getEndTime());
+                request.getStartTime(), request.getEndTime(), request.getCapacity(),
+                Boolean.TRUE.equals(request.getClearCapacity()));
         return Result.success("活动编辑成功", activity);
     }
 
@@ -86,13 +98,123 @@ public class ActivityController {
     @AuthRequired
     @PostMapping("/close")
     public Result<Void> closeActivity(@Valid @RequestBody CloseActivityRequest request) {
-        log.info("提前结束活动请求: 活动ID={}, 社团ID={}, 操作者={}", 
+        log.debug("提前结束活动请求: 活动ID={}, 社团ID={}, 操作者={}", 
                 request.getActivityId(), request.getClubId(), request.getOperatorId());
         activityService.closeActivity(request.getClubId(), request.getActivityId(),
                 request.getOperatorId(), request.getCloseReason());
         return Result.success("活动结束成功");
     }
 
+    /**
+     * 报名活动
+     * 
+     * @param request 报名请求
+     * @return 报名记录，名额已满时进入候补
+     */
+    @AuthRequired
+    @PostMapping("/register")
+    public Result<ActivityRegistration> register(@Valid @RequestBody RegistrationRequest request) {
+        log.debug("报名活动请求: 活动ID={}, 用户ID={}", request.getActivityId(), request.getUserId());
+        ActivityRegistration registration = registrationService.register(request.getActivityId(), request.getUserId());
+        if (registration.getStatus() == ActivityRegistrationService.STATUS_WAITLISTED) {
+            return Result.success("名额已满，已加入候补", registration);
+        }
+        return Result.success("报名成功", registration);
+    }
+
+    /**
+     * 取消报名
+     * 
+     * @param request 取消报名请求
+     * @return 取消结果
+     */
+    @AuthRequired
+    @PostMapping("/cancel_register")
+    public Result<Void> cancelRegistration(@Valid @RequestBody RegistrationRequest request) {
+        log.debug("取消报名请求: 活动ID={}, 用户ID={}", request.getActivityId(), request.getUserId());
+        registrationService.cancel(request.getActivityId(), request.getUserId());
+        return Result.success("取消报名成功");
+    }
+
+    /**
+     * 获取活动的报名记录
+     * 
+     * @param activityId 活动ID
+     * @return 报名记录列表（已报名和候补），按报名先后排序
+     */
+    @AuthRequired
+    @GetMapping("/{activityId}/registrations")
+    public Result<List<ActivityRegistration>> getActivityRegistrations(@PathVariable Long activityId) {
+        log.debug("获取活动报名记录请求: {}", activityId);
+        return Result.success(registrationService.getRegistrationsByActivityId(activityId));
+    }
+
+    /**
+     * 获取活动的已报名人数
+     * 
+     * @param activityId 活动ID
+     * @return 已报名人数
+     */
+    @AuthRequired
+    @GetMapping("/{activityId}/registrations/count")
+    public Result<Long> countActivityRegistrations(@PathVariable Long activityId) {
+        log.debug("获取活动已报名人数请求: {}", activityId);
+        return Result.success(registrationService.countRegistered(activityId));
+    }
+
+    /**
+     * 获取用户的报名记录
+     * 
+     * @param userId 用户ID
+     * @return 报名记录列表
+     */
+    @AuthRequired
+    @GetMapping("/registrations/user/{userId}")
+    public Result<List<ActivityRegistration>> getUserRegistrations(@PathVariable Long userId) {
+        log.debug("获取用户报名记录请求: {}", userId);
+        return Result.success(registrationService.getRegistrationsByUserId(userId));
+    }
+
+    /**
+     * 获取活动当前的签到码，供活动现场展示
+     * 
+     * @param request 获取签到码请求
+     * @return 签到码及失效时间
+     */
+    @AuthRequired
+    @PostMapping("/checkin_code")
+    public Result<CheckinCodeCodec.CheckinCode> getCheckinCode(@Valid @RequestBody CheckinCodeRequest request) {
+        log.debug("获取签到码请求: 活动ID={}, 操作者={}", request.getActivityId(), request.getOperatorId());
+        return Result.success(checkinService.issueCode(request.getActivityId(), request.getOperatorId()));
+    }
+
+    /**
+     * 活动签到
+     * 
+     * @param request 签到请求
+     * @return 签到产生的积分流水
+     */
+    @AuthRequired
+    @PostMapping("/checkin")
+    public Result<PointsLedger> checkin(@Valid @RequestBody CheckinRequest request) {
+        log.debug("活动签到请求: 活动ID={}, 用户ID={}", request.getActivityId(), request.getUserId());
+        PointsLedger entry = checkinService.checkin(request.getActivityId(), request.getUserId(), request.getCode());
+        return Result.success("签到成功", entry);
+    }
+
+    /**
+     * 获取活动的签到记录
+     * 
+     * @param activityId 活动ID
+     * @return 签到记录列表，按签到先后排序
+     */
+    @AuthRequired
+    @GetMapping("/{activityId}/checkins")
+    public Result<List<PointsLedger>> getActivityCheckins(@PathVariable Long activityId) {
+        log.debug("获取活动签到记录请求: {}", activityId);
+        return Result.success(checkinService.getCheckins(activityId));
+    }
+
     /**
      * 获取所有活动
      * 
@@ -101,11 +223,26 @@ public class ActivityController {
     @AuthRequired
     @GetMapping("/all")
     public Result<List<Activity>> getAllActivities() {
-        log.info("获取所有活动请求");
+        log.debug("获取所有活动请求");
         List<Activity> activities = activityService.getAllActivities();
         return Result.success(activities);
     }
 
+    /**
+     * 流式导出所有活动
+     * 以NDJSON格式逐行写出，不在内存中组装完整列表
+     * 
+     * @param response HTTP响应
+     * @throws IOException 写出失败
+     */
+    @AuthRequired
+    @GetMapping("/export")
+    public void exportActivities(HttpServletResponse response) throws IOException {
+        log.debug("导出所有活动请求");
+        response.setContentType(ExportService.NDJSON + ";charset=utf-8");
+        activityService.exportActivities(response.getOutputStream());
+    }
+
     /**
      * 根据ID获取活动
      * 
@@ -115,7 +252,7 @@ public class ActivityController {
     @AuthRequired
     @GetMapping("/{id}")
     public Result<Activity> getActivityById(@PathVariable Long id) {
-        log.info("根据ID获取活动请求: {}", id);
+        log.debug("根据ID获取活动请求: {}", id);
         Activity activity = activityService.getActivityById(id);
         return Result.success(activity);
     }
@@ -129,7 +266,7 @@ public class ActivityController {
     @AuthRequired
     @GetMapping("/club/{clubId}")
     public Result<List<Activity>> getActivitiesByClubId(@PathVariable Long clubId) {
-        log.info("根据社团ID获取活动请求: {}", clubId);
+        log.debug("根据社团ID获取活动请求: {}", clubId);
         List<Activity> activities = activityService.getActivitiesByClubId(clubId);
         return Result.success(activities);
     }
@@ -143,7 +280,7 @@ public class ActivityController {
     @AuthRequired
     @GetMapping("/creator/{creatorId}")
     public Result<List<Activity>> getActivitiesByCreatorId(@PathVariable Long creatorId) {
-        log.info("根据发起者ID获取活动请求: {}", creatorId);
+        log.debug("根据发起者ID获取活动请求: {}", creatorId);
         List<Activity> activities = activityService.getActivitiesByCreatorId(creatorId);
         return Result.success(activities);
     }
@@ -157,7 +294,7 @@ public class ActivityController {
     @AuthRequired
     @GetMapping("/status/{status}")
     public Result<List<Activity>> getActivitiesByStatus(@PathVariable Integer status) {
-        log.info("根据状态获取活动请求: {}", status);
+        log.debug("根据状态获取活动请求: {}", status);
         List<Activity> activities = activityService.getActivitiesByStatus(status);
         return Result.success(activities);
     }
@@ -173,7 +310,7 @@ public class ActivityController {
     @GetMapping("/club/{clubId}/status/{status}")
     public Result<List<Activity>> getActivitiesByClubIdAndStatus(@PathVariable Long clubId, 
                                                                 @PathVariable Integer status) {
-        log.info("根据社团ID和状态获取活动请求: 社团ID={}, 状态={}", clubId, status);
+        log.debug("根据社团ID和状态获取活动请求: 社团ID={}, 状态={}", clubId, status);
         List<Activity> activities = activityService.getActivitiesByClubIdAndStatus(clubId, status);
         return Result.success(activities);
     }
@@ -190,7 +327,7 @@ public class ActivityController {
     public Result<List<Activity>> getActivitiesByTimeRange(
             @RequestParam LocalDateTime startTime,
             @RequestParam LocalDateTime endTime) {
-        log.info("根据时间范围获取活动请求: {} - {}", startTime, endTime);
+        log.debug("根据时间范围获取活动请求: {} - {}", startTime, endTime);
         List<Activity> activities = activityService.getActivitiesByTimeRange(startTime, endTime);
         return Result.success(activities);
     }
@@ -203,7 +340,7 @@ public class ActivityController {
     @AuthRequired
     @GetMapping("/ongoing")
     public Result<List<Activity>> getOngoingActivities() {
-        log.info("获取正在进行的活动请求");
+        log.debug("获取正在进行的活动请求");
         List<Activity> activities = activityService.getOngoingActivities();
         return Result.success(activities);
     }
@@ -216,7 +353,7 @@ public class ActivityController {
     @AuthRequired
     @GetMapping("/ended")
     public Result<List<Activity>> getEndedActivities() {
-        log.info("获取已结束的活动请求");
+        log.debug("获取已结束的活动请求");
         List<Activity> activities = activityService.getEndedActivities();
         return Result.success(activities);
     }
@@ -229,18 +366,23 @@ public class ActivityController {
      * @param title 活动标题关键字
      * @param clubId 社团ID
      * @param status 状态
+     * @param cursor 游标（传入时使用游标分页，空值表示第一页，忽略page）
      * @return 分页活动列表
      */
     @AuthRequired
     @GetMapping
     public Result<PageResult<Activity>> getActivities(
             @RequestParam(defaultValue = "1") Integer page,
-            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) Integer size,
             @RequestParam(required = false) String title,
             @RequestParam(required = false) Long clubId,
-            @RequestParam(required = false) Integer status) {
-        log.info("分页查询活动请求: page={}, size={}, title={}, clubId={}, status={}", 
+            @RequestParam(required = false) Integer status,
+            @RequestParam(required = false) String cursor) {
+        log.debug("分页查询活动请求: page={}, size={}, title={}, clubId={}, status={}", 
                 page, size, title, clubId, status);
+        if (cursor != null) {
+            return Result.success(activityService.getActivitiesByCursor(cursor, size, title, clubId, status));
+        }
         PageResult<Activity> pageResult = activityService.getActivities(page, size, title, clubId, status);
         return Result.success(pageResult);
     }
@@ -253,6 +395,7 @@ public class ActivityController {
         private String description;
         private LocalDateTime startTime;
         private LocalDateTime endTime;
+        private Integer capacity;
 
         public Long getClubId() { return clubId; }
         public void setClubId(Long clubId) { this.clubId = clubId; }
@@ -266,6 +409,8 @@ public class ActivityController {
         public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
         public LocalDateTime getEndTime() { return endTime; }
         public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+        public Integer getCapacity() { return capacity; }
+        public void setCapacity(Integer capacity) { this.capacity = capacity; }
     }
 
     public static class DeleteActivityRequest {
@@ -289,6 +434,8 @@ public class ActivityController {
         private String description;
         private LocalDateTime startTime;
         private LocalDateTime endTime;
+        private Integer capacity;
+        private Boolean clearCapacity;
 
         public Long getActivityId() { return activityId; }
         public void setActivityId(Long activityId) { this.activityId = activityId; }
@@ -304,6 +451,10 @@ public class ActivityController {
         public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
         public LocalDateTime getEndTime() { return endTime; }
         public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+        public Integer getCapacity() { return capacity; }
+        public void setCapacity(Integer capacity) { this.capacity = capacity; }
+        public Boolean getClearCapacity() { return clearCapacity; }
+        public void setClearCapacity(Boolean clearCapacity) { this.clearCapacity = clearCapacity; }
     }
 
     public static class CloseActivityRequest {
@@ -321,4 +472,37 @@ public class ActivityController {
         public String getCloseReason() { return closeReason; }
         public void setCloseReason(String closeReason) { this.closeReason = closeReason; }
     }
+
+    public static class RegistrationRequest {
+        private Long activityId;
+        private Long userId;
+
+        public Long getActivityId() { return activityId; }
+        public void setActivityId(Long activityId) { this.activityId = activityId; }
+        public Long getUserId() { return userId; }
+        public void setUserId(Long userId) { this.userId = userId; }
+    }
+
+    public static class CheckinCodeRequest {
+        private Long activityId;
+        private Long operatorId;
+
+        public Long getActivityId() { return activityId; }
+        public void setActivityId(Long activityId) { this.activityId = activityId; }
+        public Long getOperatorId() { return operatorId; }
+        public void setOperatorId(Long operatorId) { this.operatorId = operatorId; }
+    }
+
+    public static class CheckinRequest {
+        private Long activityId;
+        private Long userId;
+        private String code;
+
+        public Long getActivityId() { return activityId; }
+        public void setActivityId(Long activityId) { this.activityId = activityId; }
+        public Long getUserId() { return userId; }
+        public void setUserId(Long userId) { this.userId = userId; }
+        public String getCode() { return code; }
+        public void setCode(String code) { this.code = code; }
+    }
 }
@@ -6,11 +6,14 @@ import com.commsys.common.Result;
 import com.commsys.entity.Club;
 import com.commsys.entity.ClubMember;
 import com.commsys.service.ClubService;
+import com.commsys.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -38,7 +41,7 @@ public class ClubController {
     @AuthRequired
     @PostMapping("/create")
     public Result<Club> createClub(@Valid @RequestBody CreateClubRequest request) {
-        log.info("创建社团请求: {}, 社长: {}", request.getTitle(), request.getPresidentId());
+        log.debug("创建社团请求: {}, 社长: {}", request.getTitle(), request.getPresidentId());
         Club club = clubService.createClub(request.getTitle(), request.getDescription(), 
                 request.getPresidentId(), request.getTeacherId(), request.getMemberIds(), 
                 request.getOperatorUserId());
@@ -54,7 +57,7 @@ public class ClubController {
     @AuthRequired
     @PostMapping("/close_open")
     public Result<Void> closeOpenClub(@Valid @RequestBody CloseOpenClubRequest request) {
-        log.info("禁用/启用社团请求: 社团ID={}, 启用={}, 操作者={}", 
+        log.debug("禁用/启用社团请求: 社团ID={}, 启用={}, 操作者={}", 
                 request.getClubId(), request.getIsEnabled(), request.getOperatorUserId());
         clubService.closeOpenClub(request.getIsEnabled(), request.getOperatorUserId(), 
                 request.getClubId(), request.getDisableReason());
@@ -70,7 +73,7 @@ public class ClubController {
     @AuthRequired
     @PostMapping("/join")
     public Result<Void> joinClub(@Valid @RequestBody JoinClubRequest request) {
-        log.info("申请加入社团请求: 用户ID={}, 社团ID={}", request.getUserId(), request.getClubId());
+        log.debug("申请加入社团请求: 用户ID={}, 社团ID={}", request.getUserId(), request.getClubId());
         clubService.joinClub(request.getUserId(), request.getClubId());
         return Result.success("申请加入社团成功");
     }
@@ -84,7 +87,7 @@ public class ClubController {
     @AuthRequired
     @PostMapping("/exit")
     public Result<Void> exitClub(@Valid @RequestBody ExitClubRequest request) {
-        log.info("退出社团请求: 用户ID={}", request.getUserId());
+        log.debug("退出社团请求: 用户ID={}", request.getUserId());
         clubService.exitClub(request.getUserId());
         return Result.success("退出社团成功");
     }
@@ -97,11 +100,26 @@ public class ClubController {
     @AuthRequired
     @GetMapping("/all")
     public Result<List<Club>> getAllClubs() {
-        log.info("获取所有社团请求");
+        log.debug("获取所有社团请求");
         List<Club> clubs = clubService.getAllClubs();
         return Result.success(clubs);
     }
 
+    /**
+     * 流式导出所有社团
+     * 以NDJSON格式逐行写出，不在内存中组装完整列表
+     * 
+     * @param response HTTP响应
+     * @throws IOException 写出失败
+     */
+    @AuthRequired
+    @GetMapping("/export")
+    public void exportClubs(HttpServletResponse response) throws IOException {
+        log.debug("导出所有社团请求");
+        response.setContentType(ExportService.NDJSON + ";charset=utf-8");
+        clubService.exportClubs(response.getOutputStream());
+    }
+
     /**
      * 根据ID获取社团
      * 
@@ -111,7 +129,7 @@ public class ClubController {
     @AuthRequired
     @GetMapping("/{id}")
     public Result<Club> getClubById(@PathVariable Long id) {
-        log.info("根据ID获取社团请求: {}", id);
+        log.debug("根据ID获取社团请求: {}", id);
         Club club = clubService.getClubById(id);
         return Result.success(club);
     }
@@ -125,7 +143,7 @@ public class ClubController {
     @AuthRequired
     @GetMapping("/status/{status}")
     public Result<List<Club>> getClubsByStatus(@PathVariable Integer status) {
-        log.info("根据状态获取社团请求: {}", status);
+        log.debug("根据状态获取社团请求: {}", status);
         List<Club> clubs = clubService.getClubsByStatus(status);
         return Result.success(clubs);
     }
@@ -139,7 +157,7 @@ public class ClubController {
     @AuthRequired
     @GetMapping("/president/{presidentId}")
     public Result<List<Club>> getClubsByPresidentId(@PathVariable Long presidentId) {
-        log.info("根据社长ID获取社团请求: {}", presidentId);
+        log.debug("根据社长ID获取社团请求: {}", presidentId);
         List<Club> clubs = clubService.getClubsByPresidentId(presidentId);
         return Result.success(clubs);
     }
@@ -151,16 +169,21 @@ public class ClubController {
      * @param size 每页大小
      * @param title 社团标题关键字
      * @param status 状态
+     * @param cursor 游标（传入时使用游标分页，空值表示第一页，忽略page）
      * @return 分页社团列表
      */
     @AuthRequired
     @GetMapping
     public Result<PageResult<Club>> getClubs(
             @RequestParam(defaultValue = "1") Integer page,
-            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) Integer size,
             @RequestParam(required = false) String title,
-            @RequestParam(required = false) Integer status) {
-        log.info("分页查询社团请求: page={}, size={}, title={}, status={}", page, size, title, status);
+            @RequestParam(required = false) Integer status,
+            @RequestParam(required = false) String cursor) {
+        log.debug("分页查询社团请求: page={}, size={}, title={}, status={}", page, size, title, status);
+        if (cursor != null) {
+            return Result.success(clubService.getClubsByCursor(cursor, size, title, status));
+        }
         PageResult<Club> pageResult = clubService.getClubs(page, size, title, status);
         return Result.success(pageResult);
     }
@@ -174,7 +197,7 @@ public class ClubController {
     @AuthRequired
     @GetMapping("/{clubId}/members")
     public Result<List<ClubMember>> getClubMembers(@PathVariable Long clubId) {
-        log.info("获取社团成员列表请求: {}", clubId);
+        log.debug("获取社团成员列表请求: {}", clubId);
         List<ClubMember> members = clubService.getClubMembers(clubId);
         return Result.success(members);
     }
@@ -188,7 +211,7 @@ public class ClubController {
     @AuthRequired
     @GetMapping("/user/{userId}")
     public Result<List<ClubMember>> getUserClubs(@PathVariable Long userId) {
-        log.info("获取用户所在的社团列表请求: {}", userId);
+        log.debug("获取用户所在的社团列表请求: {}", userId);
         List<ClubMember> clubs = clubService.getUserClubs(userId);
         return Result.success(clubs);
     }
@@ -203,7 +226,7 @@ public class ClubController {
     @AuthRequired
     @GetMapping("/{clubId}/check/{userId}")
     public Result<Boolean> isUserInClub(@PathVariable Long clubId, @PathVariable Long userId) {
-        log.info("检查用户是否在社团中请求: 社团ID={}, 用户ID={}", clubId, userId);
+        log.debug("检查用户是否在社团中请求: 社团ID={}, 用户ID={}", clubId, userId);
         boolean isInClub = clubService.isUserInClub(clubId, userId);
         return Result.success(isInClub);
     }
@@ -216,7 +239,7 @@ public class ClubController {
      */
     @GetMapping("/{clubId}/count")
     public Result<Long> countClubMembers(@PathVariable Long clubId) {
-        log.info("统计社团成员数量请求: {}", clubId);
+        log.debug("统计社团成员数量请求: {}", clubId);
         long count = clubService.countClubMembers(clubId);
         return Result.success(count);
     }
@@ -4,11 +4,14 @@ import com.commsys.common.PageResult;
 import com.commsys.common.Result;
 import com.commsys.entity.Config;
 import com.commsys.service.ConfigService;
+import com.commsys.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -35,7 +38,7 @@ public class ConfigController {
      */
     @PostMapping
     public Result<Config> createConfig(@Valid @RequestBody Config config) {
-        log.info("创建配置请求: {}", config.getConfigKey());
+        log.debug("创建配置请求: {}", config.getConfigKey());
         Config createdConfig = configService.createConfig(config);
         return Result.success("配置创建成功", createdConfig);
     }
@@ -48,7 +51,7 @@ public class ConfigController {
      */
     @GetMapping("/{id}")
     public Result<Config> getConfigById(@PathVariable Long id) {
-        log.info("获取配置请求: {}", id);
+        log.debug("获取配置请求: {}", id);
         Config config = configService.getConfigById(id);
         return Result.success(config);
     }
@@ -61,7 +64,7 @@ public class ConfigController {
      */
     @GetMapping("/key/{configKey}")
     public Result<Config> getConfigByKey(@PathVariable String configKey) {
-        log.info("根据配置键获取配置请求: {}", configKey);
+        log.debug("根据配置键获取配置请求: {}", configKey);
         Config config = configService.getConfigByKey(configKey);
         return Result.success(config);
     }
@@ -74,7 +77,7 @@ public class ConfigController {
      */
     @GetMapping("/value/{configKey}")
     public Result<String> getConfigValue(@PathVariable String configKey) {
-        log.info("获取配置值请求: {}", configKey);
+        log.debug("获取配置值请求: {}", configKey);
         String value = configService.getConfigValue(configKey);
         return Result.success(value);
     }
@@ -89,7 +92,7 @@ public class ConfigController {
     @GetMapping("/value/{configKey}/default")
     public Result<String> getConfigValueWithDefault(@PathVariable String configKey, 
                                                    @RequestParam String defaultValue) {
-        log.info("获取配置值（带默认值）请求: {}, 默认值: {}", configKey, defaultValue);
+        log.debug("获取配置值（带默认值）请求: {}, 默认值: {}", configKey, defaultValue);
         String value = configService.getConfigValue(configKey, defaultValue);
         return Result.success(value);
     }
@@ -103,7 +106,7 @@ public class ConfigController {
      */
     @PutMapping("/{id}")
     public Result<Config> updateConfig(@PathVariable Long id, @Valid @RequestBody Config config) {
-        log.info("更新配置请求: {}", id);
+        log.debug("更新配置请求: {}", id);
         config.setId(id);
         Config updatedConfig = configService.updateConfig(config);
         return Result.success("配置更新成功", updatedConfig);
@@ -119,7 +122,7 @@ public class ConfigController {
     @PutMapping("/value/{configKey}")
     public Result<Config> updateConfigValue(@PathVariable String configKey, 
                                           @RequestParam String configValue) {
-        log.info("更新配置值请求: {} = {}", configKey, configValue);
+        log.debug("更新配置值请求: {} = {}", configKey, configValue);
         Config config = configService.updateConfigValue(configKey, configValue);
         return Result.success("配置值更新成功", config);
     }
@@ -132,7 +135,7 @@ public class ConfigController {
      */
     @DeleteMapping("/{id}")
     public Result<Void> deleteConfig(@PathVariable Long id) {
-        log.info("删除配置请求: {}", id);
+        log.debug("删除配置请求: {}", id);
         configService.deleteConfig(id);
         return Result.success("配置删除成功");
     }
@@ -145,7 +148,7 @@ public class ConfigController {
      */
     @DeleteMapping("/batch")
     public Result<Void> deleteConfigs(@RequestBody List<Long> ids) {
-        log.info("批量删除配置请求: {}", ids);
+        log.debug("批量删除配置请求: {}", ids);
         configService.deleteConfigs(ids);
         return Result.success("配置批量删除成功");
     }
@@ -158,17 +161,22 @@ public class ConfigController {
      * @param configKey 配置键关键字
      * @param configGroup 配置分组
      * @param configType 配置类型
+     * @param cursor 游标（传入时使用游标分页，空值表示第一页，忽略page）
      * @return 分页配置列表
      */
     @GetMapping
     public Result<PageResult<Config>> getConfigs(
             @RequestParam(defaultValue = "1") Integer page,
-            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) Integer size,
             @RequestParam(required = false) String configKey,
             @RequestParam(required = false) String configGroup,
-            @RequestParam(required = false) Config.ConfigType configType) {
-        log.info("分页查询配置请求: page={}, size={}, configKey={}, configGroup={}, configType={}", 
+            @RequestParam(required = false) Config.ConfigType configType,
+            @RequestParam(required = false) String cursor) {
+        log.debug("分页查询配置请求: page={}, size={}, configKey={}, configGroup={}, configType={}", 
                 page, size, configKey, configGroup, configType);
+        if (cursor != null) {
+            return Result.success(configService.getConfigsByCursor(cursor, size, configKey, configGroup, configType));
+        }
         PageResult<Config> pageResult = configService.getConfigs(page, size, configKey, configGroup, configType);
         return Result.success(pageResult);
     }
@@ -180,11 +188,25 @@ public class ConfigController {
      */
     @GetMapping("/all")
     public Result<List<Config>> getAllConfigs() {
-        log.info("获取所有配置请求");
+        log.debug("获取所有配置请求");
         List<Config> configs = configService.getAllConfigs();
         return Result.success(configs);
     }
 
+    /**
+     * 流式导出所有配置
+     * 以NDJSON格式逐行写出，不在内存中组装完整列表
+     * 
+     * @param response HTTP响应
+     * @throws IOException 写出失败
+     */
+    @GetMapping("/export")
+    public void exportConfigs(HttpServletResponse response) throws IOException {
+        log.debug("导出所有配置请求");
+        response.setContentType(ExportService.NDJSON + ";charset=utf-8");
+        configService.exportConfigs(response.getOutputStream());
+    }
+
     /**
      * 根据配置分组获取配置列表
      * 
@@ -193,7 +215,7 @@ public class ConfigController {
      */
     @GetMapping("/group/{configGroup}")
     public Result<List<Config>> getConfigsByGroup(@PathVariable String configGroup) {
-        log.info("根据配置分组获取配置请求: {}", configGroup);
+        log.debug("根据配置分组获取配置请求: {}", configGroup);
         List<Config> configs = configService.getConfigsByGroup(configGroup);
         return Result.success(configs);
     }
@@ -206,7 +228,7 @@ public class ConfigController {
      */
     @GetMapping("/type/{configType}")
     public Result<List<Config>> getConfigsByType(@PathVariable Config.ConfigType configType) {
-        log.info("根据配置类型获取配置请求: {}", configType);
+        log.debug("根据配置类型获取配置请求: {}", configType);
         List<Config> configs = configService.getConfigsByType(configType);
         return Result.success(configs);
     }
@@ -218,7 +240,7 @@ public class ConfigController {
      */
     @GetMapping("/groups")
     public Result<List<String>> getAllConfigGroups() {
-        log.info("获取所有配置分组请求");
+        log.debug("获取所有配置分组请求");
         List<String> groups = configService.getAllConfigGroups();
         return Result.success(groups);
     }
@@ -231,7 +253,7 @@ public class ConfigController {
      */
     @GetMapping("/check/key/{configKey}")
     public Result<Boolean> checkConfigKey(@PathVariable String configKey) {
-        log.info("检查配置键请求: {}", configKey);
+        log.debug("检查配置键请求: {}", configKey);
         boolean exists = configService.existsByConfigKey(configKey);
         return Result.success(exists);
     }
@@ -243,7 +265,7 @@ public class ConfigController {
      */
     @PostMapping("/init")
     public Result<Void> initDefaultConfigs() {
-        log.info("初始化默认配置请求");
+        log.debug("初始化默认配置请求");
         configService.initDefaultConfigs();
         return Result.success("默认配置初始化成功");
     }
@@ -1,12 +1,19 @@
 package com.commsys.controller;
 
 import com.commsys.common.Result;
+import com.commsys.common.ResultCode;
+import com.commsys.config.AppConfig;
+import com.commsys.config.StartupTimer;
 import com.commsys.service.ConfigService;
+import com.commsys.service.HealthService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -24,6 +31,9 @@ import java.util.Map;
 public class SystemController {
 
     private final ConfigService configService;
+    private final StartupTimer startupTimer;
+    private final HealthService healthService;
+    private final AppConfig appConfig;
 
     /**
      * 系统信息
@@ -32,37 +42,42 @@ public class SystemController {
      */
     @GetMapping("/info")
     public Result<Map<String, Object>> getSystemInfo() {
-        log.info("获取系统信息请求");
+        log.debug("获取系统信息请求");
         
         Map<String, Object> info = new HashMap<>();
         info.put("name", "社团管理系统");
         info.put("version", "1.0.0");
         info.put("description", "基于Spring Boot的社团管理系统");
-        info.put("database", "SQLite");
+        info.put("database", appConfig.getDatabase().getType());
         info.put("javaVersion", System.getProperty("java.version"));
         info.put("osName", System.getProperty("os.name"));
         info.put("osVersion", System.getProperty("os.version"));
         info.put("timestamp", System.currentTimeMillis());
+        info.put("startupMillis", startupTimer.getStartupMillis());
         
         return Result.success(info);
     }
 
     /**
-     * 健康检查
+     * 健康检查（就绪探针）
+     * 实测数据库往返耗时并返回连接池、缓存统计；数据库不可用或连接池饱和时返回503
      * 
      * @return 健康状态
      */
     @GetMapping("/health")
-    public Result<Map<String, Object>> healthCheck() {
-        log.info("健康检查请求");
+    public ResponseEntity<Result<Map<String, Object>>> healthCheck() {
+        log.debug("健康检查请求");
         
-        Map<String, Object> health = new HashMap<>();
-        health.put("status", "UP");
-        health.put("database", "SQLite");
-        health.put("timestamp", System.currentTimeMillis());
-        health.put("uptime", System.currentTimeMillis() - getStartTime());
+        HealthService.Health health = healthService.check();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", health.up() ? "UP" : "DOWN");
+        body.putAll(health.details());
         
-        return Result.success(health);
+        if (!health.up()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Result.error(ResultCode.SERVICE_UNAVAILABLE, body));
+        }
+        return ResponseEntity.ok(Result.success(body));
     }
 
     /**
@@ -73,7 +88,7 @@ public class SystemController {
      */
     @GetMapping("/config/{configKey}")
     public Result<String> getDynamicConfig(@PathVariable String configKey) {
-        log.info("获取动态配置请求: {}", configKey);
+        log.debug("获取动态配置请求: {}", configKey);
         String value = configService.getConfigValue(configKey);
         return Result.success(value);
     }
@@ -88,7 +103,7 @@ public class SystemController {
     @GetMapping("/config/{configKey}/default")
     public Result<String> getDynamicConfigWithDefault(@PathVariable String configKey, 
                                                      @RequestParam String defaultValue) {
-        log.info("获取动态配置（带默认值）请求: {}, 默认值: {}", configKey, defaultValue);
+        log.debug("获取动态配置（带默认值）请求: {}, 默认值: {}", configKey, defaultValue);
         String value = configService.getConfigValue(configKey, defaultValue);
         return Result.success(value);
     }
@@ -109,15 +124,4 @@ public class SystemController {
         
         return Result.success("数据库数据清理完成");
     }
-
-    /**
-     * 获取系统启动时间
-     * 
-     * @return 启动时间
-     */
-    private long getStartTime() {
-        // 这里应该返回系统启动时间
-        // 可以通过静态变量记录启动时间
-        return System.currentTimeMillis() - 10000; // 模拟启动时间
-    }
 }
\ No newline at end of file
@@ -2,10 +2,16 @@ package com.commsys.controller;
 
 import com.commsys.annotation.AuthRequired;
 import com.commsys.common.PageResult;
+import com.commsys.common.RankEntry;
 import com.commsys.common.Result;
+import com.commsys.common.UserRank;
 import com.commsys.entity.Token;
 import com.commsys.entity.User;
+import com.commsys.service.LeaderboardService;
+import com.commsys.service.PointsService;
 import com.commsys.service.UserService;
+import com.commsys.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +19,7 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -30,6 +37,8 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final PointsService pointsService;
+    private final LeaderboardService leaderboardService;
 
     /**
      * 用户登录
@@ -39,7 +48,7 @@ public class UserController {
      */
     @PostMapping("/login")
     public Result<Token> login(@Valid @RequestBody LoginRequest request) {
-        log.info("用户登录请求: {}", request.getUsername());
+        log.debug("用户登录请求: {}", request.getUsername());
         Token token = userService.login(request.getUsername(), request.getPasswordHash());
         return Result.success("登录成功", token);
     }
@@ -52,7 +61,7 @@ public class UserController {
      */
     @PostMapping("/register")
     public Result<Token> register(@Valid @RequestBody RegisterRequest request) {
-        log.info("用户注册请求: {}", request.getUsername());
+        log.debug("用户注册请求: {}", request.getUsername());
         Token token = userService.register(request.getUsername(), request.getPasswordHash(), request.getGender());
         return Result.success("注册成功", token);
     }
@@ -65,7 +74,7 @@ public class UserController {
      */
     @PostMapping("/reg_plus")
     public Result<Token> registerPlus(@Valid @RequestBody RegisterPlusRequest request) {
-        log.info("高级注册请求: {}, 身份ID: {}", request.getUsername(), request.getRoleId());
+        log.debug("高级注册请求: {}, 身份ID: {}", request.getUsername(), request.getRoleId());
         Token token = userService.registerPlus(request.getUsername(), request.getPasswordHash(), 
                 request.getGender(), request.getRoleId(), request.getOperatorUserId());
         return Result.success("高级注册成功", token);
@@ -79,7 +88,7 @@ public class UserController {
      */
     @PostMapping("/logout")
     public Result<Void> logout(@Valid @RequestBody LogoutRequest request) {
-        log.info("用户注销请求: {}", request.getToken());
+        log.debug("用户注销请求");
         userService.logout(request.getToken());
         return Result.success("注销成功");
     }
@@ -92,7 +101,7 @@ public class UserController {
      */
     @GetMapping("/re_token")
     public Result<Token> refreshToken(@RequestParam String token) {
-        log.info("刷新Token请求: {}", token);
+        log.debug("刷新Token请求");
         Token newToken = userService.refreshToken(token);
         return Result.success("Token刷新成功", newToken);
     }
@@ -107,7 +116,7 @@ public class UserController {
     @AuthRequired
     @PostMapping("/change")
     public Result<User> changeProfile(@RequestParam Long userId, @Valid @RequestBody User user) {
-        log.info("修改个人资料请求: {}", userId);
+        log.debug("修改个人资料请求: {}", userId);
         User updatedUser = userService.changeProfile(userId, user);
         return Result.success("个人资料修改成功", updatedUser);
     }
@@ -121,7 +130,7 @@ public class UserController {
     @AuthRequired
     @PostMapping("/del")
     public Result<Void> deleteUser(@Valid @RequestBody DeleteUserRequest request) {
-        log.info("删除用户请求: 操作者={}, 目标用户={}", request.getOperatorUserId(), request.getTargetUserId());
+        log.debug("删除用户请求: 操作者={}, 目标用户={}", request.getOperatorUserId(), request.getTargetUserId());
         userService.deleteUser(request.getTargetUserId(), request.getOperatorUserId());
         return Result.success("用户删除成功");
     }
@@ -135,7 +144,7 @@ public class UserController {
     @AuthRequired
     @PostMapping("/change_passw")
     public Result<Void> changePassword(@Valid @RequestBody ChangePasswordRequest request) {
-        log.info("修改密码请求: 用户ID={}", request.getUserId());
+        log.debug("修改密码请求: 用户ID={}", request.getUserId());
         userService.changePassword(request.getUserId(), request.getOldPasswordHash(), 
                 request.getNewPasswordHash(), request.getOperatorUserId());
         return Result.success("密码修改成功");
@@ -150,7 +159,7 @@ public class UserController {
     @AuthRequired
     @PostMapping("/permiss")
     public Result<Void> changePermission(@Valid @RequestBody ChangePermissionRequest request) {
-        log.info("用户提权/降权请求: 目标用户={}, 操作者={}, 目标身份={}", 
+        log.debug("用户提权/降权请求: 目标用户={}, 操作者={}, 目标身份={}", 
                 request.getTargetUserId(), request.getOperatorUserId(), request.getTargetRoleId());
         userService.changePermission(request.getTargetUserId(), request.getOperatorUserId(), request.getTargetRoleId());
         return Result.success("权限修改成功");
@@ -165,19 +174,24 @@ public class UserController {
      * @param realName 真实姓名关键字
      * @param roleId 身份ID
      * @param status 状态
+     * @param cursor 游标（传入时使用游标分页，空值表示第一页，忽略page）
      * @return 分页用户列表
      */
     @AuthRequired
     @GetMapping("/all")
     public Result<PageResult<User>> getUsers(
             @RequestParam(defaultValue = "1") Integer page,
-            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) Integer size,
             @RequestParam(required = false) String username,
             @RequestParam(required = false) String realName,
             @RequestParam(required = false) Integer roleId,
-            @RequestParam(required = false) Integer status) {
-        log.info("分页查询用户请求: page={}, size={}, username={}, realName={}, roleId={}, status={}", 
+            @RequestParam(required = false) Integer status,
+            @RequestParam(required = false) String cursor) {
+        log.debug("分页查询用户请求: page={}, size={}, username={}, realName={}, roleId={}, status={}", 
                 page, size, username, realName, roleId, status);
+        if (cursor != null) {
+            return Result.success(userService.getUsersByCursor(cursor, size, username, realName, roleId, status));
+        }
         PageResult<User> pageResult = userService.getUsers(page, size, username, realName, roleId, status);
         return Result.success(pageResult);
     }
@@ -190,11 +204,26 @@ public class UserController {
     @AuthRequired
     @GetMapping("/list")
     public Result<List<User>> getAllUsers() {
-        log.info("获取所有用户请求");
+        log.debug("获取所有用户请求");
         List<User> users = userService.getAllUsers();
         return Result.success(users);
     }
 
+    /**
+     * 流式导出所有用户
+     * 以NDJSON格式逐行写出，不在内存中组装完整列表
+     * 
+     * @param response HTTP响应
+     * @throws IOException 写出失败
+     */
+    @AuthRequired
+    @GetMapping("/export")
+    public void exportUsers(HttpServletResponse response) throws IOException {
+        log.debug("导出所有用户请求");
+        response.setContentType(ExportService.NDJSON + ";charset=utf-8");
+        userService.exportUsers(response.getOutputStream());
+    }
+
     /**
      * 根据身份ID获取用户列表
      * 
@@ -204,7 +233,7 @@ public class UserController {
     @AuthRequired
     @GetMapping("/role/{roleId}")
     public Result<List<User>> getUsersByRoleId(@PathVariable Integer roleId) {
-        log.info("根据身份ID获取用户请求: {}", roleId);
+        log.debug("根据身份ID获取用户请求: {}", roleId);
         List<User> users = userService.getUsersByRoleId(roleId);
         return Result.success(users);
     }
@@ -218,11 +247,65 @@ public class UserController {
     @AuthRequired
     @GetMapping("/club/{parentClubId}")
     public Result<List<User>> getUsersByParentClubId(@PathVariable Long parentClubId) {
-        log.info("根据父社团ID获取用户请求: {}", parentClubId);
+        log.debug("根据父社团ID获取用户请求: {}", parentClubId);
         List<User> users = userService.getUsersByParentClubId(parentClubId);
         return Result.success(users);
     }
 
+    /**
+     * 获取用户的积分余额
+     * 
+     * @param userId 用户ID
+     * @return 积分余额（包含尚未计入用户信息的签到积分）
+     */
+    @AuthRequired
+    @GetMapping("/points/{userId}")
+    public Result<Long> getPoints(@PathVariable Long userId) {
+        log.debug("获取用户积分请求: {}", userId);
+        return Result.success(pointsService.getBalance(userId));
+    }
+
+    /**
+     * 获取全局积分排行榜
+     * 
+     * @param size 数量
+     * @return 积分前N名
+     */
+    @AuthRequired
+    @GetMapping("/points/top")
+    public Result<List<RankEntry>> getPointsTop(@RequestParam(required = false) Integer size) {
+        log.debug("获取积分排行榜请求: 数量={}", size);
+        return Result.success(leaderboardService.getTop(size));
+    }
+
+    /**
+     * 获取社团积分排行榜
+     * 
+     * @param clubId 社团ID
+     * @param size 数量
+     * @return 社团内积分前N名
+     */
+    @AuthRequired
+    @GetMapping("/points/club/{clubId}/top")
+    public Result<List<RankEntry>> getClubPointsTop(@PathVariable Long clubId,
+                                                    @RequestParam(required = false) Integer size) {
+        log.debug("获取社团积分排行榜请求: 社团ID={}, 数量={}", clubId, size);
+        return Result.success(leaderboardService.getClubTop(clubId, size));
+    }
+
+    /**
+     * 获取用户的积分排名
+     * 
+     * @param userId 用户ID
+     * @return 全局和社团内名次
+     */
+    @AuthRequired
+    @GetMapping("/points/rank/{userId}")
+    public Result<UserRank> getPointsRank(@PathVariable Long userId) {
+        log.debug("获取用户积分排名请求: {}", userId);
+        return Result.success(leaderboardService.getUserRank(userId));
+    }
+
     /**
      * 检查用户名是否存在
      * 
@@ -231,7 +314,7 @@ public class UserController {
      */
     @GetMapping("/check/username/{username}")
     public Result<Boolean> checkUsername(@PathVariable String username) {
-        log.info("检查用户名请求: {}", username);
+        log.debug("检查用户名请求: {}", username);
         boolean exists = userService.existsByUsername(username);
         return Result.success(exists);
     }
@@ -244,7 +327,7 @@ public class UserController {
      */
     @GetMapping("/check/email/{email}")
     public Result<Boolean> checkEmail(@PathVariable String email) {
-        log.info("检查邮箱请求: {}", email);
+        log.debug("检查邮箱请求: {}", email);
         boolean exists = userService.existsByEmail(email);
         return Result.success(exists);
     }
@@ -257,7 +340,7 @@ public class UserController {
      */
     @GetMapping("/check/phone/{phone}")
     public Result<Boolean> checkPhone(@PathVariable String phone) {
-        log.info("检查手机号请求: {}", phone);
+        log.debug("检查手机号请求: {}", phone);
         boolean exists = userService.existsByPhone(phone);
         return Result.success(exists);
     }
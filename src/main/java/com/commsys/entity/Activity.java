@@ -1,6 +1,8 @@
 package com.commsys.entity;
 
+import com.commsys.search.SearchIndexListener;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -18,7 +20,20 @@ import java.time.LocalDateTime;
  */
 @Data
 @Entity
-@Table(name = "activities")
+@Table(name = "activities", indexes = {
+    // 按社团、社团+状态查询，游标分页按创建时间倒序
+    @Index(name = "idx_activities_club_status_created", columnList = "club_id, status, created_at"),
+    @Index(name = "idx_activities_creator", columnList = "creator_id"),
+    // 按状态查询、正在进行/已结束的活动
+    @Index(name = "idx_activities_status_end", columnList = "status, end_time, start_time"),
+    // 按时间范围查询
+    @Index(name = "idx_activities_start_end", columnList = "start_time, end_time"),
+    // 全量列表及游标分页
+    @Index(name = "idx_activities_created", columnList = "created_at, id"),
+    // 搜索索引增量同步其他节点修改的活动
+    @Index(name = "idx_activities_updated", columnList = "updated_at")
+})
+@EntityListeners(SearchIndexListener.class)
 @EqualsAndHashCode(callSuper = true)
 public class Activity extends BaseEntity {
 
@@ -66,6 +81,19 @@ public class Activity extends BaseEntity {
     @Column(name = "end_time", nullable = false)
     private LocalDateTime endTime;
 
+    /**
+     * 报名名额上限，为空时不限
+     */
+    @Min(value = 1, message = "报名名额至少为1")
+    @Column(name = "capacity")
+    private Integer capacity;
+
+    /**
+     * 已报名人数，只由报名服务按名额上限条件更新，保存活动时不写入
+     */
+    @Column(name = "registered_count", nullable = false, updatable = false)
+    private Integer registeredCount = 0;
+
     /**
      * 活动状态：0-已取消，1-进行中，2-已结束
      */
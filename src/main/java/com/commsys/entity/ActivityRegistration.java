@@ -0,0 +1,56 @@
+package com.commsys.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * 活动报名实体类
+ * 每个用户对每个活动只有一条报名记录，取消后再次报名复用该记录
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Data
+@Entity
+@Table(name = "activity_registrations", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_activity_registrations_activity_user", columnNames = {"activity_id", "user_id"})
+}, indexes = {
+    // 统计已报名人数、按报名先后递补候补
+    @Index(name = "idx_activity_registrations_activity_status", columnList = "activity_id, status, registered_at"),
+    // 用户的报名记录
+    @Index(name = "idx_activity_registrations_user", columnList = "user_id")
+})
+@EqualsAndHashCode(callSuper = true)
+public class ActivityRegistration extends BaseEntity {
+
+    /**
+     * 活动ID
+     */
+    @NotNull(message = "活动ID不能为空")
+    @Column(name = "activity_id", nullable = false)
+    private Long activityId;
+
+    /**
+     * 用户ID
+     */
+    @NotNull(message = "用户ID不能为空")
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * 报名状态：0-已取消，1-已报名，2-候补
+     */
+    @Column(name = "status", nullable = false)
+    private Integer status = 1;
+
+    /**
+     * 报名时间，取消后再次报名时更新，候补按此先后递补
+     */
+    @Column(name = "registered_at", nullable = false)
+    private LocalDateTime registeredAt;
+}
@@ -1,7 +1,10 @@
 package com.commsys.entity;
 
+import com.commsys.config.IdBlockTableGenerator;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -23,12 +26,18 @@ public abstract class BaseEntity {
 
     /**
      * 主键ID
+     * 默认按号段从id_generators表预留ID（每次预留50个，pooled-lo优化器，号段在专用连接上预留），
+     * 使用自增主键的数据库（如SQLite）由IdGeneratorConfig切换为IDENTITY
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.TABLE, generator = "id_generator")
-    @TableGenerator(name = "id_generator", table = "id_generators",
-                   pkColumnName = "sequence_name", valueColumnName = "next_val",
-                   pkColumnValue = "default_seq", allocationSize = 1)
+    @GeneratedValue(generator = "id_generator")
+    @GenericGenerator(name = "id_generator", type = IdBlockTableGenerator.class, parameters = {
+            @Parameter(name = "table_name", value = "id_generators"),
+            @Parameter(name = "segment_column_name", value = "sequence_name"),
+            @Parameter(name = "value_column_name", value = "next_val"),
+            @Parameter(name = "segment_value", value = "default_seq"),
+            @Parameter(name = "increment_size", value = "50")
+    })
     private Long id;
 
     /**
@@ -1,5 +1,6 @@
 package com.commsys.entity;
 
+import com.commsys.search.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -18,7 +19,19 @@ import java.util.List;
  */
 @Data
 @Entity
-@Table(name = "clubs")
+@Table(name = "clubs", indexes = {
+    @Index(name = "idx_clubs_president", columnList = "president_id"),
+    @Index(name = "idx_clubs_teacher", columnList = "teacher_id"),
+    // 按状态查询，游标分页按创建时间倒序
+    @Index(name = "idx_clubs_status_created", columnList = "status, created_at"),
+    // 创建社团时的重名检查
+    @Index(name = "idx_clubs_title", columnList = "title, is_deleted"),
+    // 全量列表及游标分页
+    @Index(name = "idx_clubs_created", columnList = "created_at, id"),
+    // 搜索索引增量同步其他节点的修改
+    @Index(name = "idx_clubs_updated", columnList = "updated_at")
+})
+@EntityListeners(SearchIndexListener.class)
 @EqualsAndHashCode(callSuper = true)
 public class Club extends BaseEntity {
 
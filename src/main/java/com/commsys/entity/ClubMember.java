@@ -16,6 +16,11 @@ import lombok.EqualsAndHashCode;
 @Entity
 @Table(name = "club_members", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"club_id", "user_id"})
+}, indexes = {
+    // 用户所在社团
+    @Index(name = "idx_club_members_user_status", columnList = "user_id, status, is_deleted"),
+    // 统计社团成员数量，覆盖索引无需回表
+    @Index(name = "idx_club_members_club_status", columnList = "club_id, status, is_deleted")
 })
 @EqualsAndHashCode(callSuper = true)
 public class ClubMember extends BaseEntity {
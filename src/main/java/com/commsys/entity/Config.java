@@ -1,5 +1,6 @@
 package com.commsys.entity;
 
+import com.commsys.search.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -16,7 +17,16 @@ import lombok.EqualsAndHashCode;
  */
 @Data
 @Entity
-@Table(name = "configs")
+@Table(name = "configs", indexes = {
+    // 按分组查询并按配置键排序
+    @Index(name = "idx_configs_group_key", columnList = "config_group, config_key"),
+    @Index(name = "idx_configs_type_key", columnList = "config_type, config_key"),
+    // 全量列表及游标分页
+    @Index(name = "idx_configs_created", columnList = "created_at, id"),
+    // 搜索索引增量同步其他节点的修改
+    @Index(name = "idx_configs_updated", columnList = "updated_at")
+})
+@EntityListeners(SearchIndexListener.class)
 @EqualsAndHashCode(callSuper = true)
 public class Config extends BaseEntity {
 
@@ -0,0 +1,78 @@
+package com.commsys.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * 积分流水实体类
+ * 只追加不修改金额：每次积分变动写入一条流水，由汇总任务批量计入 users.points 后置为已入账；
+ * 同一来源（如某次活动签到）对同一用户只能记一条，唯一约束保证重复提交不会重复加分
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Data
+@Entity
+@Table(name = "points_ledger", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_points_ledger_user_source_ref", columnNames = {"user_id", "source", "ref_id"})
+}, indexes = {
+    // 汇总任务按ID顺序取未入账流水；查询用户未入账积分
+    @Index(name = "idx_points_ledger_applied", columnList = "applied, id"),
+    @Index(name = "idx_points_ledger_user_applied", columnList = "user_id, applied"),
+    // 活动的签到记录
+    @Index(name = "idx_points_ledger_source_ref", columnList = "source, ref_id")
+})
+@EqualsAndHashCode(callSuper = true)
+public class PointsLedger extends BaseEntity {
+
+    /**
+     * 积分来源：活动签到
+     */
+    public static final String SOURCE_ACTIVITY_CHECKIN = "ACTIVITY_CHECKIN";
+
+    /**
+     * 用户ID
+     */
+    @NotNull(message = "用户ID不能为空")
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    /**
+     * 积分变动值
+     */
+    @NotNull(message = "积分变动值不能为空")
+    @Column(name = "delta", nullable = false, updatable = false)
+    private Integer delta;
+
+    /**
+     * 积分来源
+     */
+    @NotBlank(message = "积分来源不能为空")
+    @Column(name = "source", nullable = false, length = 32, updatable = false)
+    private String source;
+
+    /**
+     * 来源对象ID（如活动ID）
+     */
+    @NotNull(message = "来源对象ID不能为空")
+    @Column(name = "ref_id", nullable = false, updatable = false)
+    private Long refId;
+
+    /**
+     * 是否已计入用户积分
+     */
+    @Column(name = "applied", nullable = false)
+    private Boolean applied = false;
+
+    /**
+     * 计入用户积分的时间
+     */
+    @Column(name = "applied_at")
+    private LocalDateTime appliedAt;
+}
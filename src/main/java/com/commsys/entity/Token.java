@@ -17,7 +17,18 @@ import java.time.LocalDateTime;
  */
 @Data
 @Entity
-@Table(name = "tokens")
+@Table(name = "tokens", indexes = {
+    // 按用户查询/使失效有效Token
+    @Index(name = "idx_tokens_user_status_expires", columnList = "user_id, status, expires_at"),
+    // 过期Token置失效
+    @Index(name = "idx_tokens_status_expires", columnList = "status, expires_at"),
+    // 物理删除过期Token
+    @Index(name = "idx_tokens_expires_at", columnList = "expires_at"),
+    // 同步吊销记录
+    @Index(name = "idx_tokens_status_updated", columnList = "status, updated_at"),
+    // 物理删除已逻辑删除的Token
+    @Index(name = "idx_tokens_deleted_updated", columnList = "is_deleted, updated_at")
+})
 @EqualsAndHashCode(callSuper = true)
 public class Token extends BaseEntity {
 
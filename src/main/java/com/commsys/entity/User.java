@@ -1,5 +1,7 @@
 package com.commsys.entity;
 
+import com.commsys.rank.LeaderboardListener;
+import com.commsys.search.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -17,7 +19,18 @@ import lombok.EqualsAndHashCode;
  */
 @Data
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    // 按身份、身份+状态查询
+    @Index(name = "idx_users_role_status", columnList = "role_id, status"),
+    @Index(name = "idx_users_status_created", columnList = "status, created_at"),
+    @Index(name = "idx_users_parent_club", columnList = "parent_club_id"),
+    @Index(name = "idx_users_phone", columnList = "phone"),
+    // 全量列表及游标分页
+    @Index(name = "idx_users_created", columnList = "created_at, id"),
+    // 搜索索引增量同步其他节点的修改
+    @Index(name = "idx_users_updated", columnList = "updated_at")
+})
+@EntityListeners({SearchIndexListener.class, LeaderboardListener.class})
 @EqualsAndHashCode(callSuper = true)
 public class User extends BaseEntity {
 
@@ -47,8 +60,9 @@ public class User extends BaseEntity {
 
     /**
      * 积分
+     * 只由积分流水汇总任务以增量UPDATE修改，实体保存时不写回，避免覆盖并发入账的积分
      */
-    @Column(name = "points", nullable = false)
+    @Column(name = "points", nullable = false, updatable = false)
     private Integer points = 0;
 
     /**
@@ -0,0 +1,37 @@
+package com.commsys.rank;
+
+import com.commsys.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * 积分排行榜实体监听器
+ * 用户新增或修改（含所属社团变化和置删除标记）后更新排行榜；由Hibernate通过Spring容器获取，
+ * Leaderboards 延迟获取，避免与 EntityManagerFactory 的初始化形成循环依赖
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Component
+@RequiredArgsConstructor
+public class LeaderboardListener {
+
+    private final ObjectProvider<Leaderboards> leaderboards;
+
+    /**
+     * 用户保存后更新排行榜
+     * 
+     * @param entity 实体
+     */
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        if (entity instanceof User user) {
+            leaderboards.getObject().indexAfterCommit(user);
+        }
+    }
+}
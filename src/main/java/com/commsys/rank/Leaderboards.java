@@ -0,0 +1,326 @@
+package com.commsys.rank;
+
+import com.commsys.entity.User;
+import com.commsys.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 积分排行榜
+ * 维护一个全局 RankIndex 和每个社团（按用户的 parentClubId）一个 RankIndex，名次和前N名查询只读内存；
+ * 启动时从数据库全量构建，之后在积分入账、用户新增、修改（含所属社团变化）和删除的事务提交后增量更新，
+ * 并定期全量重建以纳入其他节点的修改。全量重建在锁外进行，不阻塞增量更新；积分更新写入的是入账后的积分绝对值，可以安全重放
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class Leaderboards {
+
+    private final UserRepository userRepository;
+
+    private volatile Boards boards = new Boards();
+
+    /**
+     * 重建期间已执行的增量更新，替换排行榜后在新排行榜上重放；不在重建时为null。由 this 保护
+     */
+    private List<Runnable> rebuildJournal;
+
+    /**
+     * 保证同一时刻只有一个全量重建
+     */
+    private final Object rebuildLock = new Object();
+
+    /**
+     * 从数据库全量重建排行榜
+     * 在锁外读取投影并构建新排行榜，完成后在锁内整体替换，并重放重建期间提交的增量更新；
+     * 增量更新写入的是用户的最新状态和入账后的积分，重放已包含在快照中的更新不会产生偏差
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                rebuildJournal = new ArrayList<>();
+            }
+            try {
+                rebuildBoards();
+            } finally {
+                synchronized (this) {
+                    rebuildJournal = null;
+                }
+            }
+        }
+    }
+
+    private void rebuildBoards() {
+        long start = System.currentTimeMillis();
+        Boards newBoards = new Boards();
+        for (UserRepository.RankingRow row : userRepository.findRankingRows()) {
+            newBoards.put(row.getId(), row.getUsername(), row.getParentClubId(), row.getPoints());
+        }
+        int replayed;
+        synchronized (this) {
+            boards = newBoards;
+            rebuildJournal.forEach(Runnable::run);
+            replayed = rebuildJournal.size();
+        }
+        log.info("积分排行榜已重建: 用户{}个, 社团{}个, 重放增量更新{}次, 耗时{}ms",
+                newBoards.global.size(), newBoards.clubs.size(), replayed, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 定期全量重建排行榜
+     */
+    @Scheduled(fixedDelayString = "${app.leaderboard.rebuild-seconds:600}",
+            initialDelayString = "${app.leaderboard.rebuild-seconds:600}", timeUnit = TimeUnit.SECONDS)
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("重建积分排行榜失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 在当前事务提交后按用户的最新状态更新排行榜，已逻辑删除的用户从排行榜中移除
+     * 已在排行榜中的用户只更新用户名和所属社团，积分以入账时写入的值为准
+     * 
+     * @param user 已保存的用户
+     */
+    public void indexAfterCommit(User user) {
+        Long id = user.getId();
+        if (id == null) {
+            return;
+        }
+        if (Boolean.TRUE.equals(user.getIsDeleted())) {
+            afterCommit(() -> boards.remove(id));
+            return;
+        }
+        String username = user.getUsername();
+        Long clubId = user.getParentClubId();
+        int points = user.getPoints() != null ? user.getPoints() : 0;
+        afterCommit(() -> boards.update(id, username, clubId, points));
+    }
+
+    /**
+     * 在当前事务提交后从排行榜中移除用户，用于不经过实体回调的批量逻辑删除
+     * 
+     * @param userIds 用户ID集合
+     */
+    public void removeAfterCommit(Collection<Long> userIds) {
+        List<Long> removed = List.copyOf(userIds);
+        afterCommit(() -> removed.forEach(boards::remove));
+    }
+
+    /**
+     * 在当前事务提交后写入用户入账后的积分
+     * 
+     * @param points 用户ID -> 入账后的积分
+     */
+    public void updatePointsAfterCommit(Map<Long, Integer> points) {
+        Map<Long, Integer> updated = Map.copyOf(points);
+        afterCommit(() -> updated.forEach(boards::setPoints));
+    }
+
+    /**
+     * 全局积分前N名
+     * 
+     * @param limit 数量
+     * @return 按名次排列的条目
+     */
+    public List<RankIndex.Entry> top(int limit) {
+        return boards.global.top(limit);
+    }
+
+    /**
+     * 社团内积分前N名
+     * 
+     * @param clubId 社团ID
+     * @param limit 数量
+     * @return 按名次排列的条目，社团没有成员时为空
+     */
+    public List<RankIndex.Entry> topOfClub(Long clubId, int limit) {
+        RankIndex club = boards.clubs.get(clubId);
+        return club != null ? club.top(limit) : List.of();
+    }
+
+    /**
+     * 用户的全局名次
+     * 
+     * @param userId 用户ID
+     * @return 名次及积分，用户不在排行榜中时返回null
+     */
+    public RankIndex.Entry rank(Long userId) {
+        return boards.global.rank(userId);
+    }
+
+    /**
+     * 用户在所属社团内的名次
+     * 
+     * @param userId 用户ID
+     * @return 名次及积分，用户不属于任何社团时返回null
+     */
+    public RankIndex.Entry rankInClub(Long userId) {
+        Boards current = boards;
+        Member member = current.members.get(userId);
+        RankIndex club = member != null && member.clubId() != null ? current.clubs.get(member.clubId()) : null;
+        return club != null ? club.rank(userId) : null;
+    }
+
+    /**
+     * 用户所属社团ID
+     * 
+     * @param userId 用户ID
+     * @return 社团ID，用户不在排行榜中时返回null
+     */
+    public Long clubOf(Long userId) {
+        Member member = boards.members.get(userId);
+        return member != null ? member.clubId() : null;
+    }
+
+    /**
+     * 用户名
+     * 
+     * @param userId 用户ID
+     * @return 用户名，用户不在排行榜中时返回null
+     */
+    public String usernameOf(Long userId) {
+        Member member = boards.members.get(userId);
+        return member != null ? member.username() : null;
+    }
+
+    /**
+     * 全局排行榜人数
+     * 
+     * @return 人数
+     */
+    public int size() {
+        return boards.global.size();
+    }
+
+    /**
+     * 社团排行榜人数
+     * 
+     * @param clubId 社团ID
+     * @return 人数
+     */
+    public int sizeOfClub(Long clubId) {
+        RankIndex club = boards.clubs.get(clubId);
+        return club != null ? club.size() : 0;
+    }
+
+    /**
+     * 在当前事务提交后执行更新，事务回滚时排行榜保持不变；不在事务中时立即执行
+     * 更新之间串行执行，重建期间的更新同时记入日志，替换后在新排行榜上重放
+     */
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(update);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(update);
+            }
+        });
+    }
+
+    private synchronized void apply(Runnable update) {
+        update.run();
+        if (rebuildJournal != null) {
+            rebuildJournal.add(update);
+        }
+    }
+
+    /**
+     * 用户的用户名和所属社团（未加入社团时为null）
+     */
+    private record Member(String username, Long clubId) {
+    }
+
+    /**
+     * 一套排行榜：全局、各社团及用户信息；写入由外层加锁串行执行
+     */
+    private static final class Boards {
+        private final RankIndex global = new RankIndex();
+        private final Map<Long, RankIndex> clubs = new ConcurrentHashMap<>();
+        private final Map<Long, Member> members = new ConcurrentHashMap<>();
+
+        private void put(Long id, String username, Long parentClubId, Integer points) {
+            Long clubId = clubIdOf(parentClubId);
+            long score = points != null ? points : 0;
+            members.put(id, new Member(username, clubId));
+            global.put(id, score);
+            if (clubId != null) {
+                clubs.computeIfAbsent(clubId, key -> new RankIndex()).put(id, score);
+            }
+        }
+
+        private void update(Long id, String username, Long parentClubId, int points) {
+            Member previous = members.get(id);
+            RankIndex.Entry current = global.rank(id);
+            if (previous == null || current == null) {
+                put(id, username, parentClubId, points);
+                return;
+            }
+            Long clubId = clubIdOf(parentClubId);
+            if (!Objects.equals(previous.clubId(), clubId)) {
+                removeFromClub(id);
+                if (clubId != null) {
+                    clubs.computeIfAbsent(clubId, key -> new RankIndex()).put(id, current.score());
+                }
+            }
+            members.put(id, new Member(username, clubId));
+        }
+
+        private void setPoints(Long id, Integer points) {
+            Member member = members.get(id);
+            if (member == null) {
+                return;
+            }
+            global.put(id, points);
+            if (member.clubId() != null) {
+                clubs.computeIfAbsent(member.clubId(), key -> new RankIndex()).put(id, points);
+            }
+        }
+
+        private void remove(Long id) {
+            removeFromClub(id);
+            members.remove(id);
+            global.remove(id);
+        }
+
+        private void removeFromClub(Long id) {
+            Member member = members.get(id);
+            if (member == null || member.clubId() == null) {
+                return;
+            }
+            RankIndex club = clubs.get(member.clubId());
+            if (club != null) {
+                club.remove(id);
+                if (club.size() == 0) {
+                    clubs.remove(member.clubId());
+                }
+            }
+        }
+
+        private static Long clubIdOf(Long parentClubId) {
+            return parentClubId != null && parentClubId > 0 ? parentClubId : null;
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.commsys.rank;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 基于顺序统计树的内存排名索引
+ * 以 (分数降序, ID升序) 为键的Treap，每个节点额外记录子树大小：
+ * 查询名次时沿根到叶统计分数更高的节点数，期望 O(log n)；取前N名为中序遍历的前N个节点，期望 O(log n + N)；
+ * 写入和删除期望 O(log n)。同分者名次相同（如 1、2、2、4），前N名中同分者按ID升序排列。
+ * 读操作共享读锁，写操作独占写锁
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+public final class RankIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * ID -> 树节点，用于按ID更新、删除和查询名次
+     */
+    private final Map<Long, Node> nodes = new HashMap<>();
+
+    private Node root;
+
+    /**
+     * 写入或更新分数
+     * 
+     * @param id ID
+     * @param score 分数
+     */
+    public void put(long id, long score) {
+        lock.writeLock().lock();
+        try {
+            Node previous = nodes.get(id);
+            if (previous != null) {
+                if (previous.score == score) {
+                    return;
+                }
+                root = delete(root, previous);
+            }
+            Node node = new Node(id, score);
+            nodes.put(id, node);
+            root = insert(root, node);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除
+     * 
+     * @param id ID
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Node previous = nodes.remove(id);
+            if (previous != null) {
+                root = delete(root, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 查询名次
+     * 
+     * @param id ID
+     * @return 名次及分数，不在索引中时返回null
+     */
+    public Entry rank(long id) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(id);
+            if (node == null) {
+                return null;
+            }
+            return new Entry(id, node.score, countGreater(root, node.score) + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 取分数最高的前N个
+     * 
+     * @param limit 数量
+     * @return 按名次排列的条目
+     */
+    public List<Entry> top(int limit) {
+        List<Entry> result = new ArrayList<>(Math.max(0, Math.min(limit, 1024)));
+        lock.readLock().lock();
+        try {
+            Deque<Node> stack = new ArrayDeque<>();
+            Node node = root;
+            while (result.size() < limit && (node != null || !stack.isEmpty())) {
+                while (node != null) {
+                    stack.push(node);
+                    node = node.left;
+                }
+                node = stack.pop();
+                int position = result.size() + 1;
+                Entry last = result.isEmpty() ? null : result.get(result.size() - 1);
+                int rank = last != null && last.score() == node.score ? last.rank() : position;
+                result.add(new Entry(node.id, node.score, rank));
+                node = node.right;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * 条目数量
+     * 
+     * @return 条目数量
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 统计分数高于指定分数的节点数
+     */
+    private static int countGreater(Node node, long score) {
+        int count = 0;
+        while (node != null) {
+            if (node.score > score) {
+                // 左子树和当前节点的分数都不低于当前节点
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node delete(Node node, Node removed) {
+        if (node == null) {
+            return null;
+        }
+        if (node == removed) {
+            return merge(node.left, node.right);
+        }
+        if (compare(removed, node) < 0) {
+            node.left = delete(node.left, removed);
+        } else {
+            node.right = delete(node.right, removed);
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * 合并两棵树，left 中的键均小于 right
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    /**
+     * 分数高者在前，同分时ID小者在前
+     */
+    private static int compare(Node a, Node b) {
+        int byScore = Long.compare(b.score, a.score);
+        return byScore != 0 ? byScore : Long.compare(a.id, b.id);
+    }
+
+    /**
+     * 排名条目
+     * 
+     * @param id ID
+     * @param score 分数
+     * @param rank 名次，从1开始
+     */
+    public record Entry(long id, long score, int rank) {
+    }
+
+    /**
+     * 树节点
+     */
+    private static final class Node {
+        private final long id;
+        private final long score;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long id, long score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+}
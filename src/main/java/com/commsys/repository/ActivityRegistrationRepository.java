@@ -0,0 +1,107 @@
+package com.commsys.repository;
+
+import com.commsys.entity.ActivityRegistration;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 活动报名数据访问接口
+ * 报名状态的变更都使用带原状态条件的UPDATE，并发请求中只有一个能生效，无需加锁
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Repository
+public interface ActivityRegistrationRepository extends BaseRepository<ActivityRegistration> {
+
+    /**
+     * 查找用户对活动的报名记录
+     * 
+     * @param activityId 活动ID
+     * @param userId 用户ID
+     * @return 报名记录
+     */
+    @Query("SELECT r FROM ActivityRegistration r WHERE r.activityId = :activityId AND r.userId = :userId AND r.isDeleted = false")
+    Optional<ActivityRegistration> findByActivityIdAndUserId(@Param("activityId") Long activityId,
+                                                              @Param("userId") Long userId);
+
+    /**
+     * 根据活动ID查找报名记录（不含已取消的），按报名时间排序
+     * 
+     * @param activityId 活动ID
+     * @return 报名记录列表
+     */
+    @Query("SELECT r FROM ActivityRegistration r WHERE r.activityId = :activityId AND r.status <> 0 " +
+           "AND r.isDeleted = false ORDER BY r.registeredAt, r.id")
+    List<ActivityRegistration> findByActivityId(@Param("activityId") Long activityId);
+
+    /**
+     * 根据用户ID查找报名记录（不含已取消的）
+     * 
+     * @param userId 用户ID
+     * @return 报名记录列表
+     */
+    @Query("SELECT r FROM ActivityRegistration r WHERE r.userId = :userId AND r.status <> 0 AND r.isDeleted = false")
+    List<ActivityRegistration> findByUserId(@Param("userId") Long userId);
+
+    /**
+     * 统计活动指定状态的报名人数
+     * 
+     * @param activityId 活动ID
+     * @param status 报名状态
+     * @return 人数
+     */
+    @Query("SELECT COUNT(r) FROM ActivityRegistration r WHERE r.activityId = :activityId AND r.status = :status " +
+           "AND r.isDeleted = false")
+    long countByActivityIdAndStatus(@Param("activityId") Long activityId, @Param("status") Integer status);
+
+    /**
+     * 按报名先后查找候补记录ID
+     * 
+     * @param activityId 活动ID
+     * @param pageable 分页参数（用于限制数量）
+     * @return 候补记录ID列表
+     */
+    @Query("SELECT r.id FROM ActivityRegistration r WHERE r.activityId = :activityId AND r.status = 2 " +
+           "AND r.isDeleted = false ORDER BY r.registeredAt, r.id")
+    List<Long> findWaitlistedIds(@Param("activityId") Long activityId, Pageable pageable);
+
+    /**
+     * 在报名记录仍为指定状态时更新其状态
+     * 
+     * @param id 报名记录ID
+     * @param expectedStatus 原状态
+     * @param status 新状态
+     * @param now 当前时间
+     * @return 更新的行数，记录已被并发修改时为0
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ActivityRegistration r SET r.status = :status, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status = :expectedStatus")
+    int updateStatus(@Param("id") Long id, @Param("expectedStatus") Integer expectedStatus,
+                     @Param("status") Integer status, @Param("now") LocalDateTime now);
+
+    /**
+     * 已取消的报名记录重新报名
+     * 
+     * @param id 报名记录ID
+     * @param status 新状态（已报名或候补）
+     * @param now 当前时间，同时作为新的报名时间
+     * @return 更新的行数，记录已被并发重新报名时为0
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ActivityRegistration r SET r.status = :status, r.registeredAt = :now, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status = 0")
+    int reactivate(@Param("id") Long id, @Param("status") Integer status, @Param("now") LocalDateTime now);
+}
@@ -1,13 +1,15 @@
 package com.commsys.repository;
 
 import com.commsys.entity.Activity;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -58,40 +60,165 @@ public interface ActivityRepository extends BaseRepository<Activity> {
     List<Activity> findByClubIdAndStatus(@Param("clubId") Long clubId, @Param("status") Integer status);
 
     /**
-     * 根据时间范围查找活动列表
+     * 查找已结束的活动（含提前结束的活动；到期的活动由状态转换任务置为已结束）
+     * 
+     * @return 活动列表
+     */
+    @Query("SELECT a FROM Activity a WHERE a.status = 2 AND a.isDeleted = false")
+    List<Activity> findEndedActivities();
+
+    /**
+     * 根据时间范围查找已取消和已结束的活动；进行中的活动由内存时间索引查询
      * 
      * @param startTime 开始时间
      * @param endTime 结束时间
      * @return 活动列表
      */
-    @Query("SELECT a FROM Activity a WHERE a.startTime >= :startTime AND a.endTime <= :endTime AND a.isDeleted = false")
-    List<Activity> findByTimeRange(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
+    @Query("SELECT a FROM Activity a WHERE a.status IN (0, 2) AND a.endTime <= :endTime " +
+           "AND a.startTime >= :startTime AND a.isDeleted = false")
+    List<Activity> findClosedByTimeRange(@Param("startTime") LocalDateTime startTime,
+                                         @Param("endTime") LocalDateTime endTime);
 
     /**
-     * 根据活动标题模糊查询活动列表
+     * 查找已到结束时间但仍为进行中的活动ID
      * 
-     * @param title 活动标题关键字
-     * @param pageable 分页参数
-     * @return 分页活动列表
+     * @param now 当前时间
+     * @param pageable 分页参数（用于限制单批数量）
+     * @return 活动ID列表
      */
-    @Query("SELECT a FROM Activity a WHERE a.title LIKE %:title% AND a.isDeleted = false")
-    Page<Activity> findByTitleContaining(@Param("title") String title, Pageable pageable);
+    @Query("SELECT a.id FROM Activity a WHERE a.status = 1 AND a.endTime <= :now AND a.isDeleted = false")
+    List<Long> findOverdueIds(@Param("now") LocalDateTime now, Pageable pageable);
 
     /**
-     * 查找正在进行的活动
+     * 根据ID批量将进行中的活动置为已结束，实际结束时间记为当前时间（与手动结束活动一致）
      * 
+     * @param ids 活动ID列表
      * @param now 当前时间
-     * @return 活动列表
+     * @return 更新的行数
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Activity a SET a.status = 2, a.actualEndTime = :now, a.updatedAt = :now " +
+           "WHERE a.id IN :ids AND a.status = 1")
+    int endByIds(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * 在未达到名额上限时已报名人数加一，判断与更新为一条语句，多节点并发报名也不会超出上限
+     * 
+     * @param id 活动ID
+     * @return 更新的行数，名额已满时为0
+     */
+    @Modifying
+    @Query("UPDATE Activity a SET a.registeredCount = a.registeredCount + 1 " +
+           "WHERE a.id = :id AND (a.capacity IS NULL OR a.registeredCount < a.capacity)")
+    int incrementRegisteredCount(@Param("id") Long id);
+
+    /**
+     * 已报名人数减一
+     * 
+     * @param id 活动ID
+     * @return 更新的行数
+     */
+    @Modifying
+    @Query("UPDATE Activity a SET a.registeredCount = a.registeredCount - 1 WHERE a.id = :id AND a.registeredCount > 0")
+    int decrementRegisteredCount(@Param("id") Long id);
+
+    /**
+     * 已报名人数超出名额上限（上限被调低后）时减一
+     * 
+     * @param id 活动ID
+     * @return 更新的行数，未超出上限时为0
      */
-    @Query("SELECT a FROM Activity a WHERE a.status = 1 AND a.startTime <= :now AND a.endTime >= :now AND a.isDeleted = false")
-    List<Activity> findOngoingActivities(@Param("now") LocalDateTime now);
+    @Modifying
+    @Query("UPDATE Activity a SET a.registeredCount = a.registeredCount - 1 " +
+           "WHERE a.id = :id AND a.capacity IS NOT NULL AND a.registeredCount > a.capacity")
+    int decrementRegisteredCountOverCapacity(@Param("id") Long id);
 
     /**
-     * 查找已结束的活动
+     * 查找进行中的活动里最早的下一个结束时间
      * 
      * @param now 当前时间
+     * @return 结束时间，没有进行中的活动时返回null
+     */
+    @Query("SELECT MIN(a.endTime) FROM Activity a WHERE a.status = 1 AND a.endTime > :now AND a.isDeleted = false")
+    LocalDateTime findNextEndTime(@Param("now") LocalDateTime now);
+
+    /**
+     * 按可选条件游标分页查询活动，按 (createdAt, id) 倒序，不统计总数
+     * 
+     * @param clubId 社团ID
+     * @param status 状态
+     * @param cursorTime 游标创建时间，为null时从第一条开始
+     * @param cursorId 游标ID
+     * @param pageable 分页参数（只使用条数）
+     * @return 活动列表
+     */
+    @Query("SELECT a FROM Activity a WHERE a.isDeleted = false " +
+           "AND (:clubId IS NULL OR a.clubId = :clubId) " +
+           "AND (:status IS NULL OR a.status = :status) " +
+           "AND (:cursorTime IS NULL OR a.createdAt < :cursorTime " +
+           "OR (a.createdAt = :cursorTime AND a.id < :cursorId)) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<Activity> findByCursor(@Param("clubId") Long clubId,
+                                @Param("status") Integer status,
+                                @Param("cursorTime") LocalDateTime cursorTime, @Param("cursorId") Long cursorId,
+                                Pageable pageable);
+
+    /**
+     * 在给定ID范围内按可选条件游标分页查询活动，按 (createdAt, id) 倒序，不统计总数
+     * 
+     * @param ids 标题关键字命中的活动ID（调用方按批传入）
+     * @param clubId 社团ID
+     * @param status 状态
+     * @param cursorTime 游标创建时间，为null时从第一条开始
+     * @param cursorId 游标ID
+     * @param pageable 分页参数（只使用条数）
      * @return 活动列表
      */
-    @Query("SELECT a FROM Activity a WHERE a.status = 1 AND a.endTime < :now AND a.isDeleted = false")
-    List<Activity> findEndedActivities(@Param("now") LocalDateTime now);
+    @Query("SELECT a FROM Activity a WHERE a.isDeleted = false " +
+           "AND a.id IN :ids " +
+           "AND (:clubId IS NULL OR a.clubId = :clubId) " +
+           "AND (:status IS NULL OR a.status = :status) " +
+           "AND (:cursorTime IS NULL OR a.createdAt < :cursorTime " +
+           "OR (a.createdAt = :cursorTime AND a.id < :cursorId)) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<Activity> findByCursorAndIds(@Param("ids") Collection<Long> ids,
+                                      @Param("clubId") Long clubId,
+                                      @Param("status") Integer status,
+                                      @Param("cursorTime") LocalDateTime cursorTime, @Param("cursorId") Long cursorId,
+                                      Pageable pageable);
+
+    /**
+     * 查询所有未删除活动的ID、标题、起止时间和状态，用于全量构建搜索索引
+     * 
+     * @return 活动搜索信息列表
+     */
+    @Query("SELECT a.id AS id, a.title AS title, a.startTime AS startTime, a.endTime AS endTime, " +
+           "a.status AS status, a.isDeleted AS isDeleted FROM Activity a WHERE a.isDeleted = false")
+    List<SearchRow> findSearchRows();
+
+    /**
+     * 查询最后修改时间晚于给定时间的活动（含已删除）的ID、标题、起止时间和状态，用于增量同步搜索索引
+     * 
+     * @param since 起始时间（不含）
+     * @return 活动搜索信息列表
+     */
+    @Query("SELECT a.id AS id, a.title AS title, a.startTime AS startTime, a.endTime AS endTime, " +
+           "a.status AS status, a.isDeleted AS isDeleted FROM Activity a WHERE a.updatedAt > :since")
+    List<SearchRow> findSearchRowsUpdatedSince(@Param("since") LocalDateTime since);
+
+    interface SearchRow {
+
+        Long getId();
+
+        String getTitle();
+
+        LocalDateTime getStartTime();
+
+        LocalDateTime getEndTime();
+
+        Integer getStatus();
+
+        Boolean getIsDeleted();
+    }
 }
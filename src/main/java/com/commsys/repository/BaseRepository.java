@@ -1,16 +1,22 @@
 package com.commsys.repository;
 
 import com.commsys.entity.BaseEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 基础仓储接口
@@ -66,6 +72,15 @@ public interface BaseRepository<T extends BaseEntity> extends JpaRepository<T, L
     @Query("SELECT e FROM #{#entityName} e WHERE e.isDeleted = false")
     Page<T> findAllActive(Pageable pageable);
 
+    /**
+     * 以游标方式逐行读取未删除的实体，需在事务内消费并关闭
+     * 
+     * @return 实体流
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e FROM #{#entityName} e WHERE e.isDeleted = false ORDER BY e.id")
+    Stream<T> streamAllActive();
+
     /**
      * 根据ID查找未删除的实体
      * 
@@ -76,31 +91,43 @@ public interface BaseRepository<T extends BaseEntity> extends JpaRepository<T, L
     Optional<T> findActiveById(@Param("id") Long id);
 
     /**
-     * 逻辑删除实体
+     * 根据ID列表查找未删除的实体
+     * 
+     * @param ids 实体ID集合
+     * @return 实体列表
+     */
+    @Query("SELECT e FROM #{#entityName} e WHERE e.id IN :ids AND e.isDeleted = false")
+    List<T> findActiveByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 逻辑删除实体，同时更新 updated_at，使其他节点按 updated_at 增量同步时能发现删除
      * 
      * @param id 实体ID
+     * @param now 当前时间
      */
     @Modifying
-    @Query("UPDATE #{#entityName} e SET e.isDeleted = true WHERE e.id = :id")
-    void softDeleteById(@Param("id") Long id);
+    @Query("UPDATE #{#entityName} e SET e.isDeleted = true, e.updatedAt = :now WHERE e.id = :id")
+    void softDeleteById(@Param("id") Long id, @Param("now") LocalDateTime now);
 
     /**
-     * 批量逻辑删除实体
+     * 批量逻辑删除实体，同时更新 updated_at
      * 
      * @param ids 实体ID列表
+     * @param now 当前时间
      */
     @Modifying
-    @Query("UPDATE #{#entityName} e SET e.isDeleted = true WHERE e.id IN :ids")
-    void softDeleteByIds(@Param("ids") List<Long> ids);
+    @Query("UPDATE #{#entityName} e SET e.isDeleted = true, e.updatedAt = :now WHERE e.id IN :ids")
+    void softDeleteByIds(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
 
     /**
-     * 恢复已删除的实体
+     * 恢复已删除的实体，同时更新 updated_at
      * 
      * @param id 实体ID
+     * @param now 当前时间
      */
     @Modifying
-    @Query("UPDATE #{#entityName} e SET e.isDeleted = false WHERE e.id = :id")
-    void restoreById(@Param("id") Long id);
+    @Query("UPDATE #{#entityName} e SET e.isDeleted = false, e.updatedAt = :now WHERE e.id = :id")
+    void restoreById(@Param("id") Long id, @Param("now") LocalDateTime now);
 
     /**
      * 统计未删除的实体数量
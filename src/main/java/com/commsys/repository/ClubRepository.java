@@ -1,12 +1,13 @@
 package com.commsys.repository;
 
 import com.commsys.entity.Club;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -46,16 +47,6 @@ public interface ClubRepository extends BaseRepository<Club> {
     @Query("SELECT c FROM Club c WHERE c.status = :status AND c.isDeleted = false")
     List<Club> findByStatus(@Param("status") Integer status);
 
-    /**
-     * 根据社团标题模糊查询社团列表
-     * 
-     * @param title 社团标题关键字
-     * @param pageable 分页参数
-     * @return 分页社团列表
-     */
-    @Query("SELECT c FROM Club c WHERE c.title LIKE %:title% AND c.isDeleted = false")
-    Page<Club> findByTitleContaining(@Param("title") String title, Pageable pageable);
-
     /**
      * 检查社团标题是否存在
      * 
@@ -64,4 +55,69 @@ public interface ClubRepository extends BaseRepository<Club> {
      */
     @Query("SELECT COUNT(c) > 0 FROM Club c WHERE c.title = :title AND c.isDeleted = false")
     boolean existsByTitle(@Param("title") String title);
+
+    /**
+     * 按可选条件游标分页查询社团，按 (createdAt, id) 倒序，不统计总数
+     * 
+     * @param status 状态
+     * @param cursorTime 游标创建时间，为null时从第一条开始
+     * @param cursorId 游标ID
+     * @param pageable 分页参数（只使用条数）
+     * @return 社团列表
+     */
+    @Query("SELECT c FROM Club c WHERE c.isDeleted = false " +
+           "AND (:status IS NULL OR c.status = :status) " +
+           "AND (:cursorTime IS NULL OR c.createdAt < :cursorTime " +
+           "OR (c.createdAt = :cursorTime AND c.id < :cursorId)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Club> findByCursor(@Param("status") Integer status,
+                            @Param("cursorTime") LocalDateTime cursorTime, @Param("cursorId") Long cursorId,
+                            Pageable pageable);
+
+    /**
+     * 在给定ID范围内按可选条件游标分页查询社团，按 (createdAt, id) 倒序，不统计总数
+     * 
+     * @param ids 标题关键字命中的社团ID（调用方按批传入）
+     * @param status 状态
+     * @param cursorTime 游标创建时间，为null时从第一条开始
+     * @param cursorId 游标ID
+     * @param pageable 分页参数（只使用条数）
+     * @return 社团列表
+     */
+    @Query("SELECT c FROM Club c WHERE c.isDeleted = false " +
+           "AND c.id IN :ids " +
+           "AND (:status IS NULL OR c.status = :status) " +
+           "AND (:cursorTime IS NULL OR c.createdAt < :cursorTime " +
+           "OR (c.createdAt = :cursorTime AND c.id < :cursorId)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Club> findByCursorAndIds(@Param("ids") Collection<Long> ids,
+                                  @Param("status") Integer status,
+                                  @Param("cursorTime") LocalDateTime cursorTime, @Param("cursorId") Long cursorId,
+                                  Pageable pageable);
+
+    /**
+     * 查询所有未删除社团的ID和标题，用于全量构建搜索索引
+     * 
+     * @return 社团搜索信息列表
+     */
+    @Query("SELECT c.id AS id, c.title AS title, c.isDeleted AS isDeleted FROM Club c WHERE c.isDeleted = false")
+    List<SearchRow> findSearchRows();
+
+    /**
+     * 查询最后修改时间晚于给定时间的社团（含已删除）的ID和标题，用于增量同步搜索索引
+     * 
+     * @param since 起始时间（不含）
+     * @return 社团搜索信息列表
+     */
+    @Query("SELECT c.id AS id, c.title AS title, c.isDeleted AS isDeleted FROM Club c WHERE c.updatedAt > :since")
+    List<SearchRow> findSearchRowsUpdatedSince(@Param("since") LocalDateTime since);
+
+    interface SearchRow {
+
+        Long getId();
+
+        String getTitle();
+
+        Boolean getIsDeleted();
+    }
 }
@@ -1,12 +1,13 @@
 package com.commsys.repository;
 
 import com.commsys.entity.Config;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -56,29 +57,6 @@ public interface ConfigRepository extends BaseRepository<Config> {
     @Query("SELECT c FROM Config c WHERE c.isModifiable = :isModifiable AND c.isDeleted = false ORDER BY c.configKey")
     List<Config> findByIsModifiable(@Param("isModifiable") Boolean isModifiable);
 
-    /**
-     * 根据配置键模糊查询配置列表
-     * 
-     * @param configKey 配置键关键字
-     * @param pageable 分页参数
-     * @return 分页配置列表
-     */
-    @Query("SELECT c FROM Config c WHERE c.configKey LIKE %:configKey% AND c.isDeleted = false")
-    Page<Config> findByConfigKeyContaining(@Param("configKey") String configKey, Pageable pageable);
-
-    /**
-     * 根据配置分组和配置键模糊查询配置列表
-     * 
-     * @param configGroup 配置分组
-     * @param configKey 配置键关键字
-     * @param pageable 分页参数
-     * @return 分页配置列表
-     */
-    @Query("SELECT c FROM Config c WHERE c.configGroup = :configGroup AND c.configKey LIKE %:configKey% AND c.isDeleted = false")
-    Page<Config> findByConfigGroupAndConfigKeyContaining(@Param("configGroup") String configGroup, 
-                                                         @Param("configKey") String configKey, 
-                                                         Pageable pageable);
-
     /**
      * 检查配置键是否存在
      * 
@@ -104,4 +82,115 @@ public interface ConfigRepository extends BaseRepository<Config> {
      */
     @Query("SELECT c.configValue FROM Config c WHERE c.configKey = :configKey AND c.isDeleted = false")
     Optional<String> findConfigValueByKey(@Param("configKey") String configKey);
-}
\ No newline at end of file
+
+    /**
+     * 查询所有配置键（包括已逻辑删除的配置，配置键唯一约束对其仍然生效）
+     * 
+     * @return 配置键列表
+     */
+    @Query("SELECT c.configKey FROM Config c")
+    List<String> findAllConfigKeys();
+
+    /**
+     * 查询配置表版本戳：未删除配置行数及最近修改时间
+     * 任一配置新增、修改或删除后至少有一项发生变化
+     * 
+     * @return 版本戳
+     */
+    @Query("SELECT COUNT(c) AS rowCount, MAX(c.updatedAt) AS lastUpdatedAt FROM Config c WHERE c.isDeleted = false")
+    VersionStamp findVersionStamp();
+
+    /**
+     * 按可选条件游标分页查询配置，按 (createdAt, id) 倒序，不统计总数
+     * 
+     * @param configGroup 配置分组
+     * @param configType 配置类型
+     * @param cursorTime 游标创建时间，为null时从第一条开始
+     * @param cursorId 游标ID
+     * @param pageable 分页参数（只使用条数）
+     * @return 配置列表
+     */
+    @Query("SELECT c FROM Config c WHERE c.isDeleted = false " +
+           "AND (:configGroup IS NULL OR c.configGroup = :configGroup) " +
+           "AND (:configType IS NULL OR c.configType = :configType) " +
+           "AND (:cursorTime IS NULL OR c.createdAt < :cursorTime " +
+           "OR (c.createdAt = :cursorTime AND c.id < :cursorId)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Config> findByCursor(@Param("configGroup") String configGroup,
+                              @Param("configType") Config.ConfigType configType,
+                              @Param("cursorTime") LocalDateTime cursorTime, @Param("cursorId") Long cursorId,
+                              Pageable pageable);
+
+    /**
+     * 在给定ID范围内按可选条件游标分页查询配置，按 (createdAt, id) 倒序，不统计总数
+     * 
+     * @param ids 配置键关键字命中的配置ID（调用方按批传入）
+     * @param configGroup 配置分组
+     * @param configType 配置类型
+     * @param cursorTime 游标创建时间，为null时从第一条开始
+     * @param cursorId 游标ID
+     * @param pageable 分页参数（只使用条数）
+     * @return 配置列表
+     */
+    @Query("SELECT c FROM Config c WHERE c.isDeleted = false " +
+           "AND c.id IN :ids " +
+           "AND (:configGroup IS NULL OR c.configGroup = :configGroup) " +
+           "AND (:configType IS NULL OR c.configType = :configType) " +
+           "AND (:cursorTime IS NULL OR c.createdAt < :cursorTime " +
+           "OR (c.createdAt = :cursorTime AND c.id < :cursorId)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Config> findByCursorAndIds(@Param("ids") Collection<Long> ids,
+                                    @Param("configGroup") String configGroup,
+                                    @Param("configType") Config.ConfigType configType,
+                                    @Param("cursorTime") LocalDateTime cursorTime, @Param("cursorId") Long cursorId,
+                                    Pageable pageable);
+
+    /**
+     * 查询所有未删除配置的ID和配置键，用于全量构建搜索索引
+     * 
+     * @return 配置搜索信息列表
+     */
+    @Query("SELECT c.id AS id, c.configKey AS configKey, c.isDeleted AS isDeleted FROM Config c WHERE c.isDeleted = false")
+    List<SearchRow> findSearchRows();
+
+    /**
+     * 查询最后修改时间晚于给定时间的配置（含已删除）的ID和配置键，用于增量同步搜索索引
+     * 
+     * @param since 起始时间（不含）
+     * @return 配置搜索信息列表
+     */
+    @Query("SELECT c.id AS id, c.configKey AS configKey, c.isDeleted AS isDeleted FROM Config c WHERE c.updatedAt > :since")
+    List<SearchRow> findSearchRowsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * 在给定ID范围内查询指定分组的未删除配置ID
+     * 
+     * @param ids 配置ID集合（调用方按批传入）
+     * @param configGroup 配置分组
+     * @return 配置ID列表
+     */
+    @Query("SELECT c.id FROM Config c WHERE c.id IN :ids AND c.isDeleted = false AND c.configGroup = :configGroup")
+    List<Long> findMatchingIds(@Param("ids") Collection<Long> ids, @Param("configGroup") String configGroup);
+
+    /**
+     * 配置表版本戳
+     */
+    interface VersionStamp {
+
+        Long getRowCount();
+
+        LocalDateTime getLastUpdatedAt();
+    }
+
+    /**
+     * 搜索索引构建信息
+     */
+    interface SearchRow {
+
+        Long getId();
+
+        String getConfigKey();
+
+        Boolean getIsDeleted();
+    }
+}
@@ -0,0 +1,81 @@
+package com.commsys.repository;
+
+import com.commsys.entity.PointsLedger;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 积分流水数据访问接口
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Repository
+public interface PointsLedgerRepository extends BaseRepository<PointsLedger> {
+
+    /**
+     * 按ID顺序查找未入账的流水
+     * 
+     * @param pageable 分页参数（用于限制数量）
+     * @return 流水列表
+     */
+    @Query("SELECT l FROM PointsLedger l WHERE l.applied = false AND l.isDeleted = false ORDER BY l.id")
+    List<PointsLedger> findPending(Pageable pageable);
+
+    /**
+     * 将流水标记为已入账，只更新仍未入账的记录
+     * 
+     * @param ids 流水ID列表
+     * @param now 当前时间
+     * @return 更新的行数，部分流水已被其他节点入账时小于ID数量
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE PointsLedger l SET l.applied = true, l.appliedAt = :now, l.updatedAt = :now " +
+           "WHERE l.id IN :ids AND l.applied = false")
+    int markApplied(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * 查询用户的积分余额：已入账的 users.points 加上未入账流水之和
+     * 单条语句读取，与汇总任务并发时也不会重复或遗漏计算
+     * 
+     * @param userId 用户ID
+     * @return 积分余额，用户不存在时为null
+     */
+    @Query("SELECT u.points + COALESCE((SELECT SUM(l.delta) FROM PointsLedger l " +
+           "WHERE l.userId = u.id AND l.applied = false AND l.isDeleted = false), 0) " +
+           "FROM User u WHERE u.id = :userId AND u.isDeleted = false")
+    Long findBalance(@Param("userId") Long userId);
+
+    /**
+     * 查找某一来源对象的积分流水（如一次活动的全部签到）
+     * 
+     * @param source 积分来源
+     * @param refId 来源对象ID
+     * @return 流水列表，按记录先后排序
+     */
+    @Query("SELECT l FROM PointsLedger l WHERE l.source = :source AND l.refId = :refId AND l.isDeleted = false " +
+           "ORDER BY l.id")
+    List<PointsLedger> findBySourceAndRefId(@Param("source") String source, @Param("refId") Long refId);
+
+    /**
+     * 判断用户是否已有某一来源对象的积分流水
+     * 
+     * @param userId 用户ID
+     * @param source 积分来源
+     * @param refId 来源对象ID
+     * @return 是否存在
+     */
+    @Query("SELECT COUNT(l) > 0 FROM PointsLedger l WHERE l.userId = :userId AND l.source = :source " +
+           "AND l.refId = :refId")
+    boolean existsByUserIdAndSourceAndRefId(@Param("userId") Long userId, @Param("source") String source,
+                                             @Param("refId") Long refId);
+}
@@ -1,9 +1,12 @@
 package com.commsys.repository;
 
 import com.commsys.entity.Token;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -55,6 +58,25 @@ public interface TokenRepository extends BaseRepository<Token> {
     @Query("SELECT t FROM Token t WHERE t.expiresAt <= :now AND t.isDeleted = false")
     List<Token> findExpiredTokens(@Param("now") LocalDateTime now);
 
+    /**
+     * 查找指定时间之后被置为过期、且尚未自然过期的Token列表
+     * 
+     * @param since 起始时间
+     * @param now 当前时间
+     * @return Token列表
+     */
+    @Query("SELECT t FROM Token t WHERE t.status = 0 AND t.updatedAt > :since AND t.expiresAt > :now AND t.isDeleted = false")
+    List<Token> findRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    /**
+     * 查询用户已签发Token中最晚的过期时间
+     * 
+     * @param userId 用户ID
+     * @return 最晚的过期时间，用户没有Token时为null
+     */
+    @Query("SELECT MAX(t.expiresAt) FROM Token t WHERE t.userId = :userId")
+    LocalDateTime findLatestExpiresAt(@Param("userId") Long userId);
+
     /**
      * 检查Token是否存在且有效
      * 
@@ -69,15 +91,61 @@ public interface TokenRepository extends BaseRepository<Token> {
      * 使Token过期
      * 
      * @param tokenValue Token值
+     * @param now 当前时间
      */
-    @Query("UPDATE Token t SET t.status = 0 WHERE t.tokenValue = :tokenValue")
-    void expireToken(@Param("tokenValue") String tokenValue);
+    @Modifying
+    @Query("UPDATE Token t SET t.status = 0, t.updatedAt = :now WHERE t.tokenValue = :tokenValue")
+    void expireToken(@Param("tokenValue") String tokenValue, @Param("now") LocalDateTime now);
 
     /**
      * 使用户的所有Token过期
      * 
      * @param userId 用户ID
+     * @param now 当前时间
+     */
+    @Modifying
+    @Query("UPDATE Token t SET t.status = 0, t.updatedAt = :now WHERE t.userId = :userId AND t.status = 1")
+    void expireAllUserTokens(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    /**
+     * 批量将已到期但仍为有效状态的Token置为过期
+     * 
+     * @param now 当前时间
+     * @return 更新的行数
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Token t SET t.status = 0, t.updatedAt = :now WHERE t.status = 1 AND t.expiresAt <= :now AND t.isDeleted = false")
+    int expireOverdueTokens(@Param("now") LocalDateTime now);
+
+    /**
+     * 查找过期时间早于截止时间、可物理删除的Token ID
+     * 
+     * @param cutoff 截止时间
+     * @param pageable 分页参数（用于限制单批数量）
+     * @return Token ID列表
+     */
+    @Query("SELECT t.id FROM Token t WHERE t.expiresAt < :cutoff")
+    List<Long> findExpiredIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * 查找已逻辑删除且最后修改早于截止时间、可物理删除的Token ID
+     * 
+     * @param cutoff 截止时间
+     * @param pageable 分页参数（用于限制单批数量）
+     * @return Token ID列表
+     */
+    @Query("SELECT t.id FROM Token t WHERE t.isDeleted = true AND t.updatedAt < :cutoff")
+    List<Long> findDeletedIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * 根据ID批量物理删除Token
+     * 
+     * @param ids Token ID列表
+     * @return 删除的行数
      */
-    @Query("UPDATE Token t SET t.status = 0 WHERE t.userId = :userId")
-    void expireAllUserTokens(@Param("userId") Long userId);
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Token t WHERE t.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
 }
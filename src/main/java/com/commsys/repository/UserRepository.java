@@ -7,6 +7,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -85,24 +87,17 @@ public interface UserRepository extends BaseRepository<User> {
     List<User> findByRoleIdAndStatus(@Param("roleId") Integer roleId, @Param("status") Integer status);
 
     /**
-     * 根据用户名模糊查询用户列表
+     * 按可选条件分页查询用户，参数为null时忽略该条件
      * 
-     * @param username 用户名关键字
-     * @param pageable 分页参数
-     * @return 分页用户列表
-     */
-    @Query("SELECT u FROM User u WHERE u.username LIKE %:username% AND u.isDeleted = false")
-    Page<User> findByUsernameContaining(@Param("username") String username, Pageable pageable);
-
-    /**
-     * 根据真实姓名模糊查询用户列表
-     * 
-     * @param realName 真实姓名关键字
+     * @param roleId 身份ID
+     * @param status 状态
      * @param pageable 分页参数
      * @return 分页用户列表
      */
-    @Query("SELECT u FROM User u WHERE u.realName LIKE %:realName% AND u.isDeleted = false")
-    Page<User> findByRealNameContaining(@Param("realName") String realName, Pageable pageable);
+    @Query("SELECT u FROM User u WHERE u.isDeleted = false " +
+           "AND (:roleId IS NULL OR u.roleId = :roleId) " +
+           "AND (:status IS NULL OR u.status = :status)")
+    Page<User> searchUsers(@Param("roleId") Integer roleId, @Param("status") Integer status, Pageable pageable);
 
     /**
      * 检查用户名是否存在
@@ -130,4 +125,127 @@ public interface UserRepository extends BaseRepository<User> {
      */
     @Query("SELECT COUNT(u) > 0 FROM User u WHERE u.phone = :phone AND u.isDeleted = false")
     boolean existsByPhone(@Param("phone") String phone);
-}
\ No newline at end of file
+
+    /**
+     * 按可选条件游标分页查询用户，按 (createdAt, id) 倒序，不统计总数
+     * 
+     * @param roleId 身份ID
+     * @param status 状态
+     * @param cursorTime 游标创建时间，为null时从第一条开始
+     * @param cursorId 游标ID
+     * @param pageable 分页参数（只使用条数）
+     * @return 用户列表
+     */
+    @Query("SELECT u FROM User u WHERE u.isDeleted = false " +
+           "AND (:roleId IS NULL OR u.roleId = :roleId) " +
+           "AND (:status IS NULL OR u.status = :status) " +
+           "AND (:cursorTime IS NULL OR u.createdAt < :cursorTime " +
+           "OR (u.createdAt = :cursorTime AND u.id < :cursorId)) " +
+           "ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findByCursor(@Param("roleId") Integer roleId, @Param("status") Integer status,
+                            @Param("cursorTime") LocalDateTime cursorTime, @Param("cursorId") Long cursorId,
+                            Pageable pageable);
+
+    /**
+     * 在给定ID范围内按可选条件游标分页查询用户，按 (createdAt, id) 倒序，不统计总数
+     * 
+     * @param ids 用户名、真实姓名关键字命中的用户ID（调用方按批传入）
+     * @param roleId 身份ID
+     * @param status 状态
+     * @param cursorTime 游标创建时间，为null时从第一条开始
+     * @param cursorId 游标ID
+     * @param pageable 分页参数（只使用条数）
+     * @return 用户列表
+     */
+    @Query("SELECT u FROM User u WHERE u.isDeleted = false " +
+           "AND u.id IN :ids " +
+           "AND (:roleId IS NULL OR u.roleId = :roleId) " +
+           "AND (:status IS NULL OR u.status = :status) " +
+           "AND (:cursorTime IS NULL OR u.createdAt < :cursorTime " +
+           "OR (u.createdAt = :cursorTime AND u.id < :cursorId)) " +
+           "ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findByCursorAndIds(@Param("ids") Collection<Long> ids,
+                                  @Param("roleId") Integer roleId, @Param("status") Integer status,
+                                  @Param("cursorTime") LocalDateTime cursorTime, @Param("cursorId") Long cursorId,
+                                  Pageable pageable);
+
+    /**
+     * 查询所有未删除用户的ID和用户名、真实姓名，用于全量构建搜索索引
+     * 
+     * @return 用户搜索信息列表
+     */
+    @Query("SELECT u.id AS id, u.username AS username, u.realName AS realName, u.isDeleted AS isDeleted " +
+           "FROM User u WHERE u.isDeleted = false")
+    List<SearchRow> findSearchRows();
+
+    /**
+     * 查询最后修改时间晚于给定时间的用户（含已删除）的ID和用户名、真实姓名，用于增量同步搜索索引
+     * 
+     * @param since 起始时间（不含）
+     * @return 用户搜索信息列表
+     */
+    @Query("SELECT u.id AS id, u.username AS username, u.realName AS realName, u.isDeleted AS isDeleted " +
+           "FROM User u WHERE u.updatedAt > :since")
+    List<SearchRow> findSearchRowsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * 在给定ID范围内查询满足身份和状态条件的未删除用户ID
+     * 
+     * @param ids 用户ID集合（调用方按批传入）
+     * @param roleId 身份ID，为null时不限
+     * @param status 状态，为null时不限
+     * @return 用户ID列表
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND u.isDeleted = false " +
+           "AND (:roleId IS NULL OR u.roleId = :roleId) " +
+           "AND (:status IS NULL OR u.status = :status)")
+    List<Long> findMatchingIds(@Param("ids") Collection<Long> ids,
+                               @Param("roleId") Integer roleId, @Param("status") Integer status);
+
+    /**
+     * 查询所有未删除用户的排行信息，用于全量构建积分排行榜
+     * 
+     * @return 排行信息列表
+     */
+    @Query("SELECT u.id AS id, u.username AS username, u.parentClubId AS parentClubId, u.points AS points " +
+           "FROM User u WHERE u.isDeleted = false")
+    List<RankingRow> findRankingRows();
+
+    /**
+     * 按ID查询用户的当前积分
+     * 
+     * @param ids 用户ID集合
+     * @return 用户积分列表
+     */
+    @Query("SELECT u.id AS id, u.points AS points FROM User u WHERE u.id IN :ids")
+    List<PointsRow> findPointsByIds(@Param("ids") Collection<Long> ids);
+
+    interface RankingRow {
+
+        Long getId();
+
+        String getUsername();
+
+        Long getParentClubId();
+
+        Integer getPoints();
+    }
+
+    interface PointsRow {
+
+        Long getId();
+
+        Integer getPoints();
+    }
+
+    interface SearchRow {
+
+        Long getId();
+
+        String getUsername();
+
+        String getRealName();
+
+        Boolean getIsDeleted();
+    }
+}
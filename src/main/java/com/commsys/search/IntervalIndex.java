@@ -0,0 +1,280 @@
+package com.commsys.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 基于区间树的内存时间索引
+ * 以 (起点, ID) 为键的Treap（按随机优先级保持平衡的二叉搜索树），每个节点额外记录子树内的最大终点：
+ * 子树最大终点早于查询起点、或节点起点晚于查询终点时整棵（右）子树跳过，
+ * 重叠查询和时间点查询只访问可能命中的路径，期望 O(log n + k)；写入和删除期望 O(log n)。
+ * 结果按起点升序、起点相同时按ID升序返回。读操作共享读锁，写操作独占写锁
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+public final class IntervalIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * ID -> 树节点，用于按ID更新和删除
+     */
+    private final Map<Long, Node> nodes = new HashMap<>();
+
+    private Node root;
+
+    /**
+     * 写入或更新区间，起点或终点为空时等同于删除
+     * 
+     * @param id 区间ID
+     * @param start 起点
+     * @param end 终点
+     */
+    public void put(long id, LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            remove(id);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Node previous = nodes.get(id);
+            if (previous != null) {
+                if (previous.start.equals(start) && previous.end.equals(end)) {
+                    return;
+                }
+                root = delete(root, previous);
+            }
+            Node node = new Node(id, start, end);
+            nodes.put(id, node);
+            root = insert(root, node);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除区间
+     * 
+     * @param id 区间ID
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Node previous = nodes.remove(id);
+            if (previous != null) {
+                root = delete(root, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 查找与 [from, to] 有交集的区间
+     * 
+     * @param from 查询起点
+     * @param to 查询终点
+     * @return 区间ID，按起点升序
+     */
+    public List<Long> overlapping(LocalDateTime from, LocalDateTime to) {
+        List<Long> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            collectOverlapping(root, from, to, result);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * 查找包含时间点的区间（起点和终点均包含在内）
+     * 
+     * @param time 时间点
+     * @return 区间ID，按起点升序
+     */
+    public List<Long> containing(LocalDateTime time) {
+        return overlapping(time, time);
+    }
+
+    /**
+     * 查找完全落在 [from, to] 内的区间
+     * 
+     * @param from 查询起点
+     * @param to 查询终点
+     * @return 区间ID，按起点升序
+     */
+    public List<Long> within(LocalDateTime from, LocalDateTime to) {
+        List<Long> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            collectWithin(root, from, to, result);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * 区间数量
+     * 
+     * @return 区间数量
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void collectOverlapping(Node node, LocalDateTime from, LocalDateTime to, List<Long> out) {
+        if (node == null || node.maxEnd.isBefore(from)) {
+            return;
+        }
+        collectOverlapping(node.left, from, to, out);
+        // 右子树的起点都不早于当前节点
+        if (node.start.isAfter(to)) {
+            return;
+        }
+        if (!node.end.isBefore(from)) {
+            out.add(node.id);
+        }
+        collectOverlapping(node.right, from, to, out);
+    }
+
+    private static void collectWithin(Node node, LocalDateTime from, LocalDateTime to, List<Long> out) {
+        if (node == null || node.maxEnd.isBefore(from)) {
+            return;
+        }
+        // 左子树的起点都不晚于当前节点，当前节点已早于查询起点时左子树不可能命中
+        if (!node.start.isBefore(from)) {
+            collectWithin(node.left, from, to, out);
+        }
+        if (node.start.isAfter(to)) {
+            return;
+        }
+        if (!node.start.isBefore(from) && !node.end.isAfter(to)) {
+            out.add(node.id);
+        }
+        collectWithin(node.right, from, to, out);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node delete(Node node, Node removed) {
+        if (node == null) {
+            return null;
+        }
+        if (node == removed) {
+            return merge(node.left, node.right);
+        }
+        if (compare(removed, node) < 0) {
+            node.left = delete(node.left, removed);
+        } else {
+            node.right = delete(node.right, removed);
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * 合并两棵树，left 中的键均小于 right
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        LocalDateTime maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int compare(Node a, Node b) {
+        int byStart = a.start.compareTo(b.start);
+        return byStart != 0 ? byStart : Long.compare(a.id, b.id);
+    }
+
+    /**
+     * 树节点
+     */
+    private static final class Node {
+        private final long id;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(long id, LocalDateTime start, LocalDateTime end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.commsys.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于N-gram的内存倒排索引
+ * 每个文本按单字和相邻两字切分后建立倒排表，不依赖分词，中文标题、姓名和英文配置键均可检索；
+ * 查询时对关键字的各个gram求交集，再用原文做一次子串校验，结果与 LIKE '%关键字%' 一致（不区分大小写）。
+ * 结果按相关度排序：关键字出现位置越靠前、文本越短越靠前（完全匹配排第一），相同时ID大的（新建的）靠前。
+ * 读操作无锁；写操作由调用方串行化（见 SearchIndexes）
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+public final class NgramIndex {
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::position)
+            .thenComparingInt(Hit::length)
+            .thenComparing(Comparator.comparingLong(Hit::id).reversed());
+
+    /**
+     * gram -> 包含该gram的文档ID
+     */
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    /**
+     * 文档ID -> 规范化后的文本
+     */
+    private final Map<Long, String> documents = new ConcurrentHashMap<>();
+
+    /**
+     * 写入或更新文档，文本为空时等同于删除
+     * 
+     * @param id 文档ID
+     * @param text 文本
+     */
+    public void put(long id, String text) {
+        String normalized = normalize(text);
+        String previous = normalized != null ? documents.put(id, normalized) : documents.remove(id);
+        if (normalized != null && normalized.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            for (String gram : grams(previous)) {
+                postings.computeIfPresent(gram, (key, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+        if (normalized != null) {
+            for (String gram : grams(normalized)) {
+                postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+    }
+
+    /**
+     * 删除文档
+     * 
+     * @param id 文档ID
+     */
+    public void remove(long id) {
+        put(id, null);
+    }
+
+    /**
+     * 检索包含关键字的文档
+     * 
+     * @param keyword 关键字
+     * @return 按相关度排序的文档ID，无匹配时返回空列表
+     */
+    public List<Long> search(String keyword) {
+        String query = normalize(keyword);
+        if (query == null) {
+            return List.of();
+        }
+
+        Set<String> queryGrams = query.length() == 1 ? Set.of(query) : bigrams(query);
+        List<Set<Long>> lists = new ArrayList<>(queryGrams.size());
+        for (String gram : queryGrams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            lists.add(ids);
+        }
+        // 从最短的倒排表开始求交集
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        List<Hit> hits = new ArrayList<>();
+        candidates:
+        for (Long id : lists.get(0)) {
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).contains(id)) {
+                    continue candidates;
+                }
+            }
+            String text = documents.get(id);
+            int position = text != null ? text.indexOf(query) : -1;
+            if (position >= 0) {
+                hits.add(new Hit(id, position, text.length()));
+            }
+        }
+        hits.sort(RANKING);
+
+        List<Long> result = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            result.add(hit.id());
+        }
+        return result;
+    }
+
+    /**
+     * 文档数量
+     * 
+     * @return 文档数量
+     */
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * 规范化文本：去除首尾空白并转为小写
+     * 
+     * @param text 文本
+     * @return 规范化后的文本，为空时返回null
+     */
+    private static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        String normalized = text.trim().toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /**
+     * 文档的全部gram：单字用于单字查询，两字用于更长的查询
+     */
+    private static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<>(text.length() * 2);
+        for (int i = 0; i < text.length(); i++) {
+            grams.add(text.substring(i, i + 1));
+        }
+        grams.addAll(bigrams(text));
+        return grams;
+    }
+
+    private static Set<String> bigrams(String text) {
+        Set<String> grams = new LinkedHashSet<>(text.length());
+        for (int i = 0; i + 2 <= text.length(); i++) {
+            grams.add(text.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    /**
+     * 命中的文档
+     * 
+     * @param id 文档ID
+     * @param position 关键字在文本中的位置
+     * @param length 文本长度
+     */
+    private record Hit(long id, int position, int length) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.commsys.search;
+
+import com.commsys.entity.BaseEntity;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * 搜索索引实体监听器
+ * 实体新增或修改（含置删除标记）后更新搜索索引；由Hibernate通过Spring容器获取，
+ * SearchIndexes 延迟获取，避免与 EntityManagerFactory 的初始化形成循环依赖
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchIndexListener {
+
+    private final ObjectProvider<SearchIndexes> searchIndexes;
+
+    /**
+     * 实体保存后更新索引
+     * 
+     * @param entity 实体
+     */
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        if (entity instanceof BaseEntity baseEntity) {
+            searchIndexes.getObject().indexAfterCommit(baseEntity);
+        }
+    }
+}
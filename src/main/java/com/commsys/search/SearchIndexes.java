@@ -0,0 +1,501 @@
+package com.commsys.search;
+
+import com.commsys.config.AppConfig;
+import com.commsys.entity.Activity;
+import com.commsys.entity.BaseEntity;
+import com.commsys.entity.Club;
+import com.commsys.entity.Config;
+import com.commsys.entity.User;
+import com.commsys.repository.ActivityRepository;
+import com.commsys.repository.ClubRepository;
+import com.commsys.repository.ConfigRepository;
+import com.commsys.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 关键字搜索索引及活动时间索引
+ * 为活动标题、社团标题、用户名、真实姓名和配置键各维护一个 NgramIndex，替代 LIKE '%关键字%' 的全表扫描；
+ * 为进行中（状态为1）活动的起止时间维护一个 IntervalIndex，替代时间范围和正在进行活动查询中难以用B树索引的双列范围条件，
+ * 活动取消、结束或删除后即从中移除，索引大小只与未结束的活动数有关，不随历史活动增长；
+ * 启动时全量构建，之后由 SearchIndexListener 在实体保存、本类在逻辑删除的事务提交后增量更新；
+ * 其他节点的修改按 updated_at 增量同步（逻辑删除同样更新 updated_at），多节点部署时各索引最多滞后一个同步间隔，
+ * 并定期全量重建作为兜底。全量重建只读取ID和文本列，
+ * 在锁外构建新索引，只在替换时短暂持有锁，事务提交后的增量更新不会等待整个重建过程
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchIndexes {
+
+    /**
+     * 按ID回表或过滤时每批的ID数量，保证单条语句的绑定参数数量有上限
+     */
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    /**
+     * 游标分页的排序：(createdAt, id) 倒序
+     */
+    private static final Comparator<BaseEntity> CURSOR_ORDER =
+            Comparator.comparing(BaseEntity::getCreatedAt).thenComparing(BaseEntity::getId).reversed();
+
+    private final ActivityRepository activityRepository;
+    private final ClubRepository clubRepository;
+    private final UserRepository userRepository;
+    private final ConfigRepository configRepository;
+    private final AppConfig appConfig;
+
+    private volatile NgramIndex activityTitles = new NgramIndex();
+    private volatile NgramIndex clubTitles = new NgramIndex();
+    private volatile NgramIndex usernames = new NgramIndex();
+    private volatile NgramIndex realNames = new NgramIndex();
+    private volatile NgramIndex configKeys = new NgramIndex();
+    private volatile IntervalIndex activityTimes = new IntervalIndex();
+
+    /**
+     * 重建期间已执行的增量更新，替换索引后在新索引上重放；不在重建时为null。由 this 保护
+     */
+    private List<Runnable> rebuildJournal;
+
+    /**
+     * 保证同一时刻只有一个全量重建
+     */
+    private final Object rebuildLock = new Object();
+
+    /**
+     * 索引已与数据库同步到的时间点，首次构建完成前为null。由 this 保护
+     */
+    private LocalDateTime syncedAt;
+
+    /**
+     * 从数据库全量重建索引
+     * 在锁外读取投影并构建新索引，完成后在锁内整体替换，并重放重建期间提交的增量更新；
+     * 增量更新写入的是实体的最新状态，重放已包含在快照中的更新不会产生偏差
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                rebuildJournal = new ArrayList<>();
+            }
+            try {
+                rebuildIndexes();
+            } finally {
+                synchronized (this) {
+                    rebuildJournal = null;
+                }
+            }
+        }
+    }
+
+    private void rebuildIndexes() {
+        long start = System.currentTimeMillis();
+        LocalDateTime snapshotAt = LocalDateTime.now();
+
+        NgramIndex newActivityTitles = new NgramIndex();
+        IntervalIndex newActivityTimes = new IntervalIndex();
+        for (ActivityRepository.SearchRow row : activityRepository.findSearchRows()) {
+            newActivityTitles.put(row.getId(), row.getTitle());
+            if (isOpen(row.getStatus())) {
+                newActivityTimes.put(row.getId(), row.getStartTime(), row.getEndTime());
+            }
+        }
+
+        NgramIndex newClubTitles = new NgramIndex();
+        clubRepository.findSearchRows().forEach(row -> newClubTitles.put(row.getId(), row.getTitle()));
+
+        NgramIndex newUsernames = new NgramIndex();
+        NgramIndex newRealNames = new NgramIndex();
+        for (UserRepository.SearchRow row : userRepository.findSearchRows()) {
+            newUsernames.put(row.getId(), row.getUsername());
+            newRealNames.put(row.getId(), row.getRealName());
+        }
+
+        NgramIndex newConfigKeys = new NgramIndex();
+        configRepository.findSearchRows().forEach(row -> newConfigKeys.put(row.getId(), row.getConfigKey()));
+
+        int replayed;
+        synchronized (this) {
+            activityTitles = newActivityTitles;
+            clubTitles = newClubTitles;
+            usernames = newUsernames;
+            realNames = newRealNames;
+            configKeys = newConfigKeys;
+            activityTimes = newActivityTimes;
+            rebuildJournal.forEach(Runnable::run);
+            replayed = rebuildJournal.size();
+            advanceSync(snapshotAt);
+        }
+        log.info("搜索索引已重建: 活动{}条, 社团{}条, 用户{}条, 配置{}条, 活动时间{}条, 重放增量更新{}次, 耗时{}ms",
+                newActivityTitles.size(), newClubTitles.size(), newUsernames.size(), newConfigKeys.size(),
+                newActivityTimes.size(), replayed, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 定期全量重建索引
+     */
+    @Scheduled(fixedDelayString = "${app.search.rebuild-seconds:600}",
+            initialDelayString = "${app.search.rebuild-seconds:600}", timeUnit = TimeUnit.SECONDS)
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("重建搜索索引失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 按 updated_at 增量同步其他节点新建、修改和删除的活动、社团、用户和配置
+     * 每次回看一个同步间隔，覆盖上次同步时尚未提交的事务及节点间的时钟偏差；重叠部分写入的是行的最新状态，重复写入不会产生偏差
+     */
+    @Scheduled(fixedDelayString = "${app.search.sync-seconds:30}",
+            initialDelayString = "${app.search.sync-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void sync() {
+        LocalDateTime since;
+        synchronized (this) {
+            since = syncedAt;
+        }
+        if (since == null) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime from = since.minusSeconds(appConfig.getSearch().getSyncSeconds());
+            List<ActivityRepository.SearchRow> activities = activityRepository.findSearchRowsUpdatedSince(from);
+            List<ClubRepository.SearchRow> clubs = clubRepository.findSearchRowsUpdatedSince(from);
+            List<UserRepository.SearchRow> users = userRepository.findSearchRowsUpdatedSince(from);
+            List<ConfigRepository.SearchRow> configs = configRepository.findSearchRowsUpdatedSince(from);
+            synchronized (this) {
+                if (!activities.isEmpty() || !clubs.isEmpty() || !users.isEmpty() || !configs.isEmpty()) {
+                    apply(() -> {
+                        activities.forEach(this::putActivity);
+                        clubs.forEach(this::putClub);
+                        users.forEach(this::putUser);
+                        configs.forEach(this::putConfig);
+                    });
+                }
+                advanceSync(now);
+            }
+            log.debug("搜索索引增量同步: 活动{}条, 社团{}条, 用户{}条, 配置{}条",
+                    activities.size(), clubs.size(), users.size(), configs.size());
+        } catch (Exception e) {
+            log.warn("增量同步搜索索引失败: {}", e.getMessage());
+        }
+    }
+
+    private void putActivity(ActivityRepository.SearchRow row) {
+        boolean deleted = Boolean.TRUE.equals(row.getIsDeleted());
+        boolean timed = !deleted && isOpen(row.getStatus());
+        activityTitles.put(row.getId(), deleted ? null : row.getTitle());
+        activityTimes.put(row.getId(), timed ? row.getStartTime() : null, timed ? row.getEndTime() : null);
+    }
+
+    private void putClub(ClubRepository.SearchRow row) {
+        clubTitles.put(row.getId(), Boolean.TRUE.equals(row.getIsDeleted()) ? null : row.getTitle());
+    }
+
+    private void putUser(UserRepository.SearchRow row) {
+        boolean deleted = Boolean.TRUE.equals(row.getIsDeleted());
+        usernames.put(row.getId(), deleted ? null : row.getUsername());
+        realNames.put(row.getId(), deleted ? null : row.getRealName());
+    }
+
+    private void putConfig(ConfigRepository.SearchRow row) {
+        configKeys.put(row.getId(), Boolean.TRUE.equals(row.getIsDeleted()) ? null : row.getConfigKey());
+    }
+
+    /**
+     * 只有进行中的活动写入时间索引
+     */
+    private static boolean isOpen(Integer status) {
+        return status != null && status == 1;
+    }
+
+    private void advanceSync(LocalDateTime time) {
+        if (syncedAt == null || time.isAfter(syncedAt)) {
+            syncedAt = time;
+        }
+    }
+
+    /**
+     * 在当前事务提交后按实体的最新状态更新索引，已逻辑删除的实体从索引中移除
+     * 
+     * @param entity 已保存的实体
+     */
+    public void indexAfterCommit(BaseEntity entity) {
+        Long id = entity.getId();
+        if (id == null) {
+            return;
+        }
+        boolean deleted = Boolean.TRUE.equals(entity.getIsDeleted());
+        if (entity instanceof Activity activity) {
+            String title = deleted ? null : activity.getTitle();
+            boolean timed = !deleted && isOpen(activity.getStatus());
+            LocalDateTime startTime = timed ? activity.getStartTime() : null;
+            LocalDateTime endTime = timed ? activity.getEndTime() : null;
+            afterCommit(() -> {
+                activityTitles.put(id, title);
+                activityTimes.put(id, startTime, endTime);
+            });
+        } else if (entity instanceof Club club) {
+            String title = deleted ? null : club.getTitle();
+            afterCommit(() -> clubTitles.put(id, title));
+        } else if (entity instanceof User user) {
+            String username = deleted ? null : user.getUsername();
+            String realName = deleted ? null : user.getRealName();
+            afterCommit(() -> {
+                usernames.put(id, username);
+                realNames.put(id, realName);
+            });
+        } else if (entity instanceof Config config) {
+            String configKey = deleted ? null : config.getConfigKey();
+            afterCommit(() -> configKeys.put(id, configKey));
+        }
+    }
+
+    /**
+     * 在当前事务提交后从索引中移除实体，用于不经过实体回调的批量逻辑删除
+     * 
+     * @param type 实体类型
+     * @param ids 实体ID集合
+     */
+    public void removeAfterCommit(Class<? extends BaseEntity> type, Collection<Long> ids) {
+        List<Long> removed = List.copyOf(ids);
+        afterCommit(() -> {
+            for (NgramIndex index : indexesOf(type)) {
+                removed.forEach(index::remove);
+            }
+            if (type == Activity.class) {
+                removed.forEach(activityTimes::remove);
+            }
+        });
+    }
+
+    /**
+     * 在当前事务提交后从时间索引中移除已结束的活动，用于不经过实体回调的批量状态转换；标题索引保持不变
+     * 
+     * @param ids 活动ID集合
+     */
+    public void removeEndedActivitiesAfterCommit(Collection<Long> ids) {
+        List<Long> ended = List.copyOf(ids);
+        afterCommit(() -> ended.forEach(activityTimes::remove));
+    }
+
+    /**
+     * 按标题关键字检索活动
+     * 
+     * @param title 标题关键字
+     * @return 按相关度排序的活动ID，关键字为空时返回null
+     */
+    public List<Long> searchActivities(String title) {
+        return StringUtils.hasText(title) ? activityTitles.search(title) : null;
+    }
+
+    /**
+     * 按标题关键字检索社团
+     * 
+     * @param title 标题关键字
+     * @return 按相关度排序的社团ID，关键字为空时返回null
+     */
+    public List<Long> searchClubs(String title) {
+        return StringUtils.hasText(title) ? clubTitles.search(title) : null;
+    }
+
+    /**
+     * 按用户名和真实姓名关键字检索用户，两者都给出时取交集
+     * 
+     * @param username 用户名关键字
+     * @param realName 真实姓名关键字
+     * @return 按相关度排序的用户ID，关键字都为空时返回null
+     */
+    public List<Long> searchUsers(String username, String realName) {
+        List<Long> byUsername = StringUtils.hasText(username) ? usernames.search(username) : null;
+        List<Long> byRealName = StringUtils.hasText(realName) ? realNames.search(realName) : null;
+        if (byUsername == null || byRealName == null) {
+            return byUsername != null ? byUsername : byRealName;
+        }
+        Set<Long> realNameMatches = new HashSet<>(byRealName);
+        return byUsername.stream().filter(realNameMatches::contains).toList();
+    }
+
+    /**
+     * 按配置键关键字检索配置
+     * 
+     * @param configKey 配置键关键字
+     * @return 按相关度排序的配置ID，关键字为空时返回null
+     */
+    public List<Long> searchConfigs(String configKey) {
+        return StringUtils.hasText(configKey) ? configKeys.search(configKey) : null;
+    }
+
+    /**
+     * 查找起止时间都落在时间范围内的进行中活动
+     * 
+     * @param startTime 开始时间
+     * @param endTime 结束时间
+     * @return 活动ID，按开始时间升序
+     */
+    public List<Long> findActivitiesWithin(LocalDateTime startTime, LocalDateTime endTime) {
+        return activityTimes.within(startTime, endTime);
+    }
+
+    /**
+     * 查找在某一时刻正在进行（开始时间不晚于、结束时间不早于该时刻）的进行中活动
+     * 
+     * @param time 时刻
+     * @return 活动ID，按开始时间升序
+     */
+    public List<Long> findActivitiesAt(LocalDateTime time) {
+        return activityTimes.containing(time);
+    }
+
+    /**
+     * 将按相关度排序的检索结果分页，并按ID回表取出当前页的实体
+     * 有附加条件时按批把命中ID交给数据库过滤（只查询ID），按相关度顺序统计总数并截取当前页，
+     * 只回表当前页；每条语句的ID数量不超过批大小
+     * 
+     * @param rankedIds 按相关度排序的ID
+     * @param pageable 分页参数（排序以相关度为准）
+     * @param loader 按ID批量查询未删除实体的方法
+     * @param matcher 按ID批量查询满足附加条件的ID的方法，为null时不过滤
+     * @param <T> 实体类型
+     * @return 分页结果
+     */
+    public static <T extends BaseEntity> Page<T> page(List<Long> rankedIds, Pageable pageable,
+                                                      Function<Collection<Long>, List<T>> loader,
+                                                      Function<Collection<Long>, List<Long>> matcher) {
+        if (matcher == null) {
+            int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+            int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+            return new PageImpl<>(load(rankedIds.subList(from, to), loader), pageable, rankedIds.size());
+        }
+        long from = pageable.getOffset();
+        long to = from + pageable.getPageSize();
+        List<Long> pageIds = new ArrayList<>(pageable.getPageSize());
+        long matched = 0;
+        for (int i = 0; i < rankedIds.size(); i += LOAD_BATCH_SIZE) {
+            List<Long> chunk = rankedIds.subList(i, Math.min(i + LOAD_BATCH_SIZE, rankedIds.size()));
+            Set<Long> hits = new HashSet<>(matcher.apply(chunk));
+            for (Long id : chunk) {
+                if (hits.contains(id)) {
+                    if (matched >= from && matched < to) {
+                        pageIds.add(id);
+                    }
+                    matched++;
+                }
+            }
+        }
+        return new PageImpl<>(load(pageIds, loader), pageable, matched);
+    }
+
+    /**
+     * 在关键字命中的ID中按 (createdAt, id) 倒序取游标之后的前若干条
+     * 命中ID按批查询，每批各取前 limit 条后合并，结果与一次性查询全部ID相同
+     * 
+     * @param ids 关键字命中的ID
+     * @param limit 条数
+     * @param query 按一批ID查询游标之后前若干条的方法
+     * @param <T> 实体类型
+     * @return 实体列表
+     */
+    public static <T extends BaseEntity> List<T> cursorRows(List<Long> ids, int limit,
+                                                            BiFunction<Collection<Long>, Pageable, List<T>> query) {
+        Pageable first = PageRequest.of(0, limit);
+        if (ids.size() <= LOAD_BATCH_SIZE) {
+            return query.apply(ids, first);
+        }
+        List<T> merged = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += LOAD_BATCH_SIZE) {
+            merged.addAll(query.apply(ids.subList(i, Math.min(i + LOAD_BATCH_SIZE, ids.size())), first));
+        }
+        merged.sort(CURSOR_ORDER);
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    /**
+     * 按ID分批回表，并按传入的ID顺序返回；已被删除的实体跳过
+     * 
+     * @param ids 实体ID
+     * @param loader 按ID批量查询未删除实体的方法
+     * @param <T> 实体类型
+     * @return 实体列表
+     */
+    public static <T extends BaseEntity> List<T> load(List<Long> ids, Function<Collection<Long>, List<T>> loader) {
+        Map<Long, T> byId = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i += LOAD_BATCH_SIZE) {
+            for (T entity : loader.apply(ids.subList(i, Math.min(i + LOAD_BATCH_SIZE, ids.size())))) {
+                byId.put(entity.getId(), entity);
+            }
+        }
+        List<T> ordered = new ArrayList<>(byId.size());
+        for (Long id : ids) {
+            T entity = byId.get(id);
+            if (entity != null) {
+                ordered.add(entity);
+            }
+        }
+        return ordered;
+    }
+
+    private List<NgramIndex> indexesOf(Class<? extends BaseEntity> type) {
+        if (type == Activity.class) {
+            return List.of(activityTitles);
+        } else if (type == Club.class) {
+            return List.of(clubTitles);
+        } else if (type == User.class) {
+            return List.of(usernames, realNames);
+        } else if (type == Config.class) {
+            return List.of(configKeys);
+        }
+        return List.of();
+    }
+
+    /**
+     * 在当前事务提交后执行索引更新，事务回滚时索引保持不变；不在事务中时立即执行
+     * 更新只与索引替换互斥；重建期间的更新同时记入日志，替换后在新索引上重放
+     */
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(update);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(update);
+            }
+        });
+    }
+
+    private synchronized void apply(Runnable update) {
+        update.run();
+        if (rebuildJournal != null) {
+            rebuildJournal.add(update);
+        }
+    }
+}
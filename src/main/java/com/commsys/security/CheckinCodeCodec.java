@@ -0,0 +1,128 @@
+package com.commsys.security;
+
+import com.commsys.config.AppConfig;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 活动签到码编解码器
+ * 签到码为8位数字：对 活动ID + 时间窗口序号 计算HMAC-SHA256，再按动态截断取8位（与TOTP相同），
+ * 每个时间窗口（app.checkin.code-period-seconds）更换一次；校验时接受当前和上一个窗口的签到码，
+ * 无需存储签到码，也无需访问数据库
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Slf4j
+@Component
+public class CheckinCodeCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int DIGITS = 8;
+    private static final int MODULUS = 100_000_000;
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final long periodSeconds;
+
+    public CheckinCodeCodec(AppConfig appConfig) {
+        String secret = appConfig.getCheckin().getSecret();
+        byte[] keyBytes;
+        if (StringUtils.hasText(secret)) {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        } else {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            log.warn("未配置app.checkin.secret，已生成随机密钥，重启后已展示的签到码将失效，多节点部署时签到码只在签发节点有效");
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.periodSeconds = Math.max(appConfig.getCheckin().getCodePeriodSeconds(), 10);
+    }
+
+    /**
+     * 生成活动当前时间窗口的签到码
+     * 
+     * @param activityId 活动ID
+     * @param now 当前时间
+     * @return 签到码
+     */
+    public CheckinCode encode(Long activityId, Instant now) {
+        long window = now.getEpochSecond() / periodSeconds;
+        // 上一个窗口的签到码同样有效，因此本码在下一个窗口结束前都可使用
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(
+                Instant.ofEpochSecond((window + 2) * periodSeconds), ZoneId.systemDefault());
+        return new CheckinCode(code(activityId, window), expiresAt);
+    }
+
+    /**
+     * 校验签到码
+     * 
+     * @param activityId 活动ID
+     * @param code 签到码
+     * @param now 当前时间
+     * @return 签到码属于当前或上一个时间窗口时返回true
+     */
+    public boolean verify(Long activityId, String code, Instant now) {
+        if (code == null || code.length() != DIGITS) {
+            return false;
+        }
+        long window = now.getEpochSecond() / periodSeconds;
+        byte[] actual = code.getBytes(StandardCharsets.US_ASCII);
+        // 两个窗口都做比较，耗时与签到码是否正确无关
+        boolean current = MessageDigest.isEqual(actual, code(activityId, window).getBytes(StandardCharsets.US_ASCII));
+        boolean previous = MessageDigest.isEqual(actual, code(activityId, window - 1).getBytes(StandardCharsets.US_ASCII));
+        return current | previous;
+    }
+
+    private String code(Long activityId, long window) {
+        byte[] hash = macs.get().doFinal(("checkin:" + activityId + ":" + window).getBytes(StandardCharsets.UTF_8));
+        int offset = hash[hash.length - 1] & 0x0f;
+        int binary = ((hash[offset] & 0x7f) << 24)
+                | ((hash[offset + 1] & 0xff) << 16)
+                | ((hash[offset + 2] & 0xff) << 8)
+                | (hash[offset + 3] & 0xff);
+        return String.format("%0" + DIGITS + "d", binary % MODULUS);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("初始化签到码签名算法失败", e);
+        }
+    }
+
+    /**
+     * 签到码
+     */
+    @Data
+    @AllArgsConstructor
+    public static class CheckinCode {
+        /**
+         * 8位数字签到码
+         */
+        private String code;
+
+        /**
+         * 失效时间
+         */
+        private LocalDateTime expiresAt;
+    }
+}
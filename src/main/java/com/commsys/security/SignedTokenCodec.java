@@ -0,0 +1,155 @@
+package com.commsys.security;
+
+import com.commsys.config.AppConfig;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * 签名Token编解码器
+ * Token格式：base64url(载荷).base64url(HMAC-SHA256签名)
+ * 载荷包含用户ID、身份ID、过期时间、签发时间和唯一标识，校验时无需访问数据库
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Slf4j
+@Component
+public class SignedTokenCodec {
+
+    private static final String VERSION = "v1";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecureRandom random = new SecureRandom();
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    public SignedTokenCodec(AppConfig appConfig) {
+        String secret = appConfig.getToken().getSecret();
+        byte[] keyBytes;
+        if (StringUtils.hasText(secret)) {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        } else {
+            keyBytes = new byte[32];
+            random.nextBytes(keyBytes);
+            if ("signed".equalsIgnoreCase(appConfig.getToken().getMode())) {
+                log.warn("未配置app.token.secret，已生成随机密钥，重启或多节点部署时签名Token将失效");
+            }
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * 签发Token
+     * 
+     * @param userId 用户ID
+     * @param roleId 身份ID
+     * @param expiresAt 过期时间
+     * @return Token值
+     */
+    public String encode(Long userId, Integer roleId, LocalDateTime expiresAt) {
+        byte[] nonce = new byte[8];
+        random.nextBytes(nonce);
+        long expires = expiresAt.atZone(ZoneId.systemDefault()).toEpochSecond();
+        String payload = String.join(".", VERSION, String.valueOf(userId), String.valueOf(roleId),
+                String.valueOf(expires), String.valueOf(System.currentTimeMillis()), HexFormat.of().formatHex(nonce));
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * 校验签名并解析Token
+     * 
+     * @param tokenValue Token值
+     * @return 解析结果，格式或签名不正确时返回null
+     */
+    public SignedToken decode(String tokenValue) {
+        int dot = tokenValue.indexOf('.');
+        if (dot <= 0 || dot != tokenValue.lastIndexOf('.')) {
+            return null;
+        }
+        
+        try {
+            byte[] payloadBytes = DECODER.decode(tokenValue.substring(0, dot));
+            byte[] signature = DECODER.decode(tokenValue.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(payloadBytes))) {
+                return null;
+            }
+            
+            String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split("\\.");
+            if (parts.length != 6 || !VERSION.equals(parts[0])) {
+                return null;
+            }
+            LocalDateTime expiresAt = LocalDateTime.ofInstant(
+                    Instant.ofEpochSecond(Long.parseLong(parts[3])), ZoneId.systemDefault());
+            return new SignedToken(Long.valueOf(parts[1]), Integer.valueOf(parts[2]), expiresAt,
+                    Long.parseLong(parts[4]), parts[5]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("初始化Token签名算法失败", e);
+        }
+    }
+
+    /**
+     * 签名Token解析结果
+     */
+    @Data
+    @AllArgsConstructor
+    public static class SignedToken {
+        /**
+         * 用户ID
+         */
+        private Long userId;
+
+        /**
+         * 身份ID
+         */
+        private Integer roleId;
+
+        /**
+         * 过期时间
+         */
+        private LocalDateTime expiresAt;
+
+        /**
+         * 签发时间（毫秒时间戳）
+         */
+        private long issuedAt;
+
+        /**
+         * Token唯一标识
+         */
+        private String jti;
+    }
+}
@@ -0,0 +1,84 @@
+package com.commsys.security;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 签名Token吊销列表
+ * 按Token唯一标识记录被注销的Token，按用户记录强制过期的时间点；
+ * 条目只保留到对应Token自然过期为止，因此列表规模与有效期内的注销次数相当
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Component
+public class TokenRevocationList {
+
+    /**
+     * 已吊销的Token：唯一标识 -> 过期时间（毫秒）
+     */
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    /**
+     * 用户强制过期：用户ID -> [生效时间, 保留截止时间]（毫秒）
+     */
+    private final Map<Long, long[]> userCutoffs = new ConcurrentHashMap<>();
+
+    /**
+     * 吊销单个Token
+     * 
+     * @param jti Token唯一标识
+     * @param expiresAtMillis Token过期时间（毫秒）
+     */
+    public void revoke(String jti, long expiresAtMillis) {
+        revokedTokens.put(jti, expiresAtMillis);
+    }
+
+    /**
+     * 使用户在指定时间之前签发的Token全部失效
+     * 
+     * @param userId 用户ID
+     * @param notBeforeMillis 生效时间（毫秒），早于该时间签发的Token视为已吊销
+     * @param retainUntilMillis 保留截止时间（毫秒），此后该用户的旧Token均已自然过期
+     */
+    public void revokeUser(Long userId, long notBeforeMillis, long retainUntilMillis) {
+        userCutoffs.merge(userId, new long[]{notBeforeMillis, retainUntilMillis},
+                (old, now) -> new long[]{Math.max(old[0], now[0]), Math.max(old[1], now[1])});
+    }
+
+    /**
+     * 判断Token是否已被吊销
+     * 
+     * @param token 签名Token
+     * @return 是否已吊销
+     */
+    public boolean isRevoked(SignedTokenCodec.SignedToken token) {
+        if (revokedTokens.containsKey(token.getJti())) {
+            return true;
+        }
+        long[] cutoff = userCutoffs.get(token.getUserId());
+        return cutoff != null && token.getIssuedAt() < cutoff[0];
+    }
+
+    /**
+     * 移除已自然过期的条目
+     * 
+     * @param nowMillis 当前时间（毫秒）
+     */
+    public void prune(long nowMillis) {
+        revokedTokens.values().removeIf(expiresAt -> expiresAt < nowMillis);
+        userCutoffs.values().removeIf(cutoff -> cutoff[1] < nowMillis);
+    }
+
+    /**
+     * 当前条目数
+     * 
+     * @return 条目数
+     */
+    public int size() {
+        return revokedTokens.size() + userCutoffs.size();
+    }
+}
@@ -0,0 +1,148 @@
+package com.commsys.service;
+
+import com.commsys.cache.CheckinAttemptLimiter;
+import com.commsys.entity.Activity;
+import com.commsys.entity.ActivityRegistration;
+import com.commsys.entity.PointsLedger;
+import com.commsys.entity.User;
+import com.commsys.exception.BusinessException;
+import com.commsys.repository.ActivityRegistrationRepository;
+import com.commsys.repository.ActivityRepository;
+import com.commsys.repository.PointsLedgerRepository;
+import com.commsys.repository.UserRepository;
+import com.commsys.security.CheckinCodeCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 活动签到服务类
+ * 活动管理者在现场展示定期更换的签到码，用户在活动进行期间凭签到码签到并获得积分；
+ * 签到即写入一条来源为活动签到的积分流水，积分由汇总任务异步计入用户积分
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ActivityCheckinService {
+
+    /**
+     * 签到积分配置键
+     */
+    public static final String CHECKIN_POINTS_CONFIG_KEY = "points.checkin";
+
+    private static final int DEFAULT_CHECKIN_POINTS = 10;
+
+    private final ActivityRepository activityRepository;
+    private final UserRepository userRepository;
+    private final ActivityRegistrationRepository registrationRepository;
+    private final PointsLedgerRepository ledgerRepository;
+    private final PointsService pointsService;
+    private final ConfigService configService;
+    private final CheckinCodeCodec checkinCodeCodec;
+    private final CheckinAttemptLimiter attemptLimiter;
+
+    /**
+     * 获取活动当前的签到码
+     * 
+     * @param activityId 活动ID
+     * @param operatorId 操作者ID
+     * @return 签到码
+     */
+    public CheckinCodeCodec.CheckinCode issueCode(Long activityId, Long operatorId) {
+        log.debug("获取签到码: 活动ID={}, 操作者={}", activityId, operatorId);
+        
+        // 检查操作者权限
+        User operator = userRepository.findActiveById(operatorId)
+                .orElseThrow(() -> new BusinessException("操作者不存在"));
+        if (operator.getRoleId() < 2) {
+            throw new BusinessException("权限不足，只有社长以上才能获取签到码");
+        }
+        
+        Activity activity = requireOngoingActivity(activityId);
+        
+        // 检查权限：如果是社长或老师，需要父社团ID匹配
+        if (operator.getRoleId() == 2 || operator.getRoleId() == 3) {
+            if (!activity.getClubId().equals(operator.getParentClubId())) {
+                throw new BusinessException("权限不足，只能获取自己社团活动的签到码");
+            }
+        }
+        
+        return checkinCodeCodec.encode(activityId, Instant.now());
+    }
+
+    /**
+     * 活动签到
+     * 
+     * @param activityId 活动ID
+     * @param userId 用户ID
+     * @param code 签到码
+     * @return 签到产生的积分流水
+     */
+    public PointsLedger checkin(Long activityId, Long userId, String code) {
+        log.debug("活动签到: 活动ID={}, 用户ID={}", activityId, userId);
+        
+        userRepository.findActiveById(userId)
+                .orElseThrow(() -> new BusinessException("用户不存在"));
+        Activity activity = requireOngoingActivity(activityId);
+        
+        // 错误次数过多时不再校验签到码，防止逐个枚举
+        long lockedSeconds = attemptLimiter.tryAcquire(activityId, userId);
+        if (lockedSeconds > 0) {
+            throw new BusinessException("签到码错误次数过多，请" + lockedSeconds + "秒后再试");
+        }
+        if (!checkinCodeCodec.verify(activityId, code, Instant.now())) {
+            throw new BusinessException("签到码无效或已过期");
+        }
+        attemptLimiter.reset(activityId, userId);
+        
+        // 限额活动只有已报名（非候补）的用户可以签到
+        if (activity.getCapacity() != null) {
+            boolean registered = registrationRepository.findByActivityIdAndUserId(activityId, userId)
+                    .map(ActivityRegistration::getStatus)
+                    .filter(status -> status == ActivityRegistrationService.STATUS_REGISTERED)
+                    .isPresent();
+            if (!registered) {
+                throw new BusinessException("未报名该活动");
+            }
+        }
+        
+        if (ledgerRepository.existsByUserIdAndSourceAndRefId(userId, PointsLedger.SOURCE_ACTIVITY_CHECKIN, activityId)) {
+            throw new BusinessException("已签到该活动");
+        }
+        
+        int points = configService.getInt(CHECKIN_POINTS_CONFIG_KEY, DEFAULT_CHECKIN_POINTS);
+        return pointsService.credit(userId, points, PointsLedger.SOURCE_ACTIVITY_CHECKIN, activityId);
+    }
+
+    /**
+     * 获取活动的签到记录
+     * 
+     * @param activityId 活动ID
+     * @return 签到产生的积分流水，按签到先后排序
+     */
+    public List<PointsLedger> getCheckins(Long activityId) {
+        log.debug("获取活动签到记录: {}", activityId);
+        return pointsService.getEntries(PointsLedger.SOURCE_ACTIVITY_CHECKIN, activityId);
+    }
+
+    /**
+     * 检查活动存在且正在进行
+     */
+    private Activity requireOngoingActivity(Long activityId) {
+        Activity activity = activityRepository.findActiveById(activityId)
+                .orElseThrow(() -> new BusinessException("活动不存在"));
+        LocalDateTime now = LocalDateTime.now();
+        if (activity.getStatus() != 1 || activity.getStartTime().isAfter(now) || activity.getEndTime().isBefore(now)) {
+            throw new BusinessException("活动未在进行中");
+        }
+        return activity;
+    }
+}
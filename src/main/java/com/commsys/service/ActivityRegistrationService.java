@@ -0,0 +1,287 @@
+package com.commsys.service;
+
+import com.commsys.cache.ActivityRegistrationCounter;
+import com.commsys.config.SqliteWriteLock;
+import com.commsys.entity.Activity;
+import com.commsys.entity.ActivityRegistration;
+import com.commsys.exception.BusinessException;
+import com.commsys.repository.ActivityRegistrationRepository;
+import com.commsys.repository.ActivityRepository;
+import com.commsys.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 活动报名服务类
+ * 名额准入先经过 ActivityRegistrationCounter 的本节点计数，名额已满时直接进入候补；
+ * 计数放行的报名再由活动表 registered_count 上的条件更新做最终校验，多节点部署时也不会超卖。
+ * 占到名额的记录为已报名，否则进入候补；已报名的用户取消时按报名先后递补候补
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ActivityRegistrationService {
+
+    /**
+     * 报名状态：已取消
+     */
+    public static final int STATUS_CANCELLED = 0;
+
+    /**
+     * 报名状态：已报名
+     */
+    public static final int STATUS_REGISTERED = 1;
+
+    /**
+     * 报名状态：候补
+     */
+    public static final int STATUS_WAITLISTED = 2;
+
+    /**
+     * 递补时每次取出的候补记录数
+     */
+    private static final int PROMOTE_BATCH_SIZE = 10;
+
+    private final ActivityRegistrationRepository registrationRepository;
+    private final ActivityRepository activityRepository;
+    private final UserRepository userRepository;
+    private final ActivityRegistrationCounter registrationCounter;
+    private final SqliteWriteLock writeLock;
+
+    /**
+     * 报名活动
+     * 
+     * @param activityId 活动ID
+     * @param userId 用户ID
+     * @return 报名记录，名额已满时状态为候补
+     */
+    @Transactional
+    public ActivityRegistration register(Long activityId, Long userId) {
+        log.debug("报名活动: 活动ID={}, 用户ID={}", activityId, userId);
+
+        // 先读后写，事务开始即取写锁（SQLite）
+        writeLock.acquire();
+        userRepository.findActiveById(userId)
+                .orElseThrow(() -> new BusinessException("用户不存在"));
+        Activity activity = requireOpenActivity(activityId);
+
+        ActivityRegistration registration = registrationRepository.findByActivityIdAndUserId(activityId, userId)
+                .orElse(null);
+        if (registration != null && registration.getStatus() != STATUS_CANCELLED) {
+            throw new BusinessException("已报名该活动");
+        }
+
+        // 占用名额，事务回滚（包括重复报名被拒绝）时归还
+        boolean admitted = registrationCounter.tryAcquire(activityId, activity.getCapacity());
+        if (admitted) {
+            // 本节点计数看不到其他节点的报名，以数据库的条件更新为准，名额已被占满时转为候补；
+            // 此时本节点计数偏低，丢弃后下次从数据库重新加载
+            if (activityRepository.incrementRegisteredCount(activityId) == 1) {
+                releaseOnRollback(activityId, 1);
+            } else {
+                registrationCounter.evict(activityId);
+                admitted = false;
+            }
+        }
+        int status = admitted ? STATUS_REGISTERED : STATUS_WAITLISTED;
+        LocalDateTime now = LocalDateTime.now();
+
+        if (registration != null) {
+            // 取消后再次报名：并发的重复请求只有一个能把记录从已取消改回
+            if (registrationRepository.reactivate(registration.getId(), status, now) == 0) {
+                throw new BusinessException("已报名该活动");
+            }
+            return registrationRepository.findById(registration.getId())
+                    .orElseThrow(() -> new BusinessException("报名记录不存在"));
+        }
+
+        registration = new ActivityRegistration();
+        registration.setActivityId(activityId);
+        registration.setUserId(userId);
+        registration.setStatus(status);
+        registration.setRegisteredAt(now);
+        try {
+            // 立即写入，由唯一约束拒绝并发的重复报名
+            return registrationRepository.saveAndFlush(registration);
+        } catch (DataIntegrityViolationException e) {
+            throw new BusinessException("已报名该活动");
+        }
+    }
+
+    /**
+     * 取消报名
+     * 已报名的用户取消后，其名额按报名先后递补给候补用户，没有候补时归还
+     * 
+     * @param activityId 活动ID
+     * @param userId 用户ID
+     */
+    @Transactional
+    public void cancel(Long activityId, Long userId) {
+        log.debug("取消报名: 活动ID={}, 用户ID={}", activityId, userId);
+
+        // 先读后写，事务开始即取写锁（SQLite）
+        writeLock.acquire();
+        requireOpenActivity(activityId);
+        // 在修改报名记录之前加载计数，避免首次加载时漏计本次取消的名额
+        registrationCounter.current(activityId);
+
+        ActivityRegistration registration = registrationRepository.findByActivityIdAndUserId(activityId, userId)
+                .filter(r -> r.getStatus() != STATUS_CANCELLED)
+                .orElseThrow(() -> new BusinessException("未报名该活动"));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (registrationRepository.updateStatus(registration.getId(), registration.getStatus(),
+                STATUS_CANCELLED, now) == 0) {
+            throw new BusinessException("报名状态已变化，请重试");
+        }
+        if (registration.getStatus() != STATUS_REGISTERED) {
+            return;
+        }
+
+        // 名额上限被调低后已报名人数可能超出上限，此时直接归还、不递补；
+        // 判断和扣减在数据库中为一条条件更新，并发取消时只有超出上限的那几次归还，其余正常递补
+        if (activityRepository.decrementRegisteredCountOverCapacity(activityId) == 1) {
+            releaseAfterCommit(activityId);
+            return;
+        }
+        if (!promoteNext(activityId, now)) {
+            activityRepository.decrementRegisteredCount(activityId);
+            releaseAfterCommit(activityId);
+        }
+    }
+
+    /**
+     * 名额上限调高后按报名先后递补候补，直到名额占满或没有候补
+     * 
+     * @param activity 活动
+     * @return 递补的人数
+     */
+    @Transactional
+    public int fillFromWaitlist(Activity activity) {
+        Long activityId = activity.getId();
+        LocalDateTime now = LocalDateTime.now();
+        int promoted = 0;
+        while (registrationCounter.tryAcquire(activityId, activity.getCapacity())) {
+            if (activityRepository.incrementRegisteredCount(activityId) == 0) {
+                registrationCounter.release(activityId, 1);
+                break;
+            }
+            if (!promoteNext(activityId, now)) {
+                activityRepository.decrementRegisteredCount(activityId);
+                registrationCounter.release(activityId, 1);
+                break;
+            }
+            promoted++;
+        }
+        if (promoted > 0) {
+            releaseOnRollback(activityId, promoted);
+            log.debug("活动名额调整后递补候补: 活动ID={}, 人数={}", activityId, promoted);
+        }
+        return promoted;
+    }
+
+    /**
+     * 获取活动的报名记录（不含已取消的），按报名先后排序
+     * 
+     * @param activityId 活动ID
+     * @return 报名记录列表
+     */
+    public List<ActivityRegistration> getRegistrationsByActivityId(Long activityId) {
+        log.debug("获取活动报名记录: {}", activityId);
+        return registrationRepository.findByActivityId(activityId);
+    }
+
+    /**
+     * 获取用户的报名记录（不含已取消的）
+     * 
+     * @param userId 用户ID
+     * @return 报名记录列表
+     */
+    public List<ActivityRegistration> getRegistrationsByUserId(Long userId) {
+        log.debug("获取用户报名记录: {}", userId);
+        return registrationRepository.findByUserId(userId);
+    }
+
+    /**
+     * 获取活动的已报名人数
+     * 
+     * @param activityId 活动ID
+     * @return 已报名人数
+     */
+    public long countRegistered(Long activityId) {
+        return registrationRepository.countByActivityIdAndStatus(activityId, STATUS_REGISTERED);
+    }
+
+    /**
+     * 检查活动存在且仍可报名
+     */
+    private Activity requireOpenActivity(Long activityId) {
+        Activity activity = activityRepository.findActiveById(activityId)
+                .orElseThrow(() -> new BusinessException("活动不存在"));
+        if (activity.getStatus() != 1 || !activity.getEndTime().isAfter(LocalDateTime.now())) {
+            throw new BusinessException("活动已结束或已取消");
+        }
+        return activity;
+    }
+
+    /**
+     * 将最早的一条候补记录转为已报名，名额直接转给该用户
+     * 
+     * @return 是否有候补被递补
+     */
+    private boolean promoteNext(Long activityId, LocalDateTime now) {
+        for (int page = 0; ; page++) {
+            List<Long> ids = registrationRepository.findWaitlistedIds(activityId,
+                    PageRequest.of(page, PROMOTE_BATCH_SIZE));
+            if (ids.isEmpty()) {
+                return false;
+            }
+            for (Long id : ids) {
+                // 同一候补可能同时被其他请求递补或自行取消，条件更新失败时尝试下一条；
+                // 事务快照中仍可能看到这些记录为候补，因此按页向后取而不是重复查询第一页
+                if (registrationRepository.updateStatus(id, STATUS_WAITLISTED, STATUS_REGISTERED, now) == 1) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * 事务未提交（回滚或失败）时归还预占的名额
+     */
+    private void releaseOnRollback(Long activityId, int permits) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    registrationCounter.release(activityId, permits);
+                }
+            }
+        });
+    }
+
+    /**
+     * 事务提交后归还名额，提交前名额仍被占用，避免新报名先于取消生效
+     */
+    private void releaseAfterCommit(Long activityId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                registrationCounter.release(activityId, 1);
+            }
+        });
+    }
+}
@@ -1,5 +1,7 @@
 package com.commsys.service;
 
+import com.commsys.cache.ActivityRegistrationCounter;
+import com.commsys.common.PageCursor;
 import com.commsys.common.PageResult;
 import com.commsys.entity.Activity;
 import com.commsys.entity.User;
@@ -7,18 +9,28 @@ import com.commsys.exception.BusinessException;
 import com.commsys.repository.ActivityRepository;
 import com.commsys.repository.ClubRepository;
 import com.commsys.repository.UserRepository;
+import com.commsys.search.SearchIndexes;
+import com.commsys.task.ActivityEndTimeChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 活动服务类
@@ -35,6 +47,12 @@ public class ActivityService {
     private final ActivityRepository activityRepository;
     private final ClubRepository clubRepository;
     private final UserRepository userRepository;
+    private final ExportService exportService;
+    private final ConfigService configService;
+    private final SearchIndexes searchIndexes;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ActivityRegistrationService registrationService;
+    private final ActivityRegistrationCounter registrationCounter;
 
     /**
      * 创建活动
@@ -45,12 +63,13 @@ public class ActivityService {
      * @param description 活动描述
      * @param startTime 开始时间
      * @param endTime 结束时间
+     * @param capacity 报名名额上限，为空时不限
      * @return 创建的活动
      */
     @Transactional
     public Activity createActivity(Long clubId, Long creatorId, String title, String description,
-                                  LocalDateTime startTime, LocalDateTime endTime) {
-        log.info("创建活动: {}, 社团ID: {}, 发起者: {}", title, clubId, creatorId);
+                                  LocalDateTime startTime, LocalDateTime endTime, Integer capacity) {
+        log.debug("创建活动: {}, 社团ID: {}, 发起者: {}", title, clubId, creatorId);
         
         // 检查发起者权限
         User creator = userRepository.findActiveById(creatorId)
@@ -79,6 +98,10 @@ public class ActivityService {
             throw new BusinessException("开始时间不能早于当前时间");
         }
         
+        if (capacity != null && capacity < 1) {
+            throw new BusinessException("报名名额至少为1");
+        }
+        
         // 创建活动
         Activity activity = new Activity();
         activity.setClubId(clubId);
@@ -87,9 +110,12 @@ public class ActivityService {
         activity.setDescription(description);
         activity.setStartTime(startTime);
         activity.setEndTime(endTime);
+        activity.setCapacity(capacity);
         activity.setStatus(1); // 进行中
         
-        return activityRepository.save(activity);
+        Activity saved = activityRepository.save(activity);
+        eventPublisher.publishEvent(new ActivityEndTimeChangedEvent(endTime));
+        return saved;
     }
 
     /**
@@ -101,7 +127,7 @@ public class ActivityService {
      */
     @Transactional
     public void deleteActivity(Long clubId, Long activityId, Long operatorId) {
-        log.info("删除活动: 活动ID={}, 社团ID={}, 操作者={}", activityId, clubId, operatorId);
+        log.debug("删除活动: 活动ID={}, 社团ID={}, 操作者={}", activityId, clubId, operatorId);
         
         // 检查操作者权限
         User operator = userRepository.findActiveById(operatorId)
@@ -126,7 +152,9 @@ public class ActivityService {
             throw new BusinessException("活动不属于指定社团");
         }
         
-        activityRepository.softDeleteById(activityId);
+        activityRepository.softDeleteById(activityId, LocalDateTime.now());
+        searchIndexes.removeAfterCommit(Activity.class, List.of(activityId));
+        evictRegistrationCountAfterCommit(activityId);
     }
 
     /**
@@ -139,12 +167,15 @@ public class ActivityService {
      * @param description 活动描述
      * @param startTime 开始时间
      * @param endTime 结束时间
+     * @param capacity 报名名额上限（调高时按报名先后递补候补），为空时不修改
+     * @param clearCapacity 是否取消名额上限（改为不限并递补全部候补），不能与 capacity 同时给出
      * @return 更新后的活动
      */
     @Transactional
     public Activity editActivity(Long activityId, Long operatorId, Long clubId, String title,
-                               String description, LocalDateTime startTime, LocalDateTime endTime) {
-        log.info("编辑活动: 活动ID={}, 操作者={}, 社团ID={}", activityId, operatorId, clubId);
+                               String description, LocalDateTime startTime, LocalDateTime endTime,
+                               Integer capacity, boolean clearCapacity) {
+        log.debug("编辑活动: 活动ID={}, 操作者={}, 社团ID={}", activityId, operatorId, clubId);
         
         // 检查操作者权限
         User operator = userRepository.findActiveById(operatorId)
@@ -182,8 +213,29 @@ public class ActivityService {
         if (endTime != null) {
             activity.setEndTime(endTime);
         }
+        Integer previousCapacity = activity.getCapacity();
+        if (clearCapacity) {
+            if (capacity != null) {
+                throw new BusinessException("不能同时设置和取消报名名额上限");
+            }
+            activity.setCapacity(null);
+        } else if (capacity != null) {
+            if (capacity < 1) {
+                throw new BusinessException("报名名额至少为1");
+            }
+            activity.setCapacity(capacity);
+        }
         
-        return activityRepository.save(activity);
+        Activity saved = activityRepository.save(activity);
+        if (endTime != null && saved.getStatus() == 1) {
+            eventPublisher.publishEvent(new ActivityEndTimeChangedEvent(endTime));
+        }
+        boolean raised = capacity != null && previousCapacity != null && capacity > previousCapacity;
+        boolean cleared = clearCapacity && previousCapacity != null;
+        if ((raised || cleared) && saved.getStatus() == 1) {
+            registrationService.fillFromWaitlist(saved);
+        }
+        return saved;
     }
 
     /**
@@ -196,7 +248,7 @@ public class ActivityService {
      */
     @Transactional
     public void closeActivity(Long clubId, Long activityId, Long operatorId, String closeReason) {
-        log.info("提前结束活动: 活动ID={}, 社团ID={}, 操作者={}", activityId, clubId, operatorId);
+        log.debug("提前结束活动: 活动ID={}, 社团ID={}, 操作者={}", activityId, clubId, operatorId);
         
         // 检查操作者权限
         User operator = userRepository.findActiveById(operatorId)
@@ -234,6 +286,7 @@ public class ActivityService {
         }
         
         activityRepository.save(activity);
+        evictRegistrationCountAfterCommit(activityId);
     }
 
     /**
@@ -243,7 +296,7 @@ public class ActivityService {
      * @return 活动信息
      */
     public Activity getActivityById(Long id) {
-        log.info("根据ID获取活动: {}", id);
+        log.debug("根据ID获取活动: {}", id);
         return activityRepository.findActiveById(id)
                 .orElseThrow(() -> new BusinessException("活动不存在"));
     }
@@ -254,10 +307,21 @@ public class ActivityService {
      * @return 活动列表
      */
     public List<Activity> getAllActivities() {
-        log.info("获取所有活动");
+        log.debug("获取所有活动");
         return activityRepository.findAllActive();
     }
 
+    /**
+     * 以NDJSON格式流式导出所有活动
+     * 
+     * @param out 输出流
+     * @throws IOException 写出失败
+     */
+    public void exportActivities(OutputStream out) throws IOException {
+        log.debug("导出所有活动");
+        exportService.exportActive(activityRepository, out);
+    }
+
     /**
      * 根据社团ID获取活动列表
      * 
@@ -265,7 +329,7 @@ public class ActivityService {
      * @return 活动列表
      */
     public List<Activity> getActivitiesByClubId(Long clubId) {
-        log.info("根据社团ID获取活动列表: {}", clubId);
+        log.debug("根据社团ID获取活动列表: {}", clubId);
         return activityRepository.findByClubId(clubId);
     }
 
@@ -276,7 +340,7 @@ public class ActivityService {
      * @return 活动列表
      */
     public List<Activity> getActivitiesByCreatorId(Long creatorId) {
-        log.info("根据发起者ID获取活动列表: {}", creatorId);
+        log.debug("根据发起者ID获取活动列表: {}", creatorId);
         return activityRepository.findByCreatorId(creatorId);
     }
 
@@ -287,7 +351,7 @@ public class ActivityService {
      * @return 活动列表
      */
     public List<Activity> getActivitiesByStatus(Integer status) {
-        log.info("根据状态获取活动列表: {}", status);
+        log.debug("根据状态获取活动列表: {}", status);
         return activityRepository.findByStatus(status);
     }
 
@@ -299,7 +363,7 @@ public class ActivityService {
      * @return 活动列表
      */
     public List<Activity> getActivitiesByClubIdAndStatus(Long clubId, Integer status) {
-        log.info("根据社团ID和状态获取活动列表: 社团ID={}, 状态={}", clubId, status);
+        log.debug("根据社团ID和状态获取活动列表: 社团ID={}, 状态={}", clubId, status);
         return activityRepository.findByClubIdAndStatus(clubId, status);
     }
 
@@ -311,8 +375,16 @@ public class ActivityService {
      * @return 活动列表
      */
     public List<Activity> getActivitiesByTimeRange(LocalDateTime startTime, LocalDateTime endTime) {
-        log.info("根据时间范围获取活动列表: {} - {}", startTime, endTime);
-        return activityRepository.findByTimeRange(startTime, endTime);
+        log.debug("根据时间范围获取活动列表: {} - {}", startTime, endTime);
+        // 先读时间索引再查数据库，期间结束的活动至多在两边各出现一次，按ID去重
+        Map<Long, Activity> activities = new LinkedHashMap<>();
+        SearchIndexes.load(searchIndexes.findActivitiesWithin(startTime, endTime), activityRepository::findActiveByIds)
+                .forEach(activity -> activities.put(activity.getId(), activity));
+        activityRepository.findClosedByTimeRange(startTime, endTime)
+                .forEach(activity -> activities.putIfAbsent(activity.getId(), activity));
+        return activities.values().stream()
+                .sorted(Comparator.comparing(Activity::getStartTime).thenComparing(Activity::getId))
+                .toList();
     }
 
     /**
@@ -321,8 +393,11 @@ public class ActivityService {
      * @return 活动列表
      */
     public List<Activity> getOngoingActivities() {
-        log.info("获取正在进行的活动");
-        return activityRepository.findOngoingActivities(LocalDateTime.now());
+        log.debug("获取正在进行的活动");
+        List<Long> ids = searchIndexes.findActivitiesAt(LocalDateTime.now());
+        return SearchIndexes.load(ids, activityRepository::findActiveByIds).stream()
+                .filter(activity -> activity.getStatus() == 1)
+                .toList();
     }
 
     /**
@@ -331,8 +406,41 @@ public class ActivityService {
      * @return 活动列表
      */
     public List<Activity> getEndedActivities() {
-        log.info("获取已结束的活动");
-        return activityRepository.findEndedActivities(LocalDateTime.now());
+        log.debug("获取已结束的活动");
+        return activityRepository.findEndedActivities();
+    }
+
+    /**
+     * 将已到结束时间的进行中活动分批置为已结束
+     * 
+     * @param batchSize 每批处理的行数
+     * @return 置为已结束的活动数
+     */
+    public int endOverdueActivities(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        while (true) {
+            List<Long> ids = activityRepository.findOverdueIds(now, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            total += activityRepository.endByIds(ids, now);
+            ids.forEach(registrationCounter::evict);
+            searchIndexes.removeEndedActivitiesAfterCommit(ids);
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 获取进行中活动里最早的下一个结束时间
+     * 
+     * @return 结束时间，没有进行中的活动时返回null
+     */
+    public LocalDateTime getNextEndTime() {
+        return activityRepository.findNextEndTime(LocalDateTime.now());
     }
 
     /**
@@ -347,16 +455,20 @@ public class ActivityService {
      */
     public PageResult<Activity> getActivities(Integer page, Integer size, String title, 
                                             Long clubId, Integer status) {
-        log.info("分页查询活动: page={}, size={}, title={}, clubId={}, status={}", 
+        log.debug("分页查询活动: page={}, size={}, title={}, clubId={}, status={}", 
                 page, size, title, clubId, status);
         
+        size = configService.resolvePageSize(size);
+        
         // 创建分页参数
         Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         
         Page<Activity> activityPage;
         
         if (StringUtils.hasText(title)) {
-            activityPage = activityRepository.findByTitleContaining(title, pageable);
+            // 按标题检索时结果按相关度排序
+            activityPage = SearchIndexes.page(searchIndexes.searchActivities(title), pageable,
+                    activityRepository::findActiveByIds, null);
         } else if (clubId != null && status != null) {
             List<Activity> activities = activityRepository.findByClubIdAndStatus(clubId, status);
             int start = (int) pageable.getOffset();
@@ -381,4 +493,48 @@ public class ActivityService {
         
         return PageResult.of(activityPage);
     }
+
+    /**
+     * 游标分页查询活动
+     * 按 (createdAt, id) 倒序，不统计总数，深翻页耗时不随页码增长
+     * 
+     * @param cursor 上一页返回的游标，为空时查询第一页
+     * @param size 每页大小
+     * @param title 活动标题关键字
+     * @param clubId 社团ID
+     * @param status 状态
+     * @return 分页活动列表
+     */
+    public PageResult<Activity> getActivitiesByCursor(String cursor, Integer size, String title, Long clubId, Integer status) {
+        log.debug("游标分页查询活动: cursor={}, size={}, title={}, clubId={}, status={}", 
+                cursor, size, title, clubId, status);
+        
+        size = configService.resolvePageSize(size);
+        PageCursor position = PageCursor.decode(cursor);
+        List<Long> ids = searchIndexes.searchActivities(title);
+        if (ids != null && ids.isEmpty()) {
+            return PageResult.ofCursor(List.of(), size, PageCursor::encode);
+        }
+        // 多取一条用于判断是否有下一页；按关键字检索时命中ID分批查询后合并
+        LocalDateTime cursorTime = position != null ? position.getCreatedAt() : null;
+        Long cursorId = position != null ? position.getId() : null;
+        List<Activity> rows = ids == null
+                ? activityRepository.findByCursor(clubId, status, cursorTime, cursorId, PageRequest.of(0, size + 1))
+                : SearchIndexes.cursorRows(ids, size + 1, (batch, limit) ->
+                        activityRepository.findByCursorAndIds(batch, clubId, status, cursorTime, cursorId, limit));
+        
+        return PageResult.ofCursor(rows, size, PageCursor::encode);
+    }
+
+    /**
+     * 事务提交后移除不再接受报名的活动的名额计数
+     */
+    private void evictRegistrationCountAfterCommit(Long activityId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                registrationCounter.evict(activityId);
+            }
+        });
+    }
 }
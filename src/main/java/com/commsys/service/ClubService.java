@@ -1,5 +1,6 @@
 package com.commsys.service;
 
+import com.commsys.common.PageCursor;
 import com.commsys.common.PageResult;
 import com.commsys.entity.Club;
 import com.commsys.entity.ClubMember;
@@ -8,6 +9,7 @@ import com.commsys.exception.BusinessException;
 import com.commsys.repository.ClubMemberRepository;
 import com.commsys.repository.ClubRepository;
 import com.commsys.repository.UserRepository;
+import com.commsys.search.SearchIndexes;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -18,8 +20,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 社团服务类
@@ -36,6 +43,9 @@ public class ClubService {
     private final ClubRepository clubRepository;
     private final ClubMemberRepository clubMemberRepository;
     private final UserRepository userRepository;
+    private final ExportService exportService;
+    private final ConfigService configService;
+    private final SearchIndexes searchIndexes;
 
     /**
      * 创建社团
@@ -51,7 +61,7 @@ public class ClubService {
     @Transactional
     public Club createClub(String title, String description, Long presidentId, Long teacherId, 
                           List<Long> memberIds, Long operatorUserId) {
-        log.info("创建社团: {}, 社长: {}", title, presidentId);
+        log.debug("创建社团: {}, 社长: {}", title, presidentId);
         
         // 检查操作者权限
         User operator = userRepository.findActiveById(operatorUserId)
@@ -88,44 +98,62 @@ public class ClubService {
         
         club = clubRepository.save(club);
         
-        // 添加社长为成员
-        ClubMember presidentMember = new ClubMember();
-        presidentMember.setClubId(club.getId());
-        presidentMember.setUserId(presidentId);
-        presidentMember.setJoinTime(LocalDateTime.now());
-        presidentMember.setStatus(1);
-        clubMemberRepository.save(presidentMember);
+        // 一次查询取回社长以外的全部成员，按集合校验
+        Set<Long> otherMemberIds = new LinkedHashSet<>();
+        if (memberIds != null) {
+            otherMemberIds.addAll(memberIds);
+        }
+        otherMemberIds.remove(presidentId);
+        
+        List<User> members = otherMemberIds.isEmpty()
+                ? new ArrayList<>()
+                : new ArrayList<>(userRepository.findActiveByIds(otherMemberIds));
+        if (members.size() != otherMemberIds.size()) {
+            Set<Long> missingIds = new LinkedHashSet<>(otherMemberIds);
+            members.forEach(member -> missingIds.remove(member.getId()));
+            throw new BusinessException("成员不存在: " + missingIds);
+        }
+        
+        // 社长及成员的成员关系与用户信息统一批量写入
+        LocalDateTime joinTime = LocalDateTime.now();
+        List<ClubMember> clubMembers = new ArrayList<>(members.size() + 1);
+        clubMembers.add(newClubMember(club.getId(), presidentId, joinTime));
         
         // 更新社长的父社团ID
         president.setParentClubId(club.getId());
         president.setRoleId(2); // 设置为社长
-        userRepository.save(president);
-        
-        // 添加其他成员
-        if (memberIds != null && !memberIds.isEmpty()) {
-            for (Long memberId : memberIds) {
-                if (!memberId.equals(presidentId)) {
-                    User member = userRepository.findActiveById(memberId)
-                            .orElseThrow(() -> new BusinessException("成员不存在: " + memberId));
-                    
-                    ClubMember clubMember = new ClubMember();
-                    clubMember.setClubId(club.getId());
-                    clubMember.setUserId(memberId);
-                    clubMember.setJoinTime(LocalDateTime.now());
-                    clubMember.setStatus(1);
-                    clubMemberRepository.save(clubMember);
-                    
-                    // 更新成员的父社团ID和身份
-                    member.setParentClubId(club.getId());
-                    member.setRoleId(1); // 设置为社团成员
-                    userRepository.save(member);
-                }
-            }
+        
+        // 更新成员的父社团ID和身份
+        for (User member : members) {
+            clubMembers.add(newClubMember(club.getId(), member.getId(), joinTime));
+            member.setParentClubId(club.getId());
+            member.setRoleId(1); // 设置为社团成员
         }
+        members.add(president);
+        
+        clubMemberRepository.saveAll(clubMembers);
+        userRepository.saveAll(members);
         
         return club;
     }
 
+    /**
+     * 构造正常状态的社团成员关系
+     * 
+     * @param clubId 社团ID
+     * @param userId 用户ID
+     * @param joinTime 加入时间
+     * @return 成员关系
+     */
+    private ClubMember newClubMember(Long clubId, Long userId, LocalDateTime joinTime) {
+        ClubMember clubMember = new ClubMember();
+        clubMember.setClubId(clubId);
+        clubMember.setUserId(userId);
+        clubMember.setJoinTime(joinTime);
+        clubMember.setStatus(1);
+        return clubMember;
+    }
+
     /**
      * 禁用/启用社团
      * 
@@ -136,7 +164,7 @@ public class ClubService {
      */
     @Transactional
     public void closeOpenClub(Boolean isEnabled, Long operatorUserId, Long clubId, String disableReason) {
-        log.info("禁用/启用社团: 社团ID={}, 启用={}, 操作者={}", clubId, isEnabled, operatorUserId);
+        log.debug("禁用/启用社团: 社团ID={}, 启用={}, 操作者={}", clubId, isEnabled, operatorUserId);
         
         // 检查操作者权限
         User operator = userRepository.findActiveById(operatorUserId)
@@ -165,7 +193,7 @@ public class ClubService {
      */
     @Transactional
     public void joinClub(Long userId, Long clubId) {
-        log.info("申请加入社团: 用户ID={}, 社团ID={}", userId, clubId);
+        log.debug("申请加入社团: 用户ID={}, 社团ID={}", userId, clubId);
         
         // 检查用户是否存在且身份为0
         User user = userRepository.findActiveById(userId)
@@ -207,7 +235,7 @@ public class ClubService {
      */
     @Transactional
     public void exitClub(Long userId) {
-        log.info("退出社团: 用户ID={}", userId);
+        log.debug("退出社团: 用户ID={}", userId);
         
         // 检查用户是否存在且身份为1
         User user = userRepository.findActiveById(userId)
@@ -249,7 +277,7 @@ public class ClubService {
      * @return 社团信息
      */
     public Club getClubById(Long id) {
-        log.info("根据ID获取社团: {}", id);
+        log.debug("根据ID获取社团: {}", id);
         return clubRepository.findActiveById(id)
                 .orElseThrow(() -> new BusinessException("社团不存在"));
     }
@@ -260,10 +288,21 @@ public class ClubService {
      * @return 社团列表
      */
     public List<Club> getAllClubs() {
-        log.info("获取所有社团");
+        log.debug("获取所有社团");
         return clubRepository.findAllActive();
     }
 
+    /**
+     * 以NDJSON格式流式导出所有社团
+     * 
+     * @param out 输出流
+     * @throws IOException 写出失败
+     */
+    public void exportClubs(OutputStream out) throws IOException {
+        log.debug("导出所有社团");
+        exportService.exportActive(clubRepository, out);
+    }
+
     /**
      * 根据状态获取社团列表
      * 
@@ -271,7 +310,7 @@ public class ClubService {
      * @return 社团列表
      */
     public List<Club> getClubsByStatus(Integer status) {
-        log.info("根据状态获取社团列表: {}", status);
+        log.debug("根据状态获取社团列表: {}", status);
         return clubRepository.findByStatus(status);
     }
 
@@ -282,7 +321,7 @@ public class ClubService {
      * @return 社团列表
      */
     public List<Club> getClubsByPresidentId(Long presidentId) {
-        log.info("根据社长ID获取社团列表: {}", presidentId);
+        log.debug("根据社长ID获取社团列表: {}", presidentId);
         return clubRepository.findByPresidentId(presidentId);
     }
 
@@ -296,7 +335,9 @@ public class ClubService {
      * @return 分页社团列表
      */
     public PageResult<Club> getClubs(Integer page, Integer size, String title, Integer status) {
-        log.info("分页查询社团: page={}, size={}, title={}, status={}", page, size, title, status);
+        log.debug("分页查询社团: page={}, size={}, title={}, status={}", page, size, title, status);
+        
+        size = configService.resolvePageSize(size);
         
         // 创建分页参数
         Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.DESC, "createdAt"));
@@ -304,7 +345,9 @@ public class ClubService {
         Page<Club> clubPage;
         
         if (StringUtils.hasText(title)) {
-            clubPage = clubRepository.findByTitleContaining(title, pageable);
+            // 按标题检索时结果按相关度排序
+            clubPage = SearchIndexes.page(searchIndexes.searchClubs(title), pageable,
+                    clubRepository::findActiveByIds, null);
         } else if (status != null) {
             List<Club> clubs = clubRepository.findByStatus(status);
             int start = (int) pageable.getOffset();
@@ -318,6 +361,37 @@ public class ClubService {
         return PageResult.of(clubPage);
     }
 
+    /**
+     * 游标分页查询社团
+     * 按 (createdAt, id) 倒序，不统计总数，深翻页耗时不随页码增长
+     * 
+     * @param cursor 上一页返回的游标，为空时查询第一页
+     * @param size 每页大小
+     * @param title 社团标题关键字
+     * @param status 状态
+     * @return 分页社团列表
+     */
+    public PageResult<Club> getClubsByCursor(String cursor, Integer size, String title, Integer status) {
+        log.debug("游标分页查询社团: cursor={}, size={}, title={}, status={}", 
+                cursor, size, title, status);
+        
+        size = configService.resolvePageSize(size);
+        PageCursor position = PageCursor.decode(cursor);
+        List<Long> ids = searchIndexes.searchClubs(title);
+        if (ids != null && ids.isEmpty()) {
+            return PageResult.ofCursor(List.of(), size, PageCursor::encode);
+        }
+        // 多取一条用于判断是否有下一页；按关键字检索时命中ID分批查询后合并
+        LocalDateTime cursorTime = position != null ? position.getCreatedAt() : null;
+        Long cursorId = position != null ? position.getId() : null;
+        List<Club> rows = ids == null
+                ? clubRepository.findByCursor(status, cursorTime, cursorId, PageRequest.of(0, size + 1))
+                : SearchIndexes.cursorRows(ids, size + 1, (batch, limit) ->
+                        clubRepository.findByCursorAndIds(batch, status, cursorTime, cursorId, limit));
+        
+        return PageResult.ofCursor(rows, size, PageCursor::encode);
+    }
+
     /**
      * 获取社团成员列表
      * 
@@ -325,7 +399,7 @@ public class ClubService {
      * @return 成员列表
      */
     public List<ClubMember> getClubMembers(Long clubId) {
-        log.info("获取社团成员列表: {}", clubId);
+        log.debug("获取社团成员列表: {}", clubId);
         return clubMemberRepository.findByClubId(clubId);
     }
 
@@ -336,7 +410,7 @@ public class ClubService {
      * @return 社团列表
      */
     public List<ClubMember> getUserClubs(Long userId) {
-        log.info("获取用户所在的社团列表: {}", userId);
+        log.debug("获取用户所在的社团列表: {}", userId);
         return clubMemberRepository.findByUserId(userId);
     }
 
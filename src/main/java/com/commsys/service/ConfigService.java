@@ -1,24 +1,47 @@
 package com.commsys.service;
 
+import com.commsys.cache.ConfigCache;
+import com.commsys.cache.ConfigChangedEvent;
+import com.commsys.cache.TypedConfigValue;
+import com.commsys.common.PageCursor;
 import com.commsys.common.PageResult;
+import com.commsys.config.AppConfig;
 import com.commsys.entity.Config;
 import com.commsys.exception.BusinessException;
 import com.commsys.repository.ConfigRepository;
+import com.commsys.search.SearchIndexes;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 配置服务类
  * 提供系统配置的动态管理功能
+ * 配置值从内存缓存读取，本节点的写操作在事务提交后刷新缓存，其他节点的修改通过定时比对版本戳发现
  * 
  * @author Xiaosu
  * @version 1.0.0
@@ -29,7 +52,23 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ConfigService {
 
+    /**
+     * 默认分页大小配置键
+     */
+    public static final String PAGE_DEFAULT_SIZE_KEY = "page.default.size";
+
+    /**
+     * 最大分页大小配置键
+     */
+    public static final String PAGE_MAX_SIZE_KEY = "page.max.size";
+
     private final ConfigRepository configRepository;
+    private final ExportService exportService;
+    private final ConfigCache configCache;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AppConfig appConfig;
+    private final SearchIndexes searchIndexes;
 
     /**
      * 创建配置
@@ -39,14 +78,17 @@ public class ConfigService {
      */
     @Transactional
     public Config createConfig(Config config) {
-        log.info("创建配置: {}", config.getConfigKey());
+        log.debug("创建配置: {}", config.getConfigKey());
         
         // 检查配置键是否已存在
         if (configRepository.existsByConfigKey(config.getConfigKey())) {
             throw new BusinessException("配置键已存在");
         }
         
-        return configRepository.save(config);
+        validateValue(config.getConfigValue(), config.getConfigType());
+        Config saved = configRepository.save(config);
+        updateCacheAfterCommit(List.of(saved), List.of());
+        return saved;
     }
 
     /**
@@ -56,7 +98,7 @@ public class ConfigService {
      * @return 配置信息
      */
     public Config getConfigById(Long id) {
-        log.info("根据ID获取配置: {}", id);
+        log.debug("根据ID获取配置: {}", id);
         return configRepository.findActiveById(id)
                 .orElseThrow(() -> new BusinessException("配置不存在"));
     }
@@ -68,7 +110,7 @@ public class ConfigService {
      * @return 配置信息
      */
     public Config getConfigByKey(String configKey) {
-        log.info("根据配置键获取配置: {}", configKey);
+        log.debug("根据配置键获取配置: {}", configKey);
         return configRepository.findByConfigKey(configKey)
                 .orElseThrow(() -> new BusinessException("配置不存在"));
     }
@@ -80,9 +122,12 @@ public class ConfigService {
      * @return 配置值
      */
     public String getConfigValue(String configKey) {
-        log.info("获取配置值: {}", configKey);
-        return configRepository.findConfigValueByKey(configKey)
-                .orElseThrow(() -> new BusinessException("配置不存在"));
+        log.debug("获取配置值: {}", configKey);
+        String value = getCachedValue(configKey);
+        if (value == null) {
+            throw new BusinessException("配置不存在");
+        }
+        return value;
     }
 
     /**
@@ -93,9 +138,97 @@ public class ConfigService {
      * @return 配置值
      */
     public String getConfigValue(String configKey, String defaultValue) {
-        log.info("获取配置值（带默认值）: {}, 默认值: {}", configKey, defaultValue);
-        return configRepository.findConfigValueByKey(configKey)
-                .orElse(defaultValue);
+        log.debug("获取配置值（带默认值）: {}, 默认值: {}", configKey, defaultValue);
+        String value = getCachedValue(configKey);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * 获取整数配置，值在加载时已解析，读取时不做字符串解析
+     * 
+     * @param configKey 配置键
+     * @param defaultValue 配置不存在或不是整数时的默认值
+     * @return 配置值
+     */
+    public int getInt(String configKey, int defaultValue) {
+        TypedConfigValue value = getCachedTyped(configKey);
+        if (value == null || !value.isLong() 
+                || value.getLongValue() < Integer.MIN_VALUE || value.getLongValue() > Integer.MAX_VALUE) {
+            return defaultValue;
+        }
+        return (int) value.getLongValue();
+    }
+
+    /**
+     * 获取长整数配置
+     * 
+     * @param configKey 配置键
+     * @param defaultValue 配置不存在或不是整数时的默认值
+     * @return 配置值
+     */
+    public long getLong(String configKey, long defaultValue) {
+        TypedConfigValue value = getCachedTyped(configKey);
+        return value != null && value.isLong() ? value.getLongValue() : defaultValue;
+    }
+
+    /**
+     * 获取布尔配置
+     * 
+     * @param configKey 配置键
+     * @param defaultValue 配置不存在或不是 true/false 时的默认值
+     * @return 配置值
+     */
+    public boolean getBoolean(String configKey, boolean defaultValue) {
+        TypedConfigValue value = getCachedTyped(configKey);
+        return value != null && value.isBoolean() ? value.isBooleanValue() : defaultValue;
+    }
+
+    /**
+     * 获取时长配置
+     * 纯数字按指定单位换算，也支持 30s、5m、PT1H 等带单位的写法
+     * 
+     * @param configKey 配置键
+     * @param unit 纯数字配置的单位
+     * @param defaultValue 配置不存在或无法解析时的默认值
+     * @return 配置值
+     */
+    public Duration getDuration(String configKey, ChronoUnit unit, Duration defaultValue) {
+        TypedConfigValue value = getCachedTyped(configKey);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value.isLong()) {
+            return Duration.of(value.getLongValue(), unit);
+        }
+        return value.getDuration() != null ? value.getDuration() : defaultValue;
+    }
+
+    /**
+     * 获取容量配置（字节），支持 10MB、512KB 等写法，纯数字按字节计
+     * 
+     * @param configKey 配置键
+     * @param defaultValue 配置不存在或无法解析时的默认值
+     * @return 字节数
+     */
+    public long getSizeBytes(String configKey, long defaultValue) {
+        TypedConfigValue value = getCachedTyped(configKey);
+        return value != null && value.isSize() ? value.getSizeBytes() : defaultValue;
+    }
+
+    /**
+     * 按动态配置确定实际分页大小
+     * 未指定时使用 page.default.size，超过 page.max.size 时按上限截断
+     * 
+     * @param size 请求的分页大小
+     * @return 实际分页大小
+     */
+    public int resolvePageSize(Integer size) {
+        AppConfig.Page page = appConfig.getPage();
+        int maxSize = Math.max(1, getInt(PAGE_MAX_SIZE_KEY, page.getMaxSize()));
+        if (size == null || size < 1) {
+            size = getInt(PAGE_DEFAULT_SIZE_KEY, page.getDefaultSize());
+        }
+        return Math.max(1, Math.min(size, maxSize));
     }
 
     /**
@@ -106,9 +239,10 @@ public class ConfigService {
      */
     @Transactional
     public Config updateConfig(Config config) {
-        log.info("更新配置: {}", config.getConfigKey());
+        log.debug("更新配置: {}", config.getConfigKey());
         
         Config existingConfig = getConfigById(config.getId());
+        String previousKey = existingConfig.getConfigKey();
         
         // 检查配置是否可修改
         if (!existingConfig.getIsModifiable()) {
@@ -121,6 +255,8 @@ public class ConfigService {
             throw new BusinessException("配置键已被其他配置使用");
         }
         
+        validateValue(config.getConfigValue(), config.getConfigType());
+        
         // 更新配置信息
         existingConfig.setConfigKey(config.getConfigKey());
         existingConfig.setConfigValue(config.getConfigValue());
@@ -128,7 +264,11 @@ public class ConfigService {
         existingConfig.setConfigType(config.getConfigType());
         existingConfig.setConfigGroup(config.getConfigGroup());
         
-        return configRepository.save(existingConfig);
+        Config saved = configRepository.save(existingConfig);
+        // 配置键改名时移除旧键
+        List<String> removedKeys = previousKey.equals(saved.getConfigKey()) ? List.of() : List.of(previousKey);
+        updateCacheAfterCommit(List.of(saved), removedKeys);
+        return saved;
     }
 
     /**
@@ -140,7 +280,7 @@ public class ConfigService {
      */
     @Transactional
     public Config updateConfigValue(String configKey, String configValue) {
-        log.info("更新配置值: {} = {}", configKey, configValue);
+        log.debug("更新配置值: {} = {}", configKey, configValue);
         
         Config config = getConfigByKey(configKey);
         
@@ -149,8 +289,11 @@ public class ConfigService {
             throw new BusinessException("配置不可修改");
         }
         
+        validateValue(configValue, config.getConfigType());
         config.setConfigValue(configValue);
-        return configRepository.save(config);
+        Config saved = configRepository.save(config);
+        updateCacheAfterCommit(List.of(saved), List.of());
+        return saved;
     }
 
     /**
@@ -160,7 +303,7 @@ public class ConfigService {
      */
     @Transactional
     public void deleteConfig(Long id) {
-        log.info("删除配置: {}", id);
+        log.debug("删除配置: {}", id);
         Config config = getConfigById(id);
         
         // 检查配置是否可修改
@@ -168,7 +311,9 @@ public class ConfigService {
             throw new BusinessException("配置不可删除");
         }
         
-        configRepository.softDeleteById(id);
+        configRepository.softDeleteById(id, LocalDateTime.now());
+        searchIndexes.removeAfterCommit(Config.class, List.of(id));
+        updateCacheAfterCommit(List.of(), List.of(config.getConfigKey()));
     }
 
     /**
@@ -178,17 +323,21 @@ public class ConfigService {
      */
     @Transactional
     public void deleteConfigs(List<Long> ids) {
-        log.info("批量删除配置: {}", ids);
+        log.debug("批量删除配置: {}", ids);
         
         // 检查所有配置是否可删除
+        List<String> configKeys = new ArrayList<>(ids.size());
         for (Long id : ids) {
             Config config = getConfigById(id);
             if (!config.getIsModifiable()) {
                 throw new BusinessException("配置 " + config.getConfigKey() + " 不可删除");
             }
+            configKeys.add(config.getConfigKey());
         }
         
-        configRepository.softDeleteByIds(ids);
+        configRepository.softDeleteByIds(ids, LocalDateTime.now());
+        searchIndexes.removeAfterCommit(Config.class, ids);
+        updateCacheAfterCommit(List.of(), configKeys);
     }
 
     /**
@@ -203,18 +352,21 @@ public class ConfigService {
      */
     public PageResult<Config> getConfigs(Integer page, Integer size, String configKey, 
                                        String configGroup, Config.ConfigType configType) {
-        log.info("分页查询配置: page={}, size={}, configKey={}, configGroup={}, configType={}", 
+        log.debug("分页查询配置: page={}, size={}, configKey={}, configGroup={}, configType={}", 
                 page, size, configKey, configGroup, configType);
         
+        size = resolvePageSize(size);
+        
         // 创建分页参数
         Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.ASC, "configKey"));
         
         Page<Config> configPage;
         
-        if (StringUtils.hasText(configKey) && StringUtils.hasText(configGroup)) {
-            configPage = configRepository.findByConfigGroupAndConfigKeyContaining(configGroup, configKey, pageable);
-        } else if (StringUtils.hasText(configKey)) {
-            configPage = configRepository.findByConfigKeyContaining(configKey, pageable);
+        if (StringUtils.hasText(configKey)) {
+            // 按配置键检索时结果按相关度排序，分组条件按批在数据库端过滤，只回表当前页
+            configPage = SearchIndexes.page(searchIndexes.searchConfigs(configKey), pageable,
+                    configRepository::findActiveByIds,
+                    StringUtils.hasText(configGroup) ? batch -> configRepository.findMatchingIds(batch, configGroup) : null);
         } else if (StringUtils.hasText(configGroup)) {
             List<Config> configs = configRepository.findByConfigGroup(configGroup);
             int start = (int) pageable.getOffset();
@@ -234,16 +386,60 @@ public class ConfigService {
         return PageResult.of(configPage);
     }
 
+    /**
+     * 游标分页查询配置
+     * 按 (createdAt, id) 倒序，不统计总数，深翻页耗时不随页码增长
+     * 
+     * @param cursor 上一页返回的游标，为空时查询第一页
+     * @param size 每页大小
+     * @param configKey 配置键关键字
+     * @param configGroup 配置分组
+     * @param configType 配置类型
+     * @return 分页配置列表
+     */
+    public PageResult<Config> getConfigsByCursor(String cursor, Integer size, String configKey, String configGroup, Config.ConfigType configType) {
+        log.debug("游标分页查询配置: cursor={}, size={}, configKey={}, configGroup={}, configType={}", 
+                cursor, size, configKey, configGroup, configType);
+        
+        size = resolvePageSize(size);
+        PageCursor position = PageCursor.decode(cursor);
+        List<Long> ids = searchIndexes.searchConfigs(configKey);
+        if (ids != null && ids.isEmpty()) {
+            return PageResult.ofCursor(List.of(), size, PageCursor::encode);
+        }
+        String group = StringUtils.hasText(configGroup) ? configGroup : null;
+        // 多取一条用于判断是否有下一页；按关键字检索时命中ID分批查询后合并
+        LocalDateTime cursorTime = position != null ? position.getCreatedAt() : null;
+        Long cursorId = position != null ? position.getId() : null;
+        List<Config> rows = ids == null
+                ? configRepository.findByCursor(group, configType, cursorTime, cursorId, PageRequest.of(0, size + 1))
+                : SearchIndexes.cursorRows(ids, size + 1, (batch, limit) ->
+                        configRepository.findByCursorAndIds(batch, group, configType, cursorTime, cursorId, limit));
+        
+        return PageResult.ofCursor(rows, size, PageCursor::encode);
+    }
+
     /**
      * 获取所有配置
      * 
      * @return 配置列表
      */
     public List<Config> getAllConfigs() {
-        log.info("获取所有配置");
+        log.debug("获取所有配置");
         return configRepository.findAllActive();
     }
 
+    /**
+     * 以NDJSON格式流式导出所有配置
+     * 
+     * @param out 输出流
+     * @throws IOException 写出失败
+     */
+    public void exportConfigs(OutputStream out) throws IOException {
+        log.debug("导出所有配置");
+        exportService.exportActive(configRepository, out);
+    }
+
     /**
      * 根据配置分组获取配置列表
      * 
@@ -251,7 +447,7 @@ public class ConfigService {
      * @return 配置列表
      */
     public List<Config> getConfigsByGroup(String configGroup) {
-        log.info("根据配置分组获取配置列表: {}", configGroup);
+        log.debug("根据配置分组获取配置列表: {}", configGroup);
         return configRepository.findByConfigGroup(configGroup);
     }
 
@@ -262,7 +458,7 @@ public class ConfigService {
      * @return 配置列表
      */
     public List<Config> getConfigsByType(Config.ConfigType configType) {
-        log.info("根据配置类型获取配置列表: {}", configType);
+        log.debug("根据配置类型获取配置列表: {}", configType);
         return configRepository.findByConfigType(configType);
     }
 
@@ -272,7 +468,7 @@ public class ConfigService {
      * @return 配置分组列表
      */
     public List<String> getAllConfigGroups() {
-        log.info("获取所有配置分组");
+        log.debug("获取所有配置分组");
         return configRepository.findAllConfigGroups();
     }
 
@@ -288,65 +484,198 @@ public class ConfigService {
 
     /**
      * 初始化默认配置
-     * 在系统启动时调用，创建必要的默认配置
+     * 在系统启动时调用，一次查询取回已有配置键，只批量插入缺失的默认配置
      */
+    @Transactional
     public void initDefaultConfigs() {
         log.info("初始化默认配置");
         
-        // 系统配置
-        createConfigIfNotExists("system.name", "社团管理系统", "系统名称", Config.ConfigType.STRING, "SYSTEM");
-        createConfigIfNotExists("system.version", "1.0.0", "系统版本", Config.ConfigType.STRING, "SYSTEM");
-        createConfigIfNotExists("system.debug", "false", "调试模式", Config.ConfigType.BOOLEAN, "SYSTEM");
-        
-        // 数据库配置
-        createConfigIfNotExists("database.type", "sqlite", "数据库类型", Config.ConfigType.STRING, "DATABASE");
-        createConfigIfNotExists("database.pool.max", "20", "最大连接数", Config.ConfigType.NUMBER, "DATABASE");
-        createConfigIfNotExists("database.pool.min", "5", "最小连接数", Config.ConfigType.NUMBER, "DATABASE");
-        
-        // 分页配置
-        createConfigIfNotExists("page.default.size", "10", "默认分页大小", Config.ConfigType.NUMBER, "PAGE");
-        createConfigIfNotExists("page.max.size", "100", "最大分页大小", Config.ConfigType.NUMBER, "PAGE");
-        
-        // 文件上传配置
-        createConfigIfNotExists("upload.path", "./uploads", "文件上传路径", Config.ConfigType.STRING, "UPLOAD");
-        createConfigIfNotExists("upload.max.size", "10MB", "最大文件大小", Config.ConfigType.STRING, "UPLOAD");
+        List<Config> defaults = List.of(
+                // 系统配置
+                defaultConfig("system.name", "社团管理系统", "系统名称", Config.ConfigType.STRING, "SYSTEM"),
+                defaultConfig("system.version", "1.0.0", "系统版本", Config.ConfigType.STRING, "SYSTEM"),
+                defaultConfig("system.debug", "false", "调试模式", Config.ConfigType.BOOLEAN, "SYSTEM"),
+                
+                // 数据库配置
+                defaultConfig("database.type", "sqlite", "数据库类型", Config.ConfigType.STRING, "DATABASE"),
+                defaultConfig("database.pool.max", "20", "最大连接数", Config.ConfigType.NUMBER, "DATABASE"),
+                defaultConfig("database.pool.min", "5", "最小连接数", Config.ConfigType.NUMBER, "DATABASE"),
+                
+                // 分页配置
+                defaultConfig(PAGE_DEFAULT_SIZE_KEY, "10", "默认分页大小", Config.ConfigType.NUMBER, "PAGE"),
+                defaultConfig(PAGE_MAX_SIZE_KEY, "100", "最大分页大小", Config.ConfigType.NUMBER, "PAGE"),
+                
+                // 文件上传配置
+                defaultConfig("upload.path", "./uploads", "文件上传路径", Config.ConfigType.STRING, "UPLOAD"),
+                defaultConfig("upload.max.size", "10MB", "最大文件大小", Config.ConfigType.STRING, "UPLOAD"),
+                
+                // Token配置
+                defaultConfig("token.expire.hours", "24", "Token过期时间（小时）", Config.ConfigType.NUMBER, "TOKEN"),
+                defaultConfig("token.cleanup.interval", "3600", "Token清理间隔（秒）", Config.ConfigType.NUMBER, "TOKEN"),
+                
+                // 积分配置
+                defaultConfig("points.checkin", "10", "活动签到积分", Config.ConfigType.NUMBER, "POINTS"));
         
-        // Token配置
-        createConfigIfNotExists("token.expire.hours", "24", "Token过期时间（小时）", Config.ConfigType.NUMBER, "TOKEN");
-        createConfigIfNotExists("token.cleanup.interval", "3600", "Token清理间隔（秒）", Config.ConfigType.NUMBER, "TOKEN");
+        Set<String> existingKeys = new HashSet<>(configRepository.findAllConfigKeys());
+        List<Config> missing = defaults.stream()
+                .filter(config -> !existingKeys.contains(config.getConfigKey()))
+                .toList();
+        if (!missing.isEmpty()) {
+            configRepository.saveAll(missing);
+            missing.forEach(config -> log.info("创建默认配置: {} = {}", config.getConfigKey(), config.getConfigValue()));
+        }
         
-        log.info("默认配置初始化成功");
+        refreshCacheAfterCommit();
+        log.info("默认配置初始化成功，新增{}条", missing.size());
+    }
+
+    /**
+     * 从数据库重新加载配置缓存
+     * 先读取版本戳再读取配置，期间若有并发修改，下一次同步会因版本戳不一致再次加载
+     */
+    public synchronized void refreshCache() {
+        String stamp = currentStamp();
+        List<Config> configs = configRepository.findAllActive();
+        configCache.reload(configs, stamp);
+        log.info("配置缓存已加载: {}条, 版本={}", configs.size(), configCache.getVersion());
+        eventPublisher.publishEvent(new ConfigChangedEvent(configCache.getVersion()));
     }
 
     /**
-     * 创建配置（如果不存在）
+     * 把本节点修改的配置写入缓存，只替换变更的条目
+     * 与全量加载互斥，保证并发的全量加载不会以修改前读取的配置覆盖本次修改
+     * 
+     * @param updated 新建或修改后的配置
+     * @param removedKeys 删除或改名前的配置键
+     */
+    private synchronized void updateCache(Collection<Config> updated, Collection<String> removedKeys) {
+        if (configCache.update(updated, removedKeys)) {
+            eventPublisher.publishEvent(new ConfigChangedEvent(configCache.getVersion()));
+        }
+    }
+
+    /**
+     * 比对数据库版本戳，发现其他节点修改过配置时重新加载缓存
+     */
+    @Scheduled(fixedDelayString = "${app.config.sync-seconds:30}",
+            initialDelayString = "${app.config.sync-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void syncCache() {
+        try {
+            if (!configCache.isLoaded() || !currentStamp().equals(configCache.getStamp())) {
+                refreshCache();
+            }
+        } catch (Exception e) {
+            log.warn("同步配置缓存失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 从缓存读取配置值，缓存尚未加载时先加载
      * 
      * @param configKey 配置键
+     * @return 配置值，不存在时返回null
+     */
+    private String getCachedValue(String configKey) {
+        TypedConfigValue value = getCachedTyped(configKey);
+        return value != null ? value.getValue() : null;
+    }
+
+    /**
+     * 从缓存读取预解析的配置值，缓存尚未加载时先加载
+     * 
+     * @param configKey 配置键
+     * @return 预解析的配置值，不存在时返回null
+     */
+    private TypedConfigValue getCachedTyped(String configKey) {
+        if (!configCache.isLoaded()) {
+            refreshCache();
+        }
+        return configCache.getTyped(configKey);
+    }
+
+    /**
+     * 校验配置值与配置类型是否匹配
+     * 
      * @param configValue 配置值
-     * @param description 描述
      * @param configType 配置类型
-     * @param configGroup 配置分组
      */
-    @Transactional
-    private void createConfigIfNotExists(String configKey, String configValue, String description, 
-                                       Config.ConfigType configType, String configGroup) {
+    private void validateValue(String configValue, Config.ConfigType configType) {
         try {
-            if (!configRepository.existsByConfigKey(configKey)) {
-                Config config = new Config();
-                config.setConfigKey(configKey);
-                config.setConfigValue(configValue);
-                config.setDescription(description);
-                config.setConfigType(configType);
-                config.setConfigGroup(configGroup);
-                config.setIsModifiable(true);
-                configRepository.save(config);
-                log.info("创建默认配置: {} = {}", configKey, configValue);
-            } else {
-                log.debug("配置已存在，跳过创建: {}", configKey);
+            TypedConfigValue.validate(configValue, configType);
+            if (configType == Config.ConfigType.JSON) {
+                objectMapper.readTree(configValue);
             }
-        } catch (Exception e) {
-            log.error("创建配置失败: {}, 错误: {}", configKey, e.getMessage());
-            // 不抛出异常，继续创建其他配置
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(e.getMessage());
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("配置值不是有效的JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * 在当前事务提交后更新缓存中变更的条目，事务回滚时缓存保持不变；不在事务中时立即更新
+     * 
+     * @param updated 新建或修改后的配置
+     * @param removedKeys 删除或改名前的配置键
+     */
+    private void updateCacheAfterCommit(Collection<Config> updated, Collection<String> removedKeys) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            updateCache(updated, removedKeys);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                updateCache(updated, removedKeys);
+            }
+        });
+    }
+
+    /**
+     * 在当前事务提交后刷新缓存，事务回滚时缓存保持不变；不在事务中时立即刷新
+     */
+    private void refreshCacheAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refreshCache();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refreshCache();
+            }
+        });
+    }
+
+    /**
+     * 构造默认配置
+     * 
+     * @param configKey 配置键
+     * @param configValue 配置值
+     * @param description 描述
+     * @param configType 配置类型
+     * @param configGroup 配置分组
+     * @return 配置
+     */
+    private static Config defaultConfig(String configKey, String configValue, String description, 
+                                        Config.ConfigType configType, String configGroup) {
+        Config config = new Config();
+        config.setConfigKey(configKey);
+        config.setConfigValue(configValue);
+        config.setDescription(description);
+        config.setConfigType(configType);
+        config.setConfigGroup(configGroup);
+        config.setIsModifiable(true);
+        return config;
+    }
+
+    /**
+     * 读取数据库当前的版本戳
+     * 
+     * @return 版本戳
+     */
+    private String currentStamp() {
+        ConfigRepository.VersionStamp stamp = configRepository.findVersionStamp();
+        return stamp.getRowCount() + "@" + stamp.getLastUpdatedAt();
     }
-}
\ No newline at end of file
+}
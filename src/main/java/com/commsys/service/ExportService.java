@@ -0,0 +1,69 @@
+package com.commsys.service;
+
+import com.commsys.entity.BaseEntity;
+import com.commsys.repository.BaseRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 数据导出服务
+ * 以NDJSON格式（每行一个JSON对象）流式输出整表数据，逐行读取、逐行写出，内存占用与数据量无关
+ *
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    /**
+     * NDJSON响应类型
+     */
+    public static final String NDJSON = "application/x-ndjson";
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 导出未删除的实体
+     *
+     * @param repository 实体仓储
+     * @param out 输出流
+     * @param <T> 实体类型
+     * @return 导出行数
+     * @throws IOException 写出失败
+     */
+    @Transactional(readOnly = true)
+    public <T extends BaseEntity> long exportActive(BaseRepository<T> repository, OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<T> stream = repository.streamAllActive();
+             SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                T entity = iterator.next();
+                writer.write(entity);
+                // 写出后立即从持久化上下文移除，避免一级缓存随行数增长
+                entityManager.detach(entity);
+                count++;
+            }
+            if (count > 0) {
+                writer.flush();
+                out.write('\n');
+            }
+        }
+        log.debug("导出完成: {} 行", count);
+        return count;
+    }
+}
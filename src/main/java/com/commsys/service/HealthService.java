@@ -0,0 +1,203 @@
+package com.commsys.service;
+
+import com.commsys.cache.ConfigCache;
+import com.commsys.cache.TokenCache;
+import com.commsys.config.AppConfig;
+import com.commsys.config.StartupTimer;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 健康检查服务
+ * 实测一次数据库往返，并汇总连接池、缓存和进程运行时间；
+ * 数据库不可用或连接池已饱和（活动连接达到上限且有线程在等待）时判定为未就绪，负载均衡据此摘除节点。
+ * 先检查连接池：没有空闲连接时不做往返，避免探针排队等待连接；往返在独立线程中执行，
+ * 超过 app.health.probe-timeout-millis 未完成即判定数据库不可用，而不是等满连接池的获取超时
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HealthService implements DisposableBean {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final StartupTimer startupTimer;
+    private final TokenCache tokenCache;
+    private final ConfigCache configCache;
+    private final AppConfig appConfig;
+
+    /**
+     * 执行数据库往返的线程，卡住时后续探针直接超时
+     */
+    private final ExecutorService probeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "health-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 执行健康检查
+     * 
+     * @return 健康检查结果
+     */
+    public Health check() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        boolean up = startupTimer.isReady();
+
+        Map<String, Object> pool = getPoolStats();
+        boolean saturated = pool != null && Boolean.TRUE.equals(pool.get("saturated"));
+        boolean busy = pool != null && Boolean.TRUE.equals(pool.get("busy"));
+        up &= !saturated;
+
+        Map<String, Object> database;
+        if (busy) {
+            // 没有空闲连接，往返只会排队等待连接，跳过
+            database = new LinkedHashMap<>();
+            database.put("type", appConfig.getDatabase().getType());
+            database.put("skipped", saturated ? "pool saturated" : "no idle connection");
+        } else {
+            database = checkDatabase();
+            up &= Boolean.TRUE.equals(database.get("up"));
+        }
+        details.put("database", database);
+        if (pool != null) {
+            details.put("pool", pool);
+        }
+
+        details.put("caches", getCacheStats());
+
+        long now = System.currentTimeMillis();
+        details.put("startTime", startupTimer.getJvmStartTime());
+        details.put("uptime", now - startupTimer.getJvmStartTime());
+        details.put("timestamp", now);
+
+        return new Health(up, details);
+    }
+
+    /**
+     * 执行一次轻量的数据库往返并计时
+     * 
+     * @return 数据库检查结果
+     */
+    private Map<String, Object> checkDatabase() {
+        Map<String, Object> database = new LinkedHashMap<>();
+        database.put("type", appConfig.getDatabase().getType());
+        long timeoutMillis = appConfig.getHealth().getProbeTimeoutMillis();
+        long start = System.nanoTime();
+        Future<Integer> probe = null;
+        try {
+            probe = probeExecutor.submit(() -> jdbcTemplate.queryForObject("SELECT 1", Integer.class));
+            probe.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            database.put("up", true);
+        } catch (TimeoutException e) {
+            probe.cancel(true);
+            log.warn("数据库健康检查超时: {}ms", timeoutMillis);
+            database.put("up", false);
+            database.put("error", "timeout after " + timeoutMillis + "ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            database.put("up", false);
+            database.put("error", "interrupted");
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            log.warn("数据库健康检查失败: {}", cause.getMessage());
+            database.put("up", false);
+            database.put("error", cause.getMessage());
+        }
+        database.put("latencyMicros", (System.nanoTime() - start) / 1000);
+        return database;
+    }
+
+    /**
+     * 读取HikariCP连接池的实时状态
+     * 
+     * @return 连接池状态，数据源不是HikariCP或连接池尚未启动时返回null
+     */
+    private Map<String, Object> getPoolStats() {
+        HikariDataSource hikari;
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return null;
+            }
+            hikari = dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            return null;
+        }
+        HikariPoolMXBean poolBean = hikari.getHikariPoolMXBean();
+        if (poolBean == null) {
+            return null;
+        }
+
+        int active = poolBean.getActiveConnections();
+        int waiting = poolBean.getThreadsAwaitingConnection();
+        int max = hikari.getHikariConfigMXBean().getMaximumPoolSize();
+
+        Map<String, Object> pool = new LinkedHashMap<>();
+        pool.put("name", hikari.getPoolName());
+        pool.put("active", active);
+        pool.put("idle", poolBean.getIdleConnections());
+        pool.put("total", poolBean.getTotalConnections());
+        pool.put("waiting", waiting);
+        pool.put("max", max);
+        pool.put("busy", active >= max);
+        pool.put("saturated", active >= max && waiting > 0);
+        return pool;
+    }
+
+    /**
+     * 汇总进程内缓存的命中统计
+     * 
+     * @return 缓存统计
+     */
+    private Map<String, Object> getCacheStats() {
+        Map<String, Object> tokens = new LinkedHashMap<>();
+        tokens.put("size", tokenCache.size());
+        tokens.put("hits", tokenCache.getHitCount());
+        tokens.put("misses", tokenCache.getMissCount());
+
+        Map<String, Object> configs = new LinkedHashMap<>();
+        configs.put("size", configCache.size());
+        configs.put("hits", configCache.getHitCount());
+        configs.put("misses", configCache.getMissCount());
+        configs.put("version", configCache.getVersion());
+
+        Map<String, Object> caches = new LinkedHashMap<>();
+        caches.put("token", tokens);
+        caches.put("config", configs);
+        return caches;
+    }
+
+    @Override
+    public void destroy() {
+        probeExecutor.shutdownNow();
+    }
+
+    /**
+     * 健康检查结果
+     * 
+     * @param up 是否可以接收流量
+     * @param details 检查明细
+     */
+    public record Health(boolean up, Map<String, Object> details) {
+    }
+}
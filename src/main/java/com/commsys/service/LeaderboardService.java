@@ -0,0 +1,79 @@
+package com.commsys.service;
+
+import com.commsys.common.RankEntry;
+import com.commsys.common.UserRank;
+import com.commsys.exception.BusinessException;
+import com.commsys.rank.Leaderboards;
+import com.commsys.rank.RankIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 积分排行榜服务类
+ * 排行榜查询只读内存中的 Leaderboards，不访问数据库；
+ * 积分以已计入 users.points 的值为准，签到后数秒内随积分汇总更新
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+
+    private final Leaderboards leaderboards;
+    private final ConfigService configService;
+
+    /**
+     * 获取全局积分前N名
+     * 
+     * @param size 数量，超过最大分页大小时截断
+     * @return 排行榜条目
+     */
+    public List<RankEntry> getTop(Integer size) {
+        log.debug("获取积分排行榜: 数量={}", size);
+        return toRankEntries(leaderboards.top(configService.resolvePageSize(size)));
+    }
+
+    /**
+     * 获取社团内积分前N名
+     * 
+     * @param clubId 社团ID
+     * @param size 数量，超过最大分页大小时截断
+     * @return 排行榜条目
+     */
+    public List<RankEntry> getClubTop(Long clubId, Integer size) {
+        log.debug("获取社团积分排行榜: 社团ID={}, 数量={}", clubId, size);
+        return toRankEntries(leaderboards.topOfClub(clubId, configService.resolvePageSize(size)));
+    }
+
+    /**
+     * 获取用户的全局和社团内名次
+     * 
+     * @param userId 用户ID
+     * @return 用户排名
+     */
+    public UserRank getUserRank(Long userId) {
+        log.debug("获取用户积分排名: {}", userId);
+        RankIndex.Entry entry = leaderboards.rank(userId);
+        if (entry == null) {
+            throw new BusinessException("用户不存在");
+        }
+        Long clubId = leaderboards.clubOf(userId);
+        RankIndex.Entry clubEntry = clubId != null ? leaderboards.rankInClub(userId) : null;
+        return new UserRank(userId, leaderboards.usernameOf(userId), entry.score(), entry.rank(),
+                leaderboards.size(), clubId,
+                clubEntry != null ? clubEntry.rank() : null,
+                clubId != null ? leaderboards.sizeOfClub(clubId) : null);
+    }
+
+    private List<RankEntry> toRankEntries(List<RankIndex.Entry> entries) {
+        return entries.stream()
+                .map(entry -> new RankEntry(entry.rank(), entry.id(), leaderboards.usernameOf(entry.id()), entry.score()))
+                .toList();
+    }
+}
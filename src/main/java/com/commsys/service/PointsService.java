@@ -0,0 +1,133 @@
+package com.commsys.service;
+
+import com.commsys.entity.PointsLedger;
+import com.commsys.exception.BusinessException;
+import com.commsys.rank.Leaderboards;
+import com.commsys.repository.PointsLedgerRepository;
+import com.commsys.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 积分服务类
+ * 积分变动先追加到积分流水（points_ledger），不直接修改 users 表，大型活动集中签到时不会争用同一批用户行；
+ * 汇总任务定期按ID顺序取出未入账流水，在同一事务中把流水标记为已入账、并按用户合并后批量执行增量UPDATE。
+ * 流水的写入和入账都是单个事务，进程崩溃后未入账的流水由下一次汇总继续处理，已入账的不会重复计入，余额始终准确
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PointsService {
+
+    private final PointsLedgerRepository ledgerRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Leaderboards leaderboards;
+
+    /**
+     * 追加一条积分流水，同一来源对象对同一用户只能记一次
+     * 
+     * @param userId 用户ID
+     * @param delta 积分变动值
+     * @param source 积分来源
+     * @param refId 来源对象ID
+     * @return 积分流水
+     */
+    @Transactional
+    public PointsLedger credit(Long userId, int delta, String source, Long refId) {
+        log.debug("追加积分流水: 用户ID={}, 积分={}, 来源={}, 来源对象ID={}", userId, delta, source, refId);
+        
+        PointsLedger entry = new PointsLedger();
+        entry.setUserId(userId);
+        entry.setDelta(delta);
+        entry.setSource(source);
+        entry.setRefId(refId);
+        try {
+            // 立即写入，由唯一约束拒绝并发的重复记录
+            return ledgerRepository.saveAndFlush(entry);
+        } catch (DataIntegrityViolationException e) {
+            throw new BusinessException("积分已发放，不能重复领取");
+        }
+    }
+
+    /**
+     * 将一批未入账的流水计入用户积分
+     * 
+     * @param batchSize 每批处理的流水数
+     * @return 本批入账的流水数，等于批大小时表示可能还有未入账的流水
+     */
+    @Transactional
+    public int applyPendingBatch(int batchSize) {
+        List<PointsLedger> entries = ledgerRepository.findPending(PageRequest.of(0, batchSize));
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        
+        List<Long> ids = new ArrayList<>(entries.size());
+        Map<Long, Integer> deltas = new LinkedHashMap<>();
+        for (PointsLedger entry : entries) {
+            ids.add(entry.getId());
+            deltas.merge(entry.getUserId(), entry.getDelta(), Integer::sum);
+        }
+        
+        // 多节点同时汇总时，只有把整批流水全部标记成功的一方继续，另一方回滚后在下一轮重试
+        if (ledgerRepository.markApplied(ids, LocalDateTime.now()) != ids.size()) {
+            throw new OptimisticLockingFailureException("积分流水已被其他节点入账");
+        }
+        
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((userId, delta) -> args.add(new Object[]{delta, userId}));
+        jdbcTemplate.batchUpdate("UPDATE users SET points = points + ? WHERE id = ?", args);
+        
+        // 读取入账后的积分，事务提交后写入排行榜
+        Map<Long, Integer> points = new HashMap<>(deltas.size() * 2);
+        userRepository.findPointsByIds(deltas.keySet())
+                .forEach(row -> points.put(row.getId(), row.getPoints()));
+        leaderboards.updatePointsAfterCommit(points);
+        
+        log.debug("积分流水入账: 流水{}条, 用户{}个", ids.size(), deltas.size());
+        return ids.size();
+    }
+
+    /**
+     * 获取用户的积分余额，包含尚未入账的流水
+     * 
+     * @param userId 用户ID
+     * @return 积分余额
+     */
+    public long getBalance(Long userId) {
+        Long balance = ledgerRepository.findBalance(userId);
+        if (balance == null) {
+            throw new BusinessException("用户不存在");
+        }
+        return balance;
+    }
+
+    /**
+     * 获取某一来源对象的积分流水
+     * 
+     * @param source 积分来源
+     * @param refId 来源对象ID
+     * @return 流水列表
+     */
+    public List<PointsLedger> getEntries(String source, Long refId) {
+        return ledgerRepository.findBySourceAndRefId(source, refId);
+    }
+}
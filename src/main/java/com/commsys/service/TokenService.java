@@ -1,17 +1,30 @@
 package com.commsys.service;
 
+import com.commsys.cache.TokenCache;
+import com.commsys.common.TokenInfo;
+import com.commsys.config.AppConfig;
 import com.commsys.entity.Token;
 import com.commsys.entity.User;
 import com.commsys.exception.BusinessException;
 import com.commsys.repository.TokenRepository;
+import com.commsys.repository.UserRepository;
+import com.commsys.security.SignedTokenCodec;
+import com.commsys.security.TokenRevocationList;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Token服务类
@@ -25,7 +38,33 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class TokenService {
 
+    /**
+     * Token有效期配置键（小时）
+     */
+    public static final String EXPIRE_HOURS_CONFIG_KEY = "token.expire.hours";
+
+    /**
+     * 默认Token有效期（小时）
+     */
+    private static final long DEFAULT_EXPIRE_HOURS = 24;
+
+    /**
+     * 同步吊销记录时在同步间隔之外额外回看的秒数，覆盖节点间的时钟偏差
+     */
+    private static final long REVOCATION_SYNC_SKEW_SECONDS = 10;
+
     private final TokenRepository tokenRepository;
+    private final UserRepository userRepository;
+    private final TokenCache tokenCache;
+    private final SignedTokenCodec signedTokenCodec;
+    private final TokenRevocationList revocationList;
+    private final AppConfig appConfig;
+    private final ConfigService configService;
+
+    /**
+     * 上次同步吊销记录的时间
+     */
+    private volatile LocalDateTime lastRevocationSync = LocalDateTime.now();
 
     /**
      * 生成Token
@@ -35,16 +74,38 @@ public class TokenService {
      */
     @Transactional
     public Token generateToken(User user) {
-        log.info("为用户生成Token: {}", user.getUsername());
+        log.debug("为用户生成Token: {}", user.getUsername());
         
         // 使该用户的所有旧Token过期
-        tokenRepository.expireAllUserTokens(user.getId());
+        expireUserTokens(user.getId());
         
-        // 生成新Token
+        return issueToken(user);
+    }
+
+    /**
+     * 为新注册的用户生成Token
+     * 新用户没有旧Token，不执行使旧Token过期的UPDATE：InnoDB在可重复读下会为这条未命中任何行的UPDATE
+     * 在 (user_id, status, expires_at) 索引末尾加间隙锁，并发注册时各自持有间隙锁后插入Token会互相死锁
+     * 
+     * @param user 新注册的用户
+     * @return Token对象
+     */
+    @Transactional
+    public Token generateTokenForNewUser(User user) {
+        log.debug("为新用户生成Token: {}", user.getUsername());
+        return issueToken(user);
+    }
+
+    private Token issueToken(User user) {
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(getExpireHours());
         Token token = new Token();
-        token.setTokenValue(UUID.randomUUID().toString().replace("-", ""));
+        if (isSignedMode()) {
+            token.setTokenValue(signedTokenCodec.encode(user.getId(), user.getRoleId(), expiresAt));
+        } else {
+            token.setTokenValue(UUID.randomUUID().toString().replace("-", ""));
+        }
         token.setUserId(user.getId());
-        token.setExpiresAt(LocalDateTime.now().plusHours(24)); // 24小时过期
+        token.setExpiresAt(expiresAt);
         token.setStatus(1);
         token.setIsReference(1);
         
@@ -59,32 +120,58 @@ public class TokenService {
      * @throws BusinessException 如果Token不存在
      */
     public Token getTokenByValue(String tokenValue) {
-        log.info("获取Token: {}", tokenValue);
+        log.debug("获取Token");
         
         return tokenRepository.findByTokenValue(tokenValue)
                 .orElseThrow(() -> new BusinessException("Token不存在"));
     }
     
+    /**
+     * 解析Token校验信息
+     * 签名模式下只校验签名和吊销列表；数据库模式下优先读取缓存，未命中时查询数据库并写入缓存
+     * 
+     * @param tokenValue Token值
+     * @return Token校验信息，Token不存在时返回null
+     */
+    public TokenInfo resolveToken(String tokenValue) {
+        if (isSignedMode()) {
+            SignedTokenCodec.SignedToken signed = signedTokenCodec.decode(tokenValue);
+            if (signed == null) {
+                return null;
+            }
+            int status = revocationList.isRevoked(signed) ? 0 : 1;
+            return new TokenInfo(signed.getUserId(), signed.getExpiresAt(), status, signed.getRoleId());
+        }
+        
+        TokenInfo info = tokenCache.get(tokenValue);
+        if (info != null) {
+            return info;
+        }
+        
+        Token token = tokenRepository.findByTokenValue(tokenValue).orElse(null);
+        if (token == null) {
+            return null;
+        }
+        
+        info = TokenInfo.of(token);
+        tokenCache.put(tokenValue, info);
+        return info;
+    }
+    
     /**
      * 验证Token
+     * 只读校验：到期的Token仅通过时间比较判定为过期，状态字段由清理任务异步更新
      * 
      * @param tokenValue Token值
      * @return Token对象
      */
     public Token validateToken(String tokenValue) {
-        log.info("验证Token: {}", tokenValue);
+        log.debug("验证Token");
         
         Token token = tokenRepository.findByTokenValue(tokenValue)
                 .orElseThrow(() -> new BusinessException("Token不存在"));
         
-        if (token.getStatus() != 1) {
-            throw new BusinessException("Token已过期");
-        }
-        
-        if (token.getExpiresAt().isBefore(LocalDateTime.now())) {
-            // 标记为过期
-            token.setStatus(0);
-            tokenRepository.save(token);
+        if (token.getStatus() != 1 || token.getExpiresAt().isBefore(LocalDateTime.now())) {
             throw new BusinessException("Token已过期");
         }
         
@@ -99,7 +186,7 @@ public class TokenService {
      */
     @Transactional
     public Token refreshToken(String oldTokenValue) {
-        log.info("刷新Token: {}", oldTokenValue);
+        log.debug("刷新Token");
         
         Token oldToken = validateToken(oldTokenValue);
         
@@ -111,10 +198,11 @@ public class TokenService {
         // 使旧Token不可参考
         oldToken.setIsReference(0);
         tokenRepository.save(oldToken);
+        afterCommit(() -> tokenCache.invalidate(oldTokenValue));
         
         // 生成新Token
-        User user = new User();
-        user.setId(oldToken.getUserId());
+        User user = userRepository.findActiveById(oldToken.getUserId())
+                .orElseThrow(() -> new BusinessException("用户不存在"));
         return generateToken(user);
     }
 
@@ -125,29 +213,110 @@ public class TokenService {
      */
     @Transactional
     public void logoutToken(String tokenValue) {
-        log.info("注销Token: {}", tokenValue);
+        log.debug("注销Token");
         
         Token token = tokenRepository.findByTokenValue(tokenValue)
                 .orElseThrow(() -> new BusinessException("Token不存在"));
         
         token.setStatus(0);
         tokenRepository.save(token);
+        afterCommit(() -> tokenCache.invalidate(tokenValue));
+        revokeSignedToken(tokenValue);
     }
 
     /**
-     * 清理过期Token
+     * 使用户的所有Token过期
+     * 
+     * @param userId 用户ID
      */
     @Transactional
-    public void cleanExpiredTokens() {
-        log.info("清理过期Token");
+    public void expireUserTokens(Long userId) {
+        log.debug("使用户的所有Token过期: {}", userId);
         
-        List<Token> expiredTokens = tokenRepository.findExpiredTokens(LocalDateTime.now());
-        for (Token token : expiredTokens) {
-            token.setStatus(0);
-            tokenRepository.save(token);
+        LocalDateTime now = LocalDateTime.now();
+        tokenRepository.expireAllUserTokens(userId, now);
+        afterCommit(() -> tokenCache.invalidateUser(userId));
+        if (isSignedMode()) {
+            long nowMillis = System.currentTimeMillis();
+            // 保留到此前签发的Token全部自然过期为止：按已签发Token中最晚的过期时间，而不是当前的有效期配置，
+            // 否则调低 token.expire.hours 后吊销记录会先于旧Token过期被清理
+            long retainUntil = nowMillis + TimeUnit.HOURS.toMillis(getExpireHours());
+            LocalDateTime latestExpiresAt = tokenRepository.findLatestExpiresAt(userId);
+            if (latestExpiresAt != null) {
+                retainUntil = Math.max(retainUntil,
+                        latestExpiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+            revocationList.revokeUser(userId, nowMillis, retainUntil);
         }
+    }
+
+    /**
+     * 从数据库同步其他节点产生的吊销记录：签名Token模式写入吊销列表，数据库Token模式使本节点缓存的对应条目失效
+     * 每次回看一个同步间隔加上时钟偏差余量，覆盖上次同步时尚未提交的事务及节点间的时钟偏差；
+     * 重叠部分的记录会被重复吊销，吊销是幂等的
+     */
+    @Scheduled(fixedDelayString = "${app.token.revocation-sync-seconds:30}",
+            initialDelayString = "${app.token.revocation-sync-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void syncRevocations() {
+        LocalDateTime now = LocalDateTime.now();
+        long lookBackSeconds = appConfig.getToken().getRevocationSyncSeconds() + REVOCATION_SYNC_SKEW_SECONDS;
+        List<Token> revokedTokens = tokenRepository.findRevokedSince(
+                lastRevocationSync.minusSeconds(lookBackSeconds), now);
+        lastRevocationSync = now;
+        if (!isSignedMode()) {
+            revokedTokens.forEach(token -> tokenCache.invalidate(token.getTokenValue()));
+            log.debug("同步吊销记录{}条，Token缓存条目数: {}", revokedTokens.size(), tokenCache.size());
+            return;
+        }
+        
+        for (Token token : revokedTokens) {
+            revokeSignedToken(token.getTokenValue());
+        }
+        revocationList.prune(System.currentTimeMillis());
         
-        log.info("清理了{}个过期Token", expiredTokens.size());
+        log.debug("同步吊销记录{}条，吊销列表条目数: {}", revokedTokens.size(), revocationList.size());
+    }
+
+    /**
+     * 清理过期Token
+     * 使用一条批量UPDATE将已到期的Token置为过期
+     * 
+     * @return 置为过期的Token数量
+     */
+    @Transactional
+    public int cleanExpiredTokens() {
+        int count = tokenRepository.expireOverdueTokens(LocalDateTime.now());
+        log.debug("清理了{}个过期Token", count);
+        return count;
+    }
+
+    /**
+     * 物理删除过期时间早于截止时间的Token以及已逻辑删除的旧Token
+     * 按批次删除，每批在独立事务中提交，避免长时间持有写锁；
+     * 两类Token分别查找，各自走 expires_at 和 (is_deleted, updated_at) 索引
+     * 
+     * @param cutoff 截止时间
+     * @param batchSize 每批删除数量
+     * @return 删除的Token数量
+     */
+    public int purgeTokens(LocalDateTime cutoff, int batchSize) {
+        return purgeBatches(() -> tokenRepository.findExpiredIds(cutoff, PageRequest.of(0, batchSize)), batchSize)
+                + purgeBatches(() -> tokenRepository.findDeletedIds(cutoff, PageRequest.of(0, batchSize)), batchSize);
+    }
+
+    private int purgeBatches(Supplier<List<Long>> nextBatch, int batchSize) {
+        int total = 0;
+        while (true) {
+            List<Long> ids = nextBatch.get();
+            if (ids.isEmpty()) {
+                break;
+            }
+            total += tokenRepository.deleteByIds(ids);
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        return total;
     }
 
     /**
@@ -169,4 +338,58 @@ public class TokenService {
     public List<Token> getUserAllTokens(Long userId) {
         return tokenRepository.findByUserId(userId);
     }
+
+    /**
+     * 读取Token有效期（动态配置 token.expire.hours），配置无效时使用默认值
+     * 
+     * @return 有效期（小时）
+     */
+    public long getExpireHours() {
+        long hours = configService.getLong(EXPIRE_HOURS_CONFIG_KEY, DEFAULT_EXPIRE_HOURS);
+        return hours > 0 ? hours : DEFAULT_EXPIRE_HOURS;
+    }
+
+    /**
+     * 是否使用签名Token模式
+     * 
+     * @return 是否为签名Token模式
+     */
+    public boolean isSignedMode() {
+        return "signed".equalsIgnoreCase(appConfig.getToken().getMode());
+    }
+
+    /**
+     * 在当前事务提交后使缓存失效；提交前失效的话，并发的校验请求可能把尚未提交修改的旧记录重新写入缓存。
+     * 不在事务中时立即执行
+     * 
+     * @param invalidation 缓存失效操作
+     */
+    private void afterCommit(Runnable invalidation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidation.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidation.run();
+            }
+        });
+    }
+
+    /**
+     * 将签名Token加入吊销列表
+     * 
+     * @param tokenValue Token值
+     */
+    private void revokeSignedToken(String tokenValue) {
+        if (!isSignedMode()) {
+            return;
+        }
+        SignedTokenCodec.SignedToken signed = signedTokenCodec.decode(tokenValue);
+        if (signed != null) {
+            revocationList.revoke(signed.getJti(),
+                    signed.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
 }
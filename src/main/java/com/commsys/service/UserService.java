@@ -1,10 +1,14 @@
 package com.commsys.service;
 
+import com.commsys.common.PageCursor;
 import com.commsys.common.PageResult;
+import com.commsys.config.SqliteWriteLock;
 import com.commsys.entity.Token;
 import com.commsys.entity.User;
 import com.commsys.exception.BusinessException;
+import com.commsys.rank.Leaderboards;
 import com.commsys.repository.UserRepository;
+import com.commsys.search.SearchIndexes;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -15,8 +19,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -33,6 +40,11 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final TokenService tokenService;
+    private final ExportService exportService;
+    private final ConfigService configService;
+    private final SearchIndexes searchIndexes;
+    private final Leaderboards leaderboards;
+    private final SqliteWriteLock writeLock;
 
     /**
      * 用户登录
@@ -43,7 +55,7 @@ public class UserService {
      */
     @Transactional
     public Token login(String username, String passwordHash) {
-        log.info("用户登录: {}", username);
+        log.debug("用户登录: {}", username);
         
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new BusinessException("用户名或密码错误"));
@@ -69,7 +81,10 @@ public class UserService {
      */
     @Transactional
     public Token register(String username, String passwordHash, Integer gender) {
-        log.info("用户注册: {}", username);
+        log.debug("用户注册: {}", username);
+        
+        // 先读后写，事务开始即取写锁（SQLite）
+        writeLock.acquire();
         
         // 检查用户名是否已存在
         if (userRepository.existsByUsername(username)) {
@@ -89,7 +104,7 @@ public class UserService {
         user = userRepository.save(user);
         
         // 生成Token
-        return tokenService.generateToken(user);
+        return tokenService.generateTokenForNewUser(user);
     }
 
     /**
@@ -104,7 +119,7 @@ public class UserService {
      */
     @Transactional
     public Token registerPlus(String username, String passwordHash, Integer gender, Integer roleId, Long operatorUserId) {
-        log.info("高级注册: {}, 身份ID: {}", username, roleId);
+        log.debug("高级注册: {}, 身份ID: {}", username, roleId);
         
         // 检查操作者权限
         User operator = getUserById(operatorUserId);
@@ -136,7 +151,7 @@ public class UserService {
         user = userRepository.save(user);
         
         // 生成Token
-        return tokenService.generateToken(user);
+        return tokenService.generateTokenForNewUser(user);
     }
 
     /**
@@ -146,7 +161,7 @@ public class UserService {
      * @return 用户信息
      */
     public User getUserById(Long id) {
-        log.info("根据ID获取用户: {}", id);
+        log.debug("根据ID获取用户: {}", id);
         return userRepository.findActiveById(id)
                 .orElseThrow(() -> new BusinessException("用户不存在"));
     }
@@ -158,7 +173,7 @@ public class UserService {
      * @return 用户信息
      */
     public User getUserByUsername(String username) {
-        log.info("根据用户名获取用户: {}", username);
+        log.debug("根据用户名获取用户: {}", username);
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new BusinessException("用户不存在"));
     }
@@ -172,7 +187,7 @@ public class UserService {
      */
     @Transactional
     public User changeProfile(Long userId, User user) {
-        log.info("修改个人资料: {}", userId);
+        log.debug("修改个人资料: {}", userId);
         
         User existingUser = getUserById(userId);
         
@@ -206,7 +221,7 @@ public class UserService {
      */
     @Transactional
     public void changePassword(Long userId, String oldPasswordHash, String newPasswordHash, Long operatorUserId) {
-        log.info("修改密码: {}", userId);
+        log.debug("修改密码: {}", userId);
         
         User user = getUserById(userId);
         User operator = getUserById(operatorUserId);
@@ -226,7 +241,7 @@ public class UserService {
         userRepository.save(user);
         
         // 使该用户的所有Token过期
-        tokenService.logoutToken(userId.toString());
+        tokenService.expireUserTokens(userId);
     }
 
     /**
@@ -238,7 +253,7 @@ public class UserService {
      */
     @Transactional
     public void changePermission(Long targetUserId, Long operatorUserId, Integer targetRoleId) {
-        log.info("用户提权/降权: 目标用户={}, 操作者={}, 目标身份={}", targetUserId, operatorUserId, targetRoleId);
+        log.debug("用户提权/降权: 目标用户={}, 操作者={}, 目标身份={}", targetUserId, operatorUserId, targetRoleId);
         
         User targetUser = getUserById(targetUserId);
         User operator = getUserById(operatorUserId);
@@ -273,7 +288,7 @@ public class UserService {
      */
     @Transactional
     public void deleteUser(Long userId, Long operatorUserId) {
-        log.info("删除用户: {}, 操作者: {}", userId, operatorUserId);
+        log.debug("删除用户: {}, 操作者: {}", userId, operatorUserId);
         
         User user = getUserById(userId);
         User operator = getUserById(operatorUserId);
@@ -283,7 +298,9 @@ public class UserService {
             throw new BusinessException("权限不足");
         }
         
-        userRepository.softDeleteById(userId);
+        userRepository.softDeleteById(userId, LocalDateTime.now());
+        searchIndexes.removeAfterCommit(User.class, List.of(userId));
+        leaderboards.removeAfterCommit(List.of(userId));
     }
 
     /**
@@ -299,53 +316,83 @@ public class UserService {
      */
     public PageResult<User> getUsers(Integer page, Integer size, String username, String realName, 
                                    Integer roleId, Integer status) {
-        log.info("分页查询用户: page={}, size={}, username={}, realName={}, roleId={}, status={}", 
+        log.debug("分页查询用户: page={}, size={}, username={}, realName={}, roleId={}, status={}", 
                 page, size, username, realName, roleId, status);
         
+        size = configService.resolvePageSize(size);
+        
         // 创建分页参数
         Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         
+        List<Long> ids = searchIndexes.searchUsers(username, realName);
         Page<User> userPage;
-        
-        if (StringUtils.hasText(username)) {
-            userPage = userRepository.findByUsernameContaining(username, pageable);
-        } else if (StringUtils.hasText(realName)) {
-            userPage = userRepository.findByRealNameContaining(realName, pageable);
-        } else if (roleId != null && status != null) {
-            List<User> users = userRepository.findByRoleIdAndStatus(roleId, status);
-            int start = (int) pageable.getOffset();
-            int end = Math.min((start + pageable.getPageSize()), users.size());
-            List<User> pageContent = users.subList(start, end);
-            userPage = new org.springframework.data.domain.PageImpl<>(pageContent, pageable, users.size());
-        } else if (roleId != null) {
-            List<User> users = userRepository.findByRoleId(roleId);
-            int start = (int) pageable.getOffset();
-            int end = Math.min((start + pageable.getPageSize()), users.size());
-            List<User> pageContent = users.subList(start, end);
-            userPage = new org.springframework.data.domain.PageImpl<>(pageContent, pageable, users.size());
-        } else if (status != null) {
-            List<User> users = userRepository.findByStatus(status);
-            int start = (int) pageable.getOffset();
-            int end = Math.min((start + pageable.getPageSize()), users.size());
-            List<User> pageContent = users.subList(start, end);
-            userPage = new org.springframework.data.domain.PageImpl<>(pageContent, pageable, users.size());
+        if (ids != null) {
+            // 按关键字检索时结果按相关度排序，身份和状态条件按批在数据库端过滤，只回表当前页
+            userPage = SearchIndexes.page(ids, pageable, userRepository::findActiveByIds,
+                    roleId == null && status == null ? null
+                            : batch -> userRepository.findMatchingIds(batch, roleId, status));
         } else {
-            userPage = userRepository.findAllActive(pageable);
+            // 其余条件在数据库端组合过滤并分页
+            userPage = userRepository.searchUsers(roleId, status, pageable);
         }
         
         return PageResult.of(userPage);
     }
 
+    /**
+     * 游标分页查询用户
+     * 按 (createdAt, id) 倒序，不统计总数，深翻页耗时不随页码增长
+     * 
+     * @param cursor 上一页返回的游标，为空时查询第一页
+     * @param size 每页大小
+     * @param username 用户名关键字
+     * @param realName 真实姓名关键字
+     * @param roleId 身份ID
+     * @param status 状态
+     * @return 分页用户列表
+     */
+    public PageResult<User> getUsersByCursor(String cursor, Integer size, String username, String realName, Integer roleId, Integer status) {
+        log.debug("游标分页查询用户: cursor={}, size={}, username={}, realName={}, roleId={}, status={}", 
+                cursor, size, username, realName, roleId, status);
+        
+        size = configService.resolvePageSize(size);
+        PageCursor position = PageCursor.decode(cursor);
+        List<Long> ids = searchIndexes.searchUsers(username, realName);
+        if (ids != null && ids.isEmpty()) {
+            return PageResult.ofCursor(List.of(), size, PageCursor::encode);
+        }
+        // 多取一条用于判断是否有下一页；按关键字检索时命中ID分批查询后合并
+        LocalDateTime cursorTime = position != null ? position.getCreatedAt() : null;
+        Long cursorId = position != null ? position.getId() : null;
+        List<User> rows = ids == null
+                ? userRepository.findByCursor(roleId, status, cursorTime, cursorId, PageRequest.of(0, size + 1))
+                : SearchIndexes.cursorRows(ids, size + 1, (batch, limit) ->
+                        userRepository.findByCursorAndIds(batch, roleId, status, cursorTime, cursorId, limit));
+        
+        return PageResult.ofCursor(rows, size, PageCursor::encode);
+    }
+
     /**
      * 获取所有用户
      * 
      * @return 用户列表
      */
     public List<User> getAllUsers() {
-        log.info("获取所有用户");
+        log.debug("获取所有用户");
         return userRepository.findAllActive();
     }
 
+    /**
+     * 以NDJSON格式流式导出所有用户
+     * 
+     * @param out 输出流
+     * @throws IOException 写出失败
+     */
+    public void exportUsers(OutputStream out) throws IOException {
+        log.debug("导出所有用户");
+        exportService.exportActive(userRepository, out);
+    }
+
     /**
      * 根据身份ID获取用户列表
      * 
@@ -353,7 +400,7 @@ public class UserService {
      * @return 用户列表
      */
     public List<User> getUsersByRoleId(Integer roleId) {
-        log.info("根据身份ID获取用户列表: {}", roleId);
+        log.debug("根据身份ID获取用户列表: {}", roleId);
         return userRepository.findByRoleId(roleId);
     }
 
@@ -364,7 +411,7 @@ public class UserService {
      * @return 用户列表
      */
     public List<User> getUsersByParentClubId(Long parentClubId) {
-        log.info("根据父社团ID获取用户列表: {}", parentClubId);
+        log.debug("根据父社团ID获取用户列表: {}", parentClubId);
         return userRepository.findByParentClubId(parentClubId);
     }
 
@@ -429,7 +476,7 @@ public class UserService {
      */
     @Transactional
     public void logout(String token) {
-        log.info("用户登出: {}", token);
+        log.debug("用户登出");
         tokenService.logoutToken(token);
     }
 
@@ -441,7 +488,7 @@ public class UserService {
      */
     @Transactional
     public Token refreshToken(String oldToken) {
-        log.info("刷新Token: {}", oldToken);
+        log.debug("刷新Token");
         return tokenService.refreshToken(oldToken);
     }
 }
\ No newline at end of file
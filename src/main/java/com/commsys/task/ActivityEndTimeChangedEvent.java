@@ -0,0 +1,15 @@
+package com.commsys.task;
+
+import java.time.LocalDateTime;
+
+/**
+ * 活动结束时间变更事件
+ * 新建活动或修改进行中活动的结束时间时发布，状态转换任务据此在事务提交后提前下一次执行时间
+ * 
+ * @param endTime 新的结束时间
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+public record ActivityEndTimeChangedEvent(LocalDateTime endTime) {
+}
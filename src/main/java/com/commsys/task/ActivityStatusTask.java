@@ -0,0 +1,142 @@
+package com.commsys.task;
+
+import com.commsys.config.AppConfig;
+import com.commsys.service.ActivityService;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 活动状态转换任务
+ * 将已到结束时间的进行中活动分批置为已结束并记录实际结束时间，同时从内存时间索引中移除。不按固定间隔轮询：
+ * 每次执行后查询最早的下一个结束时间并只在该时刻再执行一次；本节点新建或修改活动的结束时间更早时提前调度，
+ * 另以 app.activity-status.max-delay-seconds 为上限，以纳入其他节点的修改
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ActivityStatusTask {
+
+    private final ActivityService activityService;
+    private final TaskScheduler taskScheduler;
+    private final AppConfig appConfig;
+
+    /**
+     * 已调度的下一次执行，由本对象的锁保护
+     */
+    private ScheduledFuture<?> pending;
+
+    /**
+     * 已调度的下一次执行时间
+     */
+    private Instant pendingAt;
+
+    /**
+     * 上次执行时间
+     */
+    @Getter
+    private volatile LocalDateTime lastRunAt;
+
+    /**
+     * 上次置为已结束的活动数
+     */
+    @Getter
+    private volatile int lastEndedCount;
+
+    /**
+     * 上次执行耗时（毫秒）
+     */
+    @Getter
+    private volatile long lastDurationMillis;
+
+    /**
+     * 应用启动完成后立即执行一次，处理停机期间到期的活动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduleAt(Instant.now());
+    }
+
+    /**
+     * 活动结束时间变更的事务提交后，若其早于已调度的执行时间则提前调度
+     * 
+     * @param event 结束时间变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEndTimeChanged(ActivityEndTimeChangedEvent event) {
+        scheduleAt(toInstant(event.endTime()));
+    }
+
+    /**
+     * 执行一次状态转换，并调度下一次执行
+     */
+    public void run() {
+        synchronized (this) {
+            pending = null;
+            pendingAt = null;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            int ended = activityService.endOverdueActivities(appConfig.getActivityStatus().getBatchSize());
+            lastEndedCount = ended;
+            lastDurationMillis = System.currentTimeMillis() - start;
+            lastRunAt = LocalDateTime.now();
+            if (ended > 0) {
+                log.info("活动状态转换完成: 置为已结束{}条, 耗时{}ms", ended, lastDurationMillis);
+            }
+        } catch (Exception e) {
+            log.error("活动状态转换失败", e);
+        }
+        scheduleNext();
+    }
+
+    /**
+     * 按最早的下一个结束时间调度，不晚于最大间隔
+     */
+    private void scheduleNext() {
+        Instant next = Instant.now().plus(Duration.ofSeconds(appConfig.getActivityStatus().getMaxDelaySeconds()));
+        try {
+            LocalDateTime nextEndTime = activityService.getNextEndTime();
+            if (nextEndTime != null && toInstant(nextEndTime).isBefore(next)) {
+                next = toInstant(nextEndTime);
+            }
+        } catch (Exception e) {
+            log.warn("查询下一个活动结束时间失败，按最大间隔调度: {}", e.getMessage());
+        }
+        scheduleAt(next);
+    }
+
+    /**
+     * 调度一次执行；已有更早或同一时刻的调度时忽略，否则取消原调度
+     */
+    private synchronized void scheduleAt(Instant at) {
+        if (pending != null && !pending.isDone()) {
+            if (!at.isBefore(pendingAt)) {
+                return;
+            }
+            pending.cancel(false);
+        }
+        pendingAt = at;
+        pending = taskScheduler.schedule(this::run, at);
+        log.debug("下一次活动状态转换: {}", at);
+    }
+
+    private static Instant toInstant(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,77 @@
+package com.commsys.task;
+
+import com.commsys.config.AppConfig;
+import com.commsys.service.PointsService;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 积分汇总任务
+ * 每隔 app.points.flush-seconds 秒将未入账的积分流水按批计入 users.points，
+ * 一批取满时继续处理下一批，直到没有积压；启动后的第一次执行同时补齐上次停机前未入账的流水
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PointsAggregationTask {
+
+    private final PointsService pointsService;
+    private final AppConfig appConfig;
+
+    /**
+     * 上次执行时间
+     */
+    @Getter
+    private volatile LocalDateTime lastRunAt;
+
+    /**
+     * 上次入账的流水数
+     */
+    @Getter
+    private volatile int lastAppliedCount;
+
+    /**
+     * 上次执行耗时（毫秒）
+     */
+    @Getter
+    private volatile long lastDurationMillis;
+
+    /**
+     * 执行一次汇总
+     */
+    @Scheduled(fixedDelayString = "${app.points.flush-seconds:2}", timeUnit = TimeUnit.SECONDS)
+    public void run() {
+        long start = System.currentTimeMillis();
+        int batchSize = appConfig.getPoints().getBatchSize();
+        int applied = 0;
+        try {
+            int count;
+            do {
+                count = pointsService.applyPendingBatch(batchSize);
+                applied += count;
+            } while (count == batchSize);
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("积分流水已被其他节点入账，下一轮重试");
+        } catch (Exception e) {
+            log.error("积分汇总失败", e);
+        }
+        
+        lastAppliedCount = applied;
+        lastDurationMillis = System.currentTimeMillis() - start;
+        lastRunAt = LocalDateTime.now();
+        if (applied > 0) {
+            log.info("积分汇总完成: 入账{}条, 耗时{}ms", applied, lastDurationMillis);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.commsys.task;
+
+import com.commsys.config.AppConfig;
+import com.commsys.service.ConfigService;
+import com.commsys.service.TokenService;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * 过期Token清理任务
+ * 按动态配置 token.cleanup.interval（秒）的间隔执行：先批量将到期Token置为过期，
+ * 再分批物理删除超过保留期的Token；每次执行后记录处理行数和耗时
+ * 
+ * @author Xiaosu
+ * @version 1.0.0
+ * @since 2025-09-13
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenCleanupTask implements SchedulingConfigurer {
+
+    /**
+     * 清理间隔配置键
+     */
+    public static final String INTERVAL_CONFIG_KEY = "token.cleanup.interval";
+
+    private static final long DEFAULT_INTERVAL_SECONDS = 3600;
+    private static final long MIN_INTERVAL_SECONDS = 60;
+
+    private final TokenService tokenService;
+    private final ConfigService configService;
+    private final AppConfig appConfig;
+
+    /**
+     * 上次执行时间
+     */
+    @Getter
+    private volatile LocalDateTime lastRunAt;
+
+    /**
+     * 上次置为过期的行数
+     */
+    @Getter
+    private volatile int lastExpiredCount;
+
+    /**
+     * 上次物理删除的行数
+     */
+    @Getter
+    private volatile int lastPurgedCount;
+
+    /**
+     * 上次执行耗时（毫秒）
+     */
+    @Getter
+    private volatile long lastDurationMillis;
+
+    @Override
+    public void configureTasks(@NonNull ScheduledTaskRegistrar registrar) {
+        registrar.addTriggerTask(this::run, context -> {
+            Instant lastCompletion = context.lastCompletion();
+            Instant base = lastCompletion != null ? lastCompletion : Instant.now();
+            return base.plus(getInterval());
+        });
+    }
+
+    /**
+     * 执行一次清理
+     */
+    public void run() {
+        long start = System.currentTimeMillis();
+        try {
+            int expired = tokenService.cleanExpiredTokens();
+            
+            AppConfig.Token tokenConfig = appConfig.getToken();
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(tokenConfig.getPurgeRetentionDays());
+            int purged = tokenService.purgeTokens(cutoff, tokenConfig.getPurgeBatchSize());
+            
+            lastExpiredCount = expired;
+            lastPurgedCount = purged;
+            lastDurationMillis = System.currentTimeMillis() - start;
+            lastRunAt = LocalDateTime.now();
+            log.info("Token清理完成: 置为过期{}条, 物理删除{}条, 耗时{}ms", expired, purged, lastDurationMillis);
+        } catch (Exception e) {
+            log.error("Token清理失败", e);
+        }
+    }
+
+    /**
+     * 读取清理间隔
+     * 
+     * @return 清理间隔
+     */
+    private Duration getInterval() {
+        long seconds = DEFAULT_INTERVAL_SECONDS;
+        try {
+            seconds = configService.getLong(INTERVAL_CONFIG_KEY, DEFAULT_INTERVAL_SECONDS);
+        } catch (Exception e) {
+            log.warn("读取Token清理间隔失败，使用默认值{}秒: {}", DEFAULT_INTERVAL_SECONDS, e.getMessage());
+        }
+        return Duration.ofSeconds(Math.max(seconds, MIN_INTERVAL_SECONDS));
+    }
+}
@@ -0,0 +1,106 @@
+-- =====================================================================
+-- V1 初始表结构（MySQL）
+-- 与实体映射一致，包括主键号段表；
+-- 此前由 ddl-auto: update 建好的库按 baseline-version=1 登记，不会执行本脚本
+-- =====================================================================
+
+-- 主键号段表（pooled-lo），号段行由Hibernate首次分配ID时写入
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (sequence_name)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    is_deleted BIT NOT NULL,
+    username VARCHAR(50) NOT NULL,
+    password_hash VARCHAR(128) NOT NULL,
+    gender INTEGER NOT NULL,
+    points INTEGER NOT NULL,
+    parent_club_id BIGINT NOT NULL,
+    role_id INTEGER NOT NULL,
+    email VARCHAR(100),
+    phone VARCHAR(20),
+    real_name VARCHAR(50),
+    status INTEGER NOT NULL,
+    remark VARCHAR(500),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE clubs (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    is_deleted BIT NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    description VARCHAR(1000),
+    president_id BIGINT NOT NULL,
+    teacher_id BIGINT,
+    status INTEGER NOT NULL,
+    disable_reason VARCHAR(500),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE club_members (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    is_deleted BIT NOT NULL,
+    club_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    join_time DATETIME(6) NOT NULL,
+    status INTEGER NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_club_members_club_user UNIQUE (club_id, user_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE activities (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    is_deleted BIT NOT NULL,
+    club_id BIGINT NOT NULL,
+    creator_id BIGINT NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    description VARCHAR(1000),
+    start_time DATETIME(6) NOT NULL,
+    end_time DATETIME(6) NOT NULL,
+    status INTEGER NOT NULL,
+    close_reason VARCHAR(500),
+    actual_end_time DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE tokens (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    is_deleted BIT NOT NULL,
+    token_value VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    status INTEGER NOT NULL,
+    is_reference INTEGER NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_tokens_token_value UNIQUE (token_value)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE configs (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    is_deleted BIT NOT NULL,
+    config_key VARCHAR(100) NOT NULL,
+    config_value VARCHAR(1000) NOT NULL,
+    description VARCHAR(500),
+    config_type ENUM ('STRING', 'NUMBER', 'BOOLEAN', 'JSON') NOT NULL,
+    config_group VARCHAR(50),
+    is_modifiable BIT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_configs_config_key UNIQUE (config_key)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
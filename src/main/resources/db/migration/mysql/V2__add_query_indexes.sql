@@ -0,0 +1,52 @@
+-- =====================================================================
+-- V2 查询索引（MySQL），与实体 @Table(indexes = ...) 的声明一致
+-- MySQL不支持 CREATE INDEX IF NOT EXISTS，借助临时存储过程跳过已存在的索引，
+-- 已由 ddl-auto: update 建过索引的库可重复执行
+-- =====================================================================
+
+DROP PROCEDURE IF EXISTS create_index_if_missing;
+
+DELIMITER $$
+CREATE PROCEDURE create_index_if_missing(IN p_table VARCHAR(64), IN p_index VARCHAR(64), IN p_columns VARCHAR(255))
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.statistics
+                   WHERE table_schema = DATABASE() AND table_name = p_table AND index_name = p_index) THEN
+        SET @ddl = CONCAT('CREATE INDEX ', p_index, ' ON ', p_table, ' (', p_columns, ')');
+        PREPARE stmt FROM @ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END $$
+DELIMITER ;
+
+CALL create_index_if_missing('users', 'idx_users_role_status', 'role_id, status');
+CALL create_index_if_missing('users', 'idx_users_status_created', 'status, created_at');
+CALL create_index_if_missing('users', 'idx_users_parent_club', 'parent_club_id');
+CALL create_index_if_missing('users', 'idx_users_phone', 'phone');
+CALL create_index_if_missing('users', 'idx_users_created', 'created_at, id');
+
+CALL create_index_if_missing('clubs', 'idx_clubs_president', 'president_id');
+CALL create_index_if_missing('clubs', 'idx_clubs_teacher', 'teacher_id');
+CALL create_index_if_missing('clubs', 'idx_clubs_status_created', 'status, created_at');
+CALL create_index_if_missing('clubs', 'idx_clubs_title', 'title, is_deleted');
+CALL create_index_if_missing('clubs', 'idx_clubs_created', 'created_at, id');
+
+CALL create_index_if_missing('club_members', 'idx_club_members_user_status', 'user_id, status, is_deleted');
+CALL create_index_if_missing('club_members', 'idx_club_members_club_status', 'club_id, status, is_deleted');
+
+CALL create_index_if_missing('activities', 'idx_activities_club_status_created', 'club_id, status, created_at');
+CALL create_index_if_missing('activities', 'idx_activities_creator', 'creator_id');
+CALL create_index_if_missing('activities', 'idx_activities_status_end', 'status, end_time, start_time');
+CALL create_index_if_missing('activities', 'idx_activities_start_end', 'start_time, end_time');
+CALL create_index_if_missing('activities', 'idx_activities_created', 'created_at, id');
+
+CALL create_index_if_missing('tokens', 'idx_tokens_user_status_expires', 'user_id, status, expires_at');
+CALL create_index_if_missing('tokens', 'idx_tokens_expires_at', 'expires_at');
+CALL create_index_if_missing('tokens', 'idx_tokens_status_updated', 'status, updated_at');
+CALL create_index_if_missing('tokens', 'idx_tokens_deleted_updated', 'is_deleted, updated_at');
+
+CALL create_index_if_missing('configs', 'idx_configs_group_key', 'config_group, config_key');
+CALL create_index_if_missing('configs', 'idx_configs_type_key', 'config_type, config_key');
+CALL create_index_if_missing('configs', 'idx_configs_created', 'created_at, id');
+
+DROP PROCEDURE create_index_if_missing;
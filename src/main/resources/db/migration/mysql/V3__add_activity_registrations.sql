@@ -0,0 +1,20 @@
+-- =====================================================================
+-- V3 活动报名（MySQL）：活动报名名额上限、报名记录表
+-- =====================================================================
+
+ALTER TABLE activities ADD COLUMN capacity INTEGER;
+
+CREATE TABLE activity_registrations (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    is_deleted BIT NOT NULL,
+    activity_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    status INTEGER NOT NULL,
+    registered_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_activity_registrations_activity_user UNIQUE (activity_id, user_id),
+    INDEX idx_activity_registrations_activity_status (activity_id, status, registered_at),
+    INDEX idx_activity_registrations_user (user_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,21 @@
+-- =====================================================================
+-- V4 积分流水（MySQL）：活动签到等积分变动先追加流水，再由汇总任务批量计入 users.points
+-- =====================================================================
+
+CREATE TABLE points_ledger (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    is_deleted BIT NOT NULL,
+    user_id BIGINT NOT NULL,
+    delta INTEGER NOT NULL,
+    source VARCHAR(32) NOT NULL,
+    ref_id BIGINT NOT NULL,
+    applied BIT NOT NULL,
+    applied_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_points_ledger_user_source_ref UNIQUE (user_id, source, ref_id),
+    INDEX idx_points_ledger_applied (applied, id),
+    INDEX idx_points_ledger_user_applied (user_id, applied),
+    INDEX idx_points_ledger_source_ref (source, ref_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,100 @@
+-- =====================================================================
+-- V1 初始表结构（SQLite）
+-- 与实体映射一致，包括主键号段表；
+-- 此前由 ddl-auto: update 建好的库按 baseline-version=1 登记，不会执行本脚本
+-- =====================================================================
+
+-- 主键号段表（pooled-lo），SQLite默认使用自增主键，仅在 app.database.id-strategy=pooled 时使用
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (sequence_name)
+);
+
+CREATE TABLE users (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    is_deleted BOOLEAN NOT NULL,
+    username VARCHAR(50) NOT NULL,
+    password_hash VARCHAR(128) NOT NULL,
+    gender INTEGER NOT NULL,
+    points INTEGER NOT NULL,
+    parent_club_id BIGINT NOT NULL,
+    role_id INTEGER NOT NULL,
+    email VARCHAR(100),
+    phone VARCHAR(20),
+    real_name VARCHAR(50),
+    status INTEGER NOT NULL,
+    remark VARCHAR(500),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE clubs (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    is_deleted BOOLEAN NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    description VARCHAR(1000),
+    president_id BIGINT NOT NULL,
+    teacher_id BIGINT,
+    status INTEGER NOT NULL,
+    disable_reason VARCHAR(500)
+);
+
+CREATE TABLE club_members (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    is_deleted BOOLEAN NOT NULL,
+    club_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    join_time TIMESTAMP NOT NULL,
+    status INTEGER NOT NULL,
+    CONSTRAINT uk_club_members_club_user UNIQUE (club_id, user_id)
+);
+
+CREATE TABLE activities (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    is_deleted BOOLEAN NOT NULL,
+    club_id BIGINT NOT NULL,
+    creator_id BIGINT NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    description VARCHAR(1000),
+    start_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP NOT NULL,
+    status INTEGER NOT NULL,
+    close_reason VARCHAR(500),
+    actual_end_time TIMESTAMP
+);
+
+CREATE TABLE tokens (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    is_deleted BOOLEAN NOT NULL,
+    token_value VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    status INTEGER NOT NULL,
+    is_reference INTEGER NOT NULL,
+    CONSTRAINT uk_tokens_token_value UNIQUE (token_value)
+);
+
+CREATE TABLE configs (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    is_deleted BOOLEAN NOT NULL,
+    config_key VARCHAR(100) NOT NULL,
+    config_value VARCHAR(1000) NOT NULL,
+    description VARCHAR(500),
+    config_type VARCHAR(20) NOT NULL CHECK (config_type IN ('STRING', 'NUMBER', 'BOOLEAN', 'JSON')),
+    config_group VARCHAR(50),
+    is_modifiable BOOLEAN NOT NULL,
+    CONSTRAINT uk_configs_config_key UNIQUE (config_key)
+);
@@ -0,0 +1,34 @@
+-- =====================================================================
+-- V2 查询索引（SQLite），与实体 @Table(indexes = ...) 的声明一致
+-- 使用 IF NOT EXISTS，已由 ddl-auto: update 建过索引的库可重复执行
+-- =====================================================================
+
+CREATE INDEX IF NOT EXISTS idx_users_role_status ON users (role_id, status);
+CREATE INDEX IF NOT EXISTS idx_users_status_created ON users (status, created_at);
+CREATE INDEX IF NOT EXISTS idx_users_parent_club ON users (parent_club_id);
+CREATE INDEX IF NOT EXISTS idx_users_phone ON users (phone);
+CREATE INDEX IF NOT EXISTS idx_users_created ON users (created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_clubs_president ON clubs (president_id);
+CREATE INDEX IF NOT EXISTS idx_clubs_teacher ON clubs (teacher_id);
+CREATE INDEX IF NOT EXISTS idx_clubs_status_created ON clubs (status, created_at);
+CREATE INDEX IF NOT EXISTS idx_clubs_title ON clubs (title, is_deleted);
+CREATE INDEX IF NOT EXISTS idx_clubs_created ON clubs (created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_club_members_user_status ON club_members (user_id, status, is_deleted);
+CREATE INDEX IF NOT EXISTS idx_club_members_club_status ON club_members (club_id, status, is_deleted);
+
+CREATE INDEX IF NOT EXISTS idx_activities_club_status_created ON activities (club_id, status, created_at);
+CREATE INDEX IF NOT EXISTS idx_activities_creator ON activities (creator_id);
+CREATE INDEX IF NOT EXISTS idx_activities_status_end ON activities (status, end_time, start_time);
+CREATE INDEX IF NOT EXISTS idx_activities_start_end ON activities (start_time, end_time);
+CREATE INDEX IF NOT EXISTS idx_activities_created ON activities (created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_tokens_user_status_expires ON tokens (user_id, status, expires_at);
+CREATE INDEX IF NOT EXISTS idx_tokens_expires_at ON tokens (expires_at);
+CREATE INDEX IF NOT EXISTS idx_tokens_status_updated ON tokens (status, updated_at);
+CREATE INDEX IF NOT EXISTS idx_tokens_deleted_updated ON tokens (is_deleted, updated_at);
+
+CREATE INDEX IF NOT EXISTS idx_configs_group_key ON configs (config_group, config_key);
+CREATE INDEX IF NOT EXISTS idx_configs_type_key ON configs (config_type, config_key);
+CREATE INDEX IF NOT EXISTS idx_configs_created ON configs (created_at, id);
@@ -0,0 +1,20 @@
+-- =====================================================================
+-- V3 活动报名（SQLite）：活动报名名额上限、报名记录表
+-- =====================================================================
+
+ALTER TABLE activities ADD COLUMN capacity INTEGER;
+
+CREATE TABLE activity_registrations (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    is_deleted BOOLEAN NOT NULL,
+    activity_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    status INTEGER NOT NULL,
+    registered_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_activity_registrations_activity_user UNIQUE (activity_id, user_id)
+);
+
+CREATE INDEX idx_activity_registrations_activity_status ON activity_registrations (activity_id, status, registered_at);
+CREATE INDEX idx_activity_registrations_user ON activity_registrations (user_id);
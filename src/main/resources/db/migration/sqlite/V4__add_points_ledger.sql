@@ -0,0 +1,21 @@
+-- =====================================================================
+-- V4 积分流水（SQLite）：活动签到等积分变动先追加流水，再由汇总任务批量计入 users.points
+-- =====================================================================
+
+CREATE TABLE points_ledger (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    is_deleted BOOLEAN NOT NULL,
+    user_id BIGINT NOT NULL,
+    delta INTEGER NOT NULL,
+    source VARCHAR(32) NOT NULL,
+    ref_id BIGINT NOT NULL,
+    applied BOOLEAN NOT NULL,
+    applied_at TIMESTAMP,
+    CONSTRAINT uk_points_ledger_user_source_ref UNIQUE (user_id, source, ref_id)
+);
+
+CREATE INDEX idx_points_ledger_applied ON points_ledger (applied, id);
+CREATE INDEX idx_points_ledger_user_applied ON points_ledger (user_id, applied);
+CREATE INDEX idx_points_ledger_source_ref ON points_ledger (source, ref_id);
@@ -0,0 +1,6 @@
+-- =====================================================================
+-- V5 Token (status, expires_at) 索引（SQLite）：批量将到期的有效Token置为过期时按状态和过期时间范围查找，
+-- 只有 (status, updated_at) 可用时优化器会按 status 扫描大半张表
+-- =====================================================================
+
+CREATE INDEX IF NOT EXISTS idx_tokens_status_expires ON tokens (status, expires_at);
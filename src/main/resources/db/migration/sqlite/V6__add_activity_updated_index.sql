@@ -0,0 +1,5 @@
+-- =====================================================================
+-- V6 活动 updated_at 索引（SQLite）：搜索索引按最后修改时间增量同步其他节点修改的活动
+-- =====================================================================
+
+CREATE INDEX IF NOT EXISTS idx_activities_updated ON activities (updated_at);
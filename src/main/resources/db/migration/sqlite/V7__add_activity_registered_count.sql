@@ -0,0 +1,10 @@
+-- =====================================================================
+-- V7 活动已报名人数（SQLite）：报名准入在数据库中按名额上限条件更新，作为多节点下防止超卖的最终校验
+-- =====================================================================
+
+ALTER TABLE activities ADD COLUMN registered_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE activities SET registered_count = (
+    SELECT COUNT(*) FROM activity_registrations r
+    WHERE r.activity_id = activities.id AND r.status = 1 AND r.is_deleted = 0
+);
@@ -0,0 +1,7 @@
+-- =====================================================================
+-- V8 用户、社团、配置 updated_at 索引（SQLite）：搜索索引按最后修改时间增量同步其他节点的修改
+-- =====================================================================
+
+CREATE INDEX IF NOT EXISTS idx_users_updated ON users (updated_at);
+CREATE INDEX IF NOT EXISTS idx_clubs_updated ON clubs (updated_at);
+CREATE INDEX IF NOT EXISTS idx_configs_updated ON configs (updated_at);